@@ -0,0 +1,229 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free aviary. The number of reserved slots and the compatibility group of the housed birds are stored
+ * in a single word that is updated with compare-and-set, so that the compatibility check and the slot reservation
+ * either succeed or fail together without taking a lock. Birds are stored in a slot array sized to the capacity.
+ * Many threads can add and remove birds of the same aviary concurrently.
+ */
+public final class AtomicAviary implements IAviary {
+    /**
+     * Mask of the reserved slot count in the state word
+     */
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Position of the compatibility group code in the state word
+     */
+    private static final int GROUP_SHIFT = 32;
+
+    /**
+     * Unique identifier of the aviary. Generated by the configured identifier provider
+     */
+    private final String _id;
+
+    /**
+     * Represents the total number of birds that can be housed inside the aviary
+     */
+    private final int _capacity;
+
+    /**
+     * State word of the aviary. Low 32 bits hold the number of reserved slots, high bits hold the compatibility group
+     * code of the housed birds: 0 if the aviary is empty, ordinal of the group + 1 otherwise.
+     */
+    private final AtomicLong _state;
+
+    /**
+     * Stores the birds housed in the aviary. Empty slots are null
+     */
+    private final AtomicReferenceArray<Bird> _slots;
+
+    /**
+     * Stores how many birds of every classification are housed in the aviary, indexed by classification ordinal
+     */
+    private final AtomicIntegerArray _housedBirdDetails;
+
+    /**
+     * Constructor: Creates empty aviary with the specified capacity and generates the new unique identifier.
+     */
+    public AtomicAviary(int capacity){
+        if(capacity <= 0)
+            throw new IllegalArgumentException("Aviary capacity must be positive");
+        _id = IdGenerator.nextId();
+        _capacity = capacity;
+        _state = new AtomicLong();
+        _slots = new AtomicReferenceArray<>(capacity);
+        _housedBirdDetails = new AtomicIntegerArray(BirdClassification.values().length);
+    }
+
+    /**
+     * Tries to add bird into aviary. Reserves a slot and claims the compatibility group of the aviary in a single
+     * compare-and-set, then stores the bird in a free slot.
+     * @return returns true if the bird is successfully added in the aviary, false otherwise.
+     */
+    public boolean tryAddBird(Bird bird){
+        if(bird.checkIfExtinct())
+            return false;
+
+        var classification = bird.getBirdClassification();
+        long groupCode = CompatibilityGroup.of(classification).ordinal() + 1;
+        while (true){
+            var state = _state.get();
+            var count = state & COUNT_MASK;
+            var housedGroup = state >>> GROUP_SHIFT;
+            if(count >= _capacity)
+                return false;
+            if(housedGroup != 0 && housedGroup != groupCode)
+                return false;
+            if(_state.compareAndSet(state, (groupCode << GROUP_SHIFT) | (count + 1)))
+                break;
+        }
+
+        _housedBirdDetails.incrementAndGet(classification.ordinal());
+        storeInFreeSlot(bird);
+        return true;
+    }
+
+    /**
+     * Removes specific bird from aviary if it is currently housed in the aviary.
+     */
+    public void removeBird(Bird bird){
+        removeBird(bird.getId());
+    }
+
+    /**
+     * Removes the bird with the specified unique identifier from aviary if it is currently housed in the aviary.
+     * The slot is released before the reservation, so the number of occupied slots never exceeds the reservations.
+     */
+    public void removeBird(String id){
+        for(int i = 0; i < _capacity; ++i){
+            var bird = _slots.get(i);
+            if(bird != null && id.equals(bird.getId()) && _slots.compareAndSet(i, bird, null)){
+                _housedBirdDetails.decrementAndGet(bird.getBirdClassification().ordinal());
+                releaseSlot();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the queried bird is in the aviary
+     * @return true if such bird exists, false otherwise.
+     */
+    public boolean exists(Bird bird){
+        for(int i = 0; i < _capacity; ++i){
+            var housed = _slots.get(i);
+            if(housed != null && bird.getId().equals(housed.getId()))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Performs the validation of the aviary. Ensures that no conflicting types of birds are housed together.
+     */
+    public boolean validateAviary(){
+        var housedClassifications = 0;
+        var housesSolitaryGroup = false;
+        for (var classification : BirdClassification.values()){
+            if(_housedBirdDetails.get(classification.ordinal()) <= 0)
+                continue;
+            housedClassifications++;
+            if(CompatibilityGroup.of(classification) != CompatibilityGroup.FLYING_MIX)
+                housesSolitaryGroup = true;
+        }
+        return !(housesSolitaryGroup && housedClassifications > 1);
+    }
+
+    /**
+     * Checks whether the aviary is full or not
+     * @return true if full, false otherwise
+     */
+    public boolean isFull(){
+        return (_state.get() & COUNT_MASK) >= _capacity;
+    }
+
+    /**
+     * Getter: Retrieves the unique identifier of the aviary
+     * @return String representation of the unique identifier
+     */
+    public String getId(){
+        return _id;
+    }
+
+    /**
+     * Getter: Retrieves the total number of birds that can be housed inside the aviary
+     */
+    public int getCapacity(){
+        return _capacity;
+    }
+
+    /**
+     * Getter: Retrieves the compatibility group of the birds that are currently housed in the aviary.
+     * @return compatibility group of the housed birds, null if the aviary is empty
+     */
+    public CompatibilityGroup getCompatibilityGroup(){
+        var housedGroup = (int) (_state.get() >>> GROUP_SHIFT);
+        return housedGroup == 0 ? null : CompatibilityGroup.values()[housedGroup - 1];
+    }
+
+    /**
+     * Getter: Retrieves a snapshot of the birds currently housed in the aviary.
+     * @return ArrayList of birds
+     */
+    public ArrayList<Bird> getCurrentBirds(){
+        var result = new ArrayList<Bird>(_capacity);
+        for(int i = 0; i < _capacity; ++i){
+            var bird = _slots.get(i);
+            if(bird != null)
+                result.add(bird);
+        }
+        return result;
+    }
+
+    /**
+     * Getter: Retrieves a snapshot of bird classifications with respective number of birds housed in the aviary.
+     * @return Hashmap of bird classification and integer.
+     */
+    public HashMap<BirdClassification, Integer> getHousedBirdDetails(){
+        var result = new HashMap<BirdClassification, Integer>();
+        for (var classification : BirdClassification.values()){
+            var count = _housedBirdDetails.get(classification.ordinal());
+            if(count > 0)
+                result.put(classification, count);
+        }
+        return result;
+    }
+
+    /**
+     * Stores the bird in a free slot. A slot has already been reserved for the bird, therefore a free slot
+     * always exists; the search starts from the number of reserved slots to reduce contention with other adders.
+     */
+    private void storeInFreeSlot(Bird bird){
+        var start = (int) ((_state.get() & COUNT_MASK) % _capacity);
+        while (true){
+            for(int i = 0; i < _capacity; ++i){
+                var idx = (start + i) % _capacity;
+                if(_slots.get(idx) == null && _slots.compareAndSet(idx, null, bird))
+                    return;
+            }
+        }
+    }
+
+    /**
+     * Releases a reserved slot. Resets the compatibility group once the last bird has left the aviary.
+     */
+    private void releaseSlot(){
+        while (true){
+            var state = _state.get();
+            var count = (state & COUNT_MASK) - 1;
+            var next = count == 0 ? 0 : (state & ~COUNT_MASK) | count;
+            if(_state.compareAndSet(state, next))
+                return;
+        }
+    }
+}
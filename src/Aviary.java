@@ -1,6 +1,5 @@
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.UUID;
 
 /**
  * Represents single aviary. Provides functionality for adding birds into aviary, removing birds from aviary,
@@ -13,7 +12,7 @@ public final class Aviary implements IAviary {
     private final HashMap<BirdClassification, Integer> _housedBirdDetails;
 
     /**
-     * Unique identifier of the aviary. Type: Random UUID is converted into String
+     * Unique identifier of the aviary. Generated by the configured identifier provider
      */
     private String _id;
 
@@ -27,14 +26,36 @@ public final class Aviary implements IAviary {
      */
     private ArrayList<Bird> _currentBirds;
 
+    /**
+     * Stores the listeners that are notified whenever a bird is added into or removed from the aviary
+     */
+    private final ArrayList<IAviaryListener> _listeners;
+
+    /**
+     * Represents the total number of birds that can be housed inside the aviary
+     */
+    private final int _capacity;
+
     /**
      * Constructor: Creates empty aviary, generates the new unique identifier and sets the maximum capacity to 5 birds
      */
     public Aviary(){
-        _currentBirds = new ArrayList<>();
-        _maximumCapacity = 5;
-        _id = UUID.randomUUID().toString();
+        this(CapacityPolicy.DEFAULT.getAviaryCapacity());
+    }
+
+    /**
+     * Constructor: Creates empty aviary, generates the new unique identifier and sets the maximum capacity
+     * to the specified number of birds. The list of birds is sized up front to the expected number of birds.
+     */
+    public Aviary(int capacity){
+        if(capacity <= 0)
+            throw new IllegalArgumentException("Aviary capacity must be positive");
+        _capacity = capacity;
+        _currentBirds = new ArrayList<>(CapacityPolicy.getExpectedBirdsPerAviary(capacity));
+        _maximumCapacity = capacity;
+        _id = IdGenerator.nextId();
         _housedBirdDetails = new HashMap<>();
+        _listeners = new ArrayList<>();
     }
 
     /**
@@ -43,11 +64,31 @@ public final class Aviary implements IAviary {
      * Updates the maximum capacity according to the number of birds received as an input
      */
     public Aviary(ArrayList<Bird> birds){
-        if(birds != null && birds.size() > 5){
-                throw new IllegalArgumentException("Aviary cannot house more than five birds");
+        this(birds, CapacityPolicy.DEFAULT.getAviaryCapacity());
+    }
+
+    /**
+     * Constructor: Creates aviary with the specified capacity based on provided list of birds, validates the input list,
+     * Stores the input list, updates the housed bird details based on input bird classification and quantity
+     * Updates the maximum capacity according to the number of birds received as an input
+     */
+    public Aviary(ArrayList<Bird> birds, int capacity){
+        this(birds, capacity, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor: Creates aviary with the specified unique identifier and capacity based on provided list of birds.
+     * Used to restore persisted aviaries.
+     */
+    Aviary(ArrayList<Bird> birds, int capacity, String id){
+        if(capacity <= 0)
+            throw new IllegalArgumentException("Aviary capacity must be positive");
+        if(birds != null && birds.size() > capacity){
+                throw new IllegalArgumentException(String.format("Aviary cannot house more than %s birds", capacity));
         }
+        _capacity = capacity;
         _housedBirdDetails = new HashMap<>();
-        _maximumCapacity = 5;
+        _maximumCapacity = capacity;
         if(birds != null){
             for(var bird : birds){
                 var classification = bird.getBirdClassification();
@@ -59,8 +100,9 @@ public final class Aviary implements IAviary {
 
             _maximumCapacity -= birds.size();
         }
-        _currentBirds = birds;
-        _id = UUID.randomUUID().toString();
+        _currentBirds = birds != null ? birds : new ArrayList<>(CapacityPolicy.getExpectedBirdsPerAviary(capacity));
+        _id = id;
+        _listeners = new ArrayList<>();
 
     }
 
@@ -108,6 +150,8 @@ public final class Aviary implements IAviary {
         _maximumCapacity--;
         _currentBirds.add(bird);
         _housedBirdDetails.put(classification, _housedBirdDetails.getOrDefault(classification, 0) + 1);
+        for (var listener : _listeners)
+            listener.onBirdAdded(this, bird);
         return true;
     }
 
@@ -160,13 +204,20 @@ public final class Aviary implements IAviary {
 
     /**
      * Getter: Retrieves the unique identifier of the aviary
-     * @return String representation of the unique UUID
+     * @return String representation of the unique identifier
      */
     public String getId() {
         return _id;
     }
 
 
+    /**
+     * Getter: Retrieves the total number of birds that can be housed inside the aviary
+     */
+    public int getCapacity() {
+        return _capacity;
+    }
+
     /**
      * Checks whether the aviary is full or not
      * @return true if full, false otherwise
@@ -183,6 +234,42 @@ public final class Aviary implements IAviary {
         return _housedBirdDetails;
     }
 
+    /**
+     * Getter: Retrieves the compatibility group of the birds that are currently housed in the aviary.
+     * @return compatibility group of the housed birds, null if the aviary is empty
+     */
+    public CompatibilityGroup getCompatibilityGroup(){
+        for (var classification : _housedBirdDetails.keySet())
+            return CompatibilityGroup.of(classification);
+        return null;
+    }
+
+    /**
+     * Subscribes the listener to the changes of the aviary contents.
+     */
+    public void addListener(IAviaryListener listener){
+        _listeners.add(listener);
+    }
+
+    /**
+     * Unsubscribes the listener from the changes of the aviary contents.
+     */
+    public void removeListener(IAviaryListener listener){
+        _listeners.remove(listener);
+    }
+
+    /**
+     * Notifies the listeners that the aviary has been removed from the conservatory and unsubscribes them.
+     * @throws IllegalStateException if the aviary still houses birds
+     */
+    void retire(){
+        if(!_currentBirds.isEmpty())
+            throw new IllegalStateException(String.format("Aviary %s still houses birds", _id));
+        for (var listener : _listeners)
+            listener.onAviaryRemoved(this);
+        _listeners.clear();
+    }
+
     /**
      * Performs the validation of the aviary. Ensures that no conflicting types of birds are housed together.
      */
@@ -204,13 +291,15 @@ public final class Aviary implements IAviary {
      * Ensures that the bird data is always correct and up to date. Adjusts maximum capacity
      */
     private void removeInternal(int idx, BirdClassification classification){
-        _currentBirds.remove(idx);
+        var bird = _currentBirds.remove(idx);
         _maximumCapacity++;
         var mappedBird = _housedBirdDetails.get(classification);
         if( mappedBird - 1 <= 0)
             _housedBirdDetails.remove(classification);
         else
             _housedBirdDetails.put(classification, mappedBird-1);
+        for (var listener : _listeners)
+            listener.onBirdRemoved(this, bird);
     }
 
     /**
@@ -218,10 +307,13 @@ public final class Aviary implements IAviary {
      */
     @Override
     public String toString() {
-        var sb = new StringBuilder(String.format("Aviary Id:%s", _id) + "\n");
+        var sb = new StringBuilder(64 + 256 * _currentBirds.size());
+        sb.append("Aviary Id:").append(_id).append("\n");
         var counter = 1;
         for (var bird: _currentBirds) {
-            sb.append(counter).append(".").append(bird.toString()).append("\n");
+            sb.append(counter).append(".");
+            bird.appendTo(sb);
+            sb.append("\n");
             counter++;
         }
         return sb.toString();
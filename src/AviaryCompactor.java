@@ -0,0 +1,195 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Consolidates partially filled aviaries of a conservatory, so that aviaries freed by removed birds can be created
+ * again for new rescues. Birds of a compatibility group can only be housed with birds of the same group, therefore
+ * every group is packed independently and the groups are planned in parallel on a ForkJoinPool.
+ *
+ * Every bird takes one place, so the fewest aviaries that can house a group are its largest aviaries. Among aviaries
+ * of the same capacity the fullest ones are kept, which keeps the number of moved birds low. Birds of the other
+ * aviaries of the group are moved into the free places of the kept aviaries, and the emptied aviaries are removed.
+ * Aviaries that house extinct birds are always kept, as extinct birds cannot be added into another aviary.
+ * Aviaries that house birds without a classification are left untouched. Empty aviaries are removed.
+ *
+ * The moves are applied on the calling thread. If any move fails, the moves applied so far are undone and
+ * no aviary is removed. The conservatory must not be changed by other threads during the compaction.
+ */
+public final class AviaryCompactor {
+    /**
+     * Pool that plans the compatibility groups
+     */
+    private final ForkJoinPool _pool;
+
+    /**
+     * Constructor: Creates the compactor that uses the common fork-join pool.
+     */
+    public AviaryCompactor(){
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor: Creates the compactor that uses the specified fork-join pool.
+     */
+    public AviaryCompactor(ForkJoinPool pool){
+        _pool = pool;
+    }
+
+    /**
+     * Moves the birds of the conservatory into the fewest aviaries and removes the emptied aviaries.
+     * @return report of the compaction
+     * @throws IllegalStateException if a bird cannot be moved; the conservatory is left unchanged
+     */
+    public CompactionReport compact(Conservatory conservatory){
+        var aviaries = conservatory.getAviaries();
+        var aviaryCount = aviaries.size();
+        var start = System.nanoTime();
+
+        var freed = new ArrayList<Aviary>();
+        var groups = new EnumMap<CompatibilityGroup, ArrayList<Aviary>>(CompatibilityGroup.class);
+        for (var aviary : aviaries){
+            if(aviary.getCurrentBirds().isEmpty())
+                freed.add(aviary);
+            else if(!aviary.getHousedBirdDetails().containsKey(null))
+                groups.computeIfAbsent(aviary.getCompatibilityGroup(), k -> new ArrayList<>()).add(aviary);
+        }
+
+        var tasks = new ArrayList<ForkJoinTask<Plan>>(groups.size());
+        for (var group : groups.values())
+            tasks.add(_pool.submit(() -> plan(group)));
+        var moves = new ArrayList<Move>();
+        for (var task : tasks){
+            var plan = task.join();
+            moves.addAll(plan._moves);
+            freed.addAll(plan._freed);
+        }
+        var planned = System.nanoTime();
+
+        apply(moves);
+        conservatory.removeAviaries(freed);
+        return new CompactionReport(aviaryCount, freed.size(), moves.size(), planned - start, System.nanoTime() - planned);
+    }
+
+    /**
+     * Plans the moves that pack the birds of the aviaries of a single compatibility group into the fewest aviaries.
+     * The aviaries are only read.
+     */
+    private static Plan plan(List<Aviary> aviaries){
+        var order = aviaries.toArray(new Aviary[0]);
+        var birdCount = 0L;
+        var pinned = 0;
+        for(int i = 0; i < order.length; ++i){
+            birdCount += order[i].getCurrentBirds().size();
+            if(housesExtinctBird(order[i])){
+                var aviary = order[pinned];
+                order[pinned++] = order[i];
+                order[i] = aviary;
+            }
+        }
+        // The sort is stable, so aviaries of the same capacity and occupancy keep the order of the conservatory
+        Arrays.sort(order, pinned, order.length, Comparator.comparingInt(Aviary::getCapacity)
+                .thenComparingInt(o -> o.getCurrentBirds().size()).reversed());
+
+        var kept = 0;
+        var capacity = 0L;
+        while (kept < pinned || capacity < birdCount)
+            capacity += order[kept++].getCapacity();
+
+        var plan = new Plan();
+        var target = 0;
+        var free = order[target].getCapacity() - order[target].getCurrentBirds().size();
+        for(int i = kept; i < order.length; ++i){
+            for (var bird : order[i].getCurrentBirds()){
+                while (free == 0){
+                    ++target;
+                    free = order[target].getCapacity() - order[target].getCurrentBirds().size();
+                }
+                plan._moves.add(new Move(bird, order[i], order[target]));
+                --free;
+            }
+            plan._freed.add(order[i]);
+        }
+        return plan;
+    }
+
+    /**
+     * Checks whether the aviary houses a bird that cannot be added into another aviary.
+     */
+    private static boolean housesExtinctBird(Aviary aviary){
+        for (var bird : aviary.getCurrentBirds()){
+            if(bird.checkIfExtinct())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Moves the birds in the planned order. Undoes the applied moves if a bird cannot be moved.
+     * @throws IllegalStateException if a bird cannot be moved
+     */
+    private static void apply(List<Move> moves){
+        for(int i = 0; i < moves.size(); ++i){
+            var move = moves.get(i);
+            move._source.removeBird(move._bird);
+            if(!move._target.tryAddBird(move._bird)){
+                move._source.tryAddBird(move._bird);
+                for(int j = i - 1; j >= 0; --j){
+                    var applied = moves.get(j);
+                    applied._target.removeBird(applied._bird);
+                    applied._source.tryAddBird(applied._bird);
+                }
+                throw new IllegalStateException(String.format("The bird with id: %s cannot be moved into aviary %s",
+                        move._bird.getId(), move._target.getId()));
+            }
+        }
+    }
+
+    /**
+     * Planned move of a bird from one aviary into another.
+     */
+    private static final class Move {
+        /**
+         * Bird to move
+         */
+        private final Bird _bird;
+
+        /**
+         * Aviary that houses the bird
+         */
+        private final Aviary _source;
+
+        /**
+         * Aviary the bird is moved into
+         */
+        private final Aviary _target;
+
+        /**
+         * Constructor: Creates the move of the bird.
+         */
+        private Move(Bird bird, Aviary source, Aviary target){
+            _bird = bird;
+            _source = source;
+            _target = target;
+        }
+    }
+
+    /**
+     * Planned moves of a single compatibility group and the aviaries they empty.
+     */
+    private static final class Plan {
+        /**
+         * Stores the moves in the order they are applied
+         */
+        private final ArrayList<Move> _moves = new ArrayList<>();
+
+        /**
+         * Stores the aviaries that are empty once the moves are applied
+         */
+        private final ArrayList<Aviary> _freed = new ArrayList<>();
+    }
+}
@@ -7,20 +7,20 @@ import java.util.Comparator;
 public class AviaryHelper {
     /**
      * Sorts birds in aviaries alphabetically by comparing bird types.
-     * Acts as a pseudo merge sort. Sorts all aviaries of conservatory and then
+     * Acts as a pseudo merge sort. Sorts the birds of every aviary of conservatory and then
      * merges first and second aviaries into first aviary. Then first and third and so on.
+     * The aviaries themselves are not modified.
      * @param self takes conservatory as an argument
      * @return sorted list of BirdWithAviaryId objects
      */
     public static ArrayList<BirdWithAviaryId> getSortedBirds(Conservatory self){
         var result = new ArrayList<BirdWithAviaryId>();
         for (var aviary: self.getAviaries()){
-            aviary.getCurrentBirds().sort(Comparator.comparing(o -> o.getBirdType().toString().toLowerCase()));
-
-            var tmp = new ArrayList<BirdWithAviaryId>();
+            var tmp = new ArrayList<BirdWithAviaryId>(aviary.getCurrentBirds().size());
             for(var bird: aviary.getCurrentBirds()){
                 tmp.add(new BirdWithAviaryId(bird, aviary.getId()));
             }
+            tmp.sort(Comparator.comparingInt(o -> SortedBirdIndex.rankOf(o.getBird().getBirdType())));
             result = merge(result, tmp);
         }
         return  result;
@@ -38,9 +38,9 @@ public class AviaryHelper {
         var result = new ArrayList<BirdWithAviaryId>(firstLen+secondLen);
 
         while(firstPtr < firstLen && secondPtr < secondLen){
-            var firstBirdType = first.get(firstPtr).getBird().getBirdType().toString().toLowerCase();
-            var secondBirdType = second.get(secondPtr).getBird().getBirdType().toString().toLowerCase();
-            if(firstBirdType.compareTo(secondBirdType) < 0){
+            var firstBirdType = SortedBirdIndex.rankOf(first.get(firstPtr).getBird().getBirdType());
+            var secondBirdType = SortedBirdIndex.rankOf(second.get(secondPtr).getBird().getBirdType());
+            if(firstBirdType < secondBirdType){
                 result.add(first.get(firstPtr++));
             }
             else {
@@ -0,0 +1,92 @@
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+
+/**
+ * Placement index of the conservatory. Groups aviaries that still have free space by the compatibility group of
+ * the birds they currently house, so that an aviary for an incoming bird can be found without probing every aviary.
+ * Empty aviaries are kept separately as they can accept a bird of any compatibility group.
+ * The index listens to aviary changes and keeps itself up to date as aviaries fill or empty.
+ */
+public final class AviaryPlacementIndex implements IAviaryListener {
+    /**
+     * Stores non-full and non-empty aviaries for every compatibility group in insertion order
+     */
+    private final EnumMap<CompatibilityGroup, LinkedHashSet<Aviary>> _openAviaries;
+
+    /**
+     * Stores aviaries that currently house no birds
+     */
+    private final LinkedHashSet<Aviary> _emptyAviaries;
+
+    /**
+     * Constructor: Creates empty placement index with an empty bucket for every compatibility group.
+     */
+    public AviaryPlacementIndex(){
+        _openAviaries = new EnumMap<>(CompatibilityGroup.class);
+        for (var group : CompatibilityGroup.values())
+            _openAviaries.put(group, new LinkedHashSet<>());
+        _emptyAviaries = new LinkedHashSet<>();
+    }
+
+    /**
+     * Adds the aviary into the index and subscribes to its changes.
+     */
+    public void register(Aviary aviary){
+        aviary.addListener(this);
+        reindex(aviary);
+    }
+
+    /**
+     * Finds an aviary that can house a bird of the specified classification. Aviaries that already house birds of
+     * the same compatibility group are preferred over empty aviaries.
+     * @return aviary that can accept the bird, null if there is no such aviary
+     */
+    public Aviary findAviary(BirdClassification classification){
+        var open = _openAviaries.get(CompatibilityGroup.of(classification));
+        if(!open.isEmpty())
+            return open.iterator().next();
+
+        if(!_emptyAviaries.isEmpty())
+            return _emptyAviaries.iterator().next();
+
+        return null;
+    }
+
+    @Override
+    public void onBirdAdded(Aviary aviary, Bird bird) {
+        reindex(aviary);
+    }
+
+    @Override
+    public void onBirdRemoved(Aviary aviary, Bird bird) {
+        reindex(aviary);
+    }
+
+    @Override
+    public void onAviaryRemoved(Aviary aviary) {
+        _emptyAviaries.remove(aviary);
+        for (var open : _openAviaries.values())
+            open.remove(aviary);
+    }
+
+    /**
+     * Moves the aviary into the bucket that corresponds to its current state. Full aviaries are not stored at all.
+     * Aviaries that stay in the same bucket keep their position, so the oldest open aviary is filled up first.
+     */
+    private void reindex(Aviary aviary){
+        LinkedHashSet<Aviary> target = null;
+        if(!aviary.isFull()){
+            var group = aviary.getCompatibilityGroup();
+            target = group == null ? _emptyAviaries : _openAviaries.get(group);
+            if(target.contains(aviary))
+                return;
+        }
+
+        _emptyAviaries.remove(aviary);
+        for (var open : _openAviaries.values())
+            open.remove(aviary);
+
+        if(target != null)
+            target.add(aviary);
+    }
+}
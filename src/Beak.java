@@ -61,12 +61,21 @@ public final class Beak {
         return _hasVisibleNostrils;
     }
 
+    /**
+     * Appends the representation of the beak to the buffer.
+     */
+    public void appendTo(StringBuilder sb) {
+        sb.append(ReportWriter.lowercaseName(_beakSize)).append(',').append(ReportWriter.lowercaseName(_beakType))
+                .append(",IsSharp:").append(_isSharp).append(",HasVisibleNostrils:").append(_hasVisibleNostrils);
+    }
+
     /**
      * toString override method. String representation of the beak.
      */
     @Override
     public String toString() {
-        return String.format("%s,%s,IsSharp:%s,HasVisibleNostrils:%s", _beakSize.toString().toLowerCase(),
-                _beakType.toString().toLowerCase(), _isSharp, _hasVisibleNostrils);
+        var sb = new StringBuilder(64);
+        appendTo(sb);
+        return sb.toString();
     }
 }
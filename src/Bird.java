@@ -1,5 +1,5 @@
 import java.util.ArrayList;
-import java.util.UUID;
+import java.util.List;
 
 /**
  * Base class for all birds.
@@ -9,7 +9,7 @@ public abstract class Bird implements IBird, IBirdTypeValidator {
 
 
     /**
-     * Unique Identifier of the bird. Type: Random UUID is converted to string
+     * Unique Identifier of the bird. Generated by the configured identifier provider
      */
     protected final String _id;
 
@@ -18,60 +18,48 @@ public abstract class Bird implements IBird, IBirdTypeValidator {
      */
     protected final BirdType _birdType;
 
-    /**
-     * Food Preferences of the bird. e.g. Insects, Larvae, Leaves, etc.
-     */
-    protected ArrayList<FoodType> _foodPreferences;
-
     /**
      * Classification of the Bird. e.g. Bird of Prey, Flightless, Parrot, etc.
      */
     protected BirdClassification _classification;
 
     /**
-     * Highlights if the current species of the bird is extinct.
-     */
-    protected boolean _isExtinct;
-
-    /**
-     * Beak characteristic of the bird. e.g. Short and curved with visible nostrils, etc.
+     * Traits shared by every bird of the species: beak, food preferences, number of wings, extinction state, etc.
      */
-    protected Beak _beak;
-
-    /**
-     * Number indicating the number of wings the bird has. e.g. 0, 1, 2, etc.
-     */
-    protected int _numberOfWings;
+    protected final SpeciesTraits _traits;
 
     /**
      * Constructor. Validates the type of the bird and creates the bird object setting all required
      * member variables that characterize a single bird.
      */
     public Bird(BirdType birdType){
+        this(birdType, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor. Creates the bird with the specified unique identifier. Used to restore persisted birds.
+     */
+    protected Bird(BirdType birdType, String id){
         validateBirdType(birdType);
 
         _birdType = birdType;
-        generateAndSetBeak();
-        generateAndSetExtinctionData();
-        _foodPreferences = new ArrayList<>();
-        generateAndSetFoodPreferences();
-        generateAndSetNumberOfWings();
+        _traits = SpeciesCatalog.traitsOf(this);
 
-        _id = UUID.randomUUID().toString();
+        _id = id;
     }
 
     /**
      * Getter: Retrieves the food preferences of the bird.
      */
-    public ArrayList<FoodType> getFoodPreferences(){
-        return _foodPreferences;
+    public List<FoodType> getFoodPreferences(){
+        return _traits.getFoodPreferences();
     }
 
     /**
      * Getter: Retrieves the number of wings of the bird.
      */
     public int getNumberOfWings(){
-        return _numberOfWings;
+        return _traits.getNumberOfWings();
     }
 
     /**
@@ -92,14 +80,21 @@ public abstract class Bird implements IBird, IBirdTypeValidator {
      * Getter: Retrieves the extinction state of the bird.
      */
     public boolean checkIfExtinct(){
-        return _isExtinct;
+        return _traits.isExtinct();
     }
 
     /**
      * Getter: Retrieves the beak of the bird.
      */
     public Beak getBeak(){
-        return _beak;
+        return _traits.getBeak();
+    }
+
+    /**
+     * Getter: Retrieves the traits shared by every bird of the species.
+     */
+    public SpeciesTraits getTraits(){
+        return _traits;
     }
 
     /**
@@ -113,44 +108,75 @@ public abstract class Bird implements IBird, IBirdTypeValidator {
 
 
     /**
-     * Base implementation of the creating and setting extinction state of the bird. Is overridden in some subclasses.
+     * Base implementation of the generating extinction state of the species. Is overridden in some subclasses.
+     * Called once per species by the species catalog.
+     */
+    protected boolean generateExtinctionData() {
+        return false;
+    }
+
+    /**
+     * Base implementation of the generating number of wings of the species. Is overridden in some subclasses.
+     * Called once per species by the species catalog.
      */
-    protected void generateAndSetExtinctionData() {
-        _isExtinct = false;
+    protected int generateNumberOfWings() {
+        return 2;
     }
 
     /**
-     * Base implementation of the creating and setting number of wings of the bird. Is overridden in some subclasses.
+     * Base implementation of the generating living habitats of the species. Is overridden in some subclasses.
+     * Called once per species by the species catalog.
      */
-    protected void generateAndSetNumberOfWings() {
-        _numberOfWings = 2;
+    protected void generateLivingHabitats(ArrayList<LivingHabitat> livingHabitats) {
     }
 
     /**
-     * Provides signature for implementation. Generates and sets beak of the bird. Is overridden in some subclasses.
+     * Provides signature for implementation. Generates beak of the species. Called once per species by the species catalog.
      */
-    protected abstract void generateAndSetBeak();
+    protected abstract Beak generateBeak();
 
     /**
-     * Provides signature for implementation. Generates and sets food preferences of the bird. Is overridden in some subclasses.
+     * Provides signature for implementation. Adds food preferences of the species to the list.
+     * Called once per species by the species catalog.
      */
-    protected abstract void generateAndSetFoodPreferences();
+    protected abstract void generateFoodPreferences(ArrayList<FoodType> foodPreferences);
 
     /**
-     * Base toString method. Represents the current bird by its characteristics.
+     * Base representation method. Appends the characteristics of the current bird to the buffer.
      * Is overridden in several subclasses to compose complete representation
      */
+    public void appendTo(StringBuilder sb) {
+        appendSpecies(sb, _birdType, _classification, _traits);
+    }
+
+    /**
+     * Appends the characteristics shared by every bird of the species to the buffer.
+     * Used by the base representation and by stores that do not keep bird objects.
+     */
+    static void appendSpecies(StringBuilder sb, BirdType birdType, BirdClassification classification, SpeciesTraits traits) {
+        sb.append("Name:").append(ReportWriter.lowercaseName(birdType))
+                .append(", Bird Classification:").append(ReportWriter.lowercaseName(classification))
+                .append(", Number of Wings:").append(traits.getNumberOfWings())
+                .append(", IsExtinct:").append(traits.isExtinct())
+                .append("\n").append("Beak:");
+        traits.getBeak().appendTo(sb);
+        sb.append(", Food Preferences:");
+        var foodPreferences = traits.getFoodPreferences();
+        for(int i = 0; i < foodPreferences.size(); ++i){
+            sb.append(ReportWriter.lowercaseName(foodPreferences.get(i)));
+            if(i < foodPreferences.size()  - 1)
+                sb.append(", ");
+        }
+    }
+
+    /**
+     * Base toString method. Represents the current bird by its characteristics composed by appendTo.
+     */
     @Override
     public String toString() {
-        var foodStr = new StringBuilder();
-        for(int i = 0; i < _foodPreferences.size(); ++i){
-            foodStr.append(_foodPreferences.get(i).toString().toLowerCase());
-            if(i < _foodPreferences.size()  - 1)
-                foodStr.append(", ");
-        }
-        return String.format("Name:%s, Bird Classification:%s, Number of Wings:%s, IsExtinct:%s" +
-                "\n"+"Beak:%s, Food Preferences:%s",
-                _birdType.toString().toLowerCase(), _classification.toString().toLowerCase(), _numberOfWings, _isExtinct, _beak.toString(), foodStr);
+        var sb = new StringBuilder(256);
+        appendTo(sb);
+        return sb.toString();
     }
 }
 
@@ -0,0 +1,291 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Conservatory-wide secondary index of bird attributes. Every housed bird gets a dense ordinal and every attribute
+ * value, e.g. a bird type or a food type preference, keeps a bitmap of the ordinals of the birds that have it.
+ * Queries combine the bitmaps with AND, OR and AND NOT instead of visiting the birds. Ordinals of removed birds
+ * are reused, so the bitmaps stay as long as the largest number of birds housed at once.
+ * Listens to aviary changes, therefore the index is kept up to date whenever a bird is rescued or removed.
+ */
+public final class BirdAttributeIndex implements IAviaryListener {
+    /**
+     * Stores the housed birds, indexed by ordinal. Free ordinals hold null
+     */
+    private final ArrayList<Bird> _birds;
+
+    /**
+     * Maps the housed bird to its ordinal
+     */
+    private final IdentityHashMap<Bird, Integer> _ordinalByBird;
+
+    /**
+     * Stores the ordinals of removed birds that are reused first
+     */
+    private int[] _freeOrdinals;
+
+    /**
+     * Represents the number of reusable ordinals
+     */
+    private int _freeCount;
+
+    /**
+     * Stores the ordinals of every housed bird
+     */
+    private final BitSet _housed;
+
+    /**
+     * Stores the bitmap of every classification, indexed by ordinal of the classification
+     */
+    private final BitSet[] _byClassification;
+
+    /**
+     * Stores the bitmap of every bird type, indexed by ordinal of the bird type
+     */
+    private final BitSet[] _byType;
+
+    /**
+     * Stores the ordinals of extinct birds
+     */
+    private final BitSet _extinct;
+
+    /**
+     * Stores the bitmap of every number of wings
+     */
+    private final HashMap<Integer, BitSet> _byNumberOfWings;
+
+    /**
+     * Stores the bitmap of every beak size, indexed by ordinal of the beak size
+     */
+    private final BitSet[] _byBeakSize;
+
+    /**
+     * Stores the bitmap of every beak type, indexed by ordinal of the beak type
+     */
+    private final BitSet[] _byBeakType;
+
+    /**
+     * Stores the ordinals of birds with sharp beaks
+     */
+    private final BitSet _sharpBeak;
+
+    /**
+     * Stores the ordinals of birds with visible nostrils
+     */
+    private final BitSet _visibleNostrils;
+
+    /**
+     * Stores the bitmap of every food type preference, indexed by ordinal of the food type
+     */
+    private final BitSet[] _byFoodPreference;
+
+    /**
+     * Stores the bitmap of every living habitat, indexed by ordinal of the living habitat
+     */
+    private final BitSet[] _byLivingHabitat;
+
+    /**
+     * Constructor: Creates empty index.
+     */
+    public BirdAttributeIndex(){
+        this(0);
+    }
+
+    /**
+     * Constructor: Creates empty index sized up front for the expected number of birds.
+     */
+    public BirdAttributeIndex(int expectedBirds){
+        _birds = new ArrayList<>(expectedBirds);
+        _ordinalByBird = new IdentityHashMap<>(expectedBirds);
+        _freeOrdinals = new int[16];
+        _housed = new BitSet();
+        _byClassification = createBitmaps(BirdClassification.values().length);
+        _byType = createBitmaps(BirdType.values().length);
+        _extinct = new BitSet();
+        _byNumberOfWings = new HashMap<>();
+        _byBeakSize = createBitmaps(BeakSize.values().length);
+        _byBeakType = createBitmaps(BeakType.values().length);
+        _sharpBeak = new BitSet();
+        _visibleNostrils = new BitSet();
+        _byFoodPreference = createBitmaps(FoodType.values().length);
+        _byLivingHabitat = createBitmaps(LivingHabitat.values().length);
+    }
+
+    /**
+     * Adds every bird of the aviary into the index and subscribes to the changes of the aviary.
+     */
+    public void register(Aviary aviary){
+        aviary.addListener(this);
+        for (var bird : aviary.getCurrentBirds())
+            onBirdAdded(aviary, bird);
+    }
+
+    /**
+     * Retrieves the housed birds that match the query.
+     * @return matching birds in the order of their ordinals
+     */
+    public List<Bird> find(BirdQuery query){
+        var matches = query.resolve(this);
+        var birds = new ArrayList<Bird>(matches.cardinality());
+        for(int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1))
+            birds.add(_birds.get(i));
+        return birds;
+    }
+
+    /**
+     * Counts the housed birds that match the query without retrieving them.
+     */
+    public int count(BirdQuery query){
+        return query.resolve(this).cardinality();
+    }
+
+    /**
+     * Getter: Retrieves the number of housed birds in the index.
+     */
+    public int size(){
+        return _ordinalByBird.size();
+    }
+
+    @Override
+    public void onBirdAdded(Aviary aviary, Bird bird) {
+        if(_ordinalByBird.containsKey(bird))
+            return;
+        int ordinal;
+        if(_freeCount > 0){
+            ordinal = _freeOrdinals[--_freeCount];
+            _birds.set(ordinal, bird);
+        }
+        else {
+            ordinal = _birds.size();
+            _birds.add(bird);
+        }
+        _ordinalByBird.put(bird, ordinal);
+        update(bird, ordinal, true);
+    }
+
+    @Override
+    public void onBirdRemoved(Aviary aviary, Bird bird) {
+        var ordinal = _ordinalByBird.remove(bird);
+        if(ordinal == null)
+            return;
+        update(bird, ordinal, false);
+        _birds.set(ordinal, null);
+        if(_freeCount == _freeOrdinals.length)
+            _freeOrdinals = Arrays.copyOf(_freeOrdinals, _freeCount * 2);
+        _freeOrdinals[_freeCount++] = ordinal;
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of every housed bird.
+     */
+    BitSet housed(){
+        return (BitSet) _housed.clone();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the birds of the classification.
+     */
+    BitSet withClassification(BirdClassification classification){
+        return (BitSet) _byClassification[classification.ordinal()].clone();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the birds of the bird type.
+     */
+    BitSet withType(BirdType birdType){
+        return (BitSet) _byType[birdType.ordinal()].clone();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the extinct birds.
+     */
+    BitSet extinct(){
+        return (BitSet) _extinct.clone();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the birds with the number of wings.
+     */
+    BitSet withNumberOfWings(int numberOfWings){
+        var bitmap = _byNumberOfWings.get(numberOfWings);
+        return bitmap != null ? (BitSet) bitmap.clone() : new BitSet();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the birds with the beak size.
+     */
+    BitSet withBeakSize(BeakSize beakSize){
+        return (BitSet) _byBeakSize[beakSize.ordinal()].clone();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the birds with the beak type.
+     */
+    BitSet withBeakType(BeakType beakType){
+        return (BitSet) _byBeakType[beakType.ordinal()].clone();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the birds with sharp beaks.
+     */
+    BitSet withSharpBeak(){
+        return (BitSet) _sharpBeak.clone();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the birds with visible nostrils.
+     */
+    BitSet withVisibleNostrils(){
+        return (BitSet) _visibleNostrils.clone();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the birds that prefer the food type.
+     */
+    BitSet withFoodPreference(FoodType food){
+        return (BitSet) _byFoodPreference[food.ordinal()].clone();
+    }
+
+    /**
+     * Retrieves a copy of the ordinals of the birds that live in the living habitat.
+     */
+    BitSet withLivingHabitat(LivingHabitat habitat){
+        return (BitSet) _byLivingHabitat[habitat.ordinal()].clone();
+    }
+
+    /**
+     * Sets or clears the ordinal of the bird in the bitmap of every attribute value of the bird.
+     */
+    private void update(Bird bird, int ordinal, boolean value){
+        var traits = bird.getTraits();
+        var beak = traits.getBeak();
+        _housed.set(ordinal, value);
+        if(bird.getBirdClassification() != null)
+            _byClassification[bird.getBirdClassification().ordinal()].set(ordinal, value);
+        _byType[bird.getBirdType().ordinal()].set(ordinal, value);
+        _extinct.set(ordinal, value && traits.isExtinct());
+        _byNumberOfWings.computeIfAbsent(traits.getNumberOfWings(), k -> new BitSet()).set(ordinal, value);
+        _byBeakSize[beak.getBeakSize().ordinal()].set(ordinal, value);
+        _byBeakType[beak.getBeakType().ordinal()].set(ordinal, value);
+        _sharpBeak.set(ordinal, value && beak.IsSharp());
+        _visibleNostrils.set(ordinal, value && beak.HasVisibleNostrils());
+        for (var food : traits.getFoodPreferences())
+            _byFoodPreference[food.ordinal()].set(ordinal, value);
+        for (var habitat : traits.getLivingHabitats())
+            _byLivingHabitat[habitat.ordinal()].set(ordinal, value);
+    }
+
+    /**
+     * Creates the specified number of empty bitmaps.
+     */
+    private static BitSet[] createBitmaps(int count){
+        var bitmaps = new BitSet[count];
+        for(int i = 0; i < count; ++i)
+            bitmaps[i] = new BitSet();
+        return bitmaps;
+    }
+}
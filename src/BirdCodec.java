@@ -0,0 +1,133 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+
+/**
+ * Binary encoding of birds and strings shared by the conservatory snapshot and the event log.
+ * bird:   kind, bird type ordinal, id, for parrots: favorite word, number of words, words
+ * Strings are stored as the number of UTF-8 bytes followed by the bytes. Missing strings have length -1.
+ */
+final class BirdCodec {
+    /**
+     * Stores the bird classes in the order of their kind codes
+     */
+    private static final Class<?>[] KINDS = {
+            Owl.class, Parrot.class, Pigeon.class, Shorebird.class, Waterfowl.class, FlightlessBird.class,
+            BirdOfPrey.class, WaterBird.class
+    };
+
+    /**
+     * Constructor: Prevents creating instances of the codec.
+     */
+    private BirdCodec(){
+    }
+
+    /**
+     * Writes the bird into the buffer.
+     * @throws java.nio.BufferOverflowException if fewer than sizeOf(bird) bytes remain in the buffer
+     */
+    static void write(ByteBuffer buffer, Bird bird){
+        buffer.put((byte) kindOf(bird)).put((byte) bird.getBirdType().ordinal());
+        putString(buffer, bird.getId());
+        if(bird instanceof Parrot parrot){
+            putString(buffer, parrot.getFavoriteWord());
+            var vocabulary = parrot.getVocabulary();
+            buffer.putInt(vocabulary.size());
+            for (var word : vocabulary)
+                putString(buffer, word);
+        }
+    }
+
+    /**
+     * Reads the bird at the current position of the buffer.
+     * @throws IllegalArgumentException if the kind or type of the bird is unknown
+     */
+    static Bird read(ByteBuffer buffer){
+        var kind = buffer.get();
+        var type = buffer.get();
+        var id = getString(buffer);
+        if(kind < 0 || kind >= KINDS.length)
+            throw new IllegalArgumentException(String.format("Unknown bird kind %s", kind));
+        if(type < 0 || type >= BirdType.values().length)
+            throw new IllegalArgumentException(String.format("Unknown bird type %s", type));
+        var birdType = BirdType.values()[type];
+        var birdClass = KINDS[kind];
+        if(birdClass == Parrot.class){
+            var favoriteWord = getString(buffer);
+            var count = buffer.getInt();
+            var vocabulary = new HashSet<String>(CapacityPolicy.hashCapacity(count));
+            for(int i = 0; i < count; ++i)
+                vocabulary.add(getString(buffer));
+            return new Parrot(birdType, favoriteWord, vocabulary, id);
+        }
+        if(birdClass == Owl.class)
+            return new Owl(birdType, id);
+        if(birdClass == Pigeon.class)
+            return new Pigeon(birdType, id);
+        if(birdClass == Shorebird.class)
+            return new Shorebird(birdType, id);
+        if(birdClass == Waterfowl.class)
+            return new Waterfowl(birdType, id);
+        if(birdClass == FlightlessBird.class)
+            return new FlightlessBird(birdType, id);
+        if(birdClass == BirdOfPrey.class)
+            return new BirdOfPrey(birdType, id);
+        return new WaterBird(birdType, id);
+    }
+
+    /**
+     * Computes the maximum number of bytes write writes for the bird.
+     */
+    static int sizeOf(Bird bird){
+        var size = 2 + sizeOf(bird.getId());
+        if(bird instanceof Parrot parrot){
+            size += sizeOf(parrot.getFavoriteWord()) + Integer.BYTES;
+            for (var word : parrot.getVocabulary())
+                size += sizeOf(word);
+        }
+        return size;
+    }
+
+    /**
+     * Retrieves the kind code of the class of the bird.
+     * @throws IllegalArgumentException if the class of the bird cannot be persisted
+     */
+    static int kindOf(Bird bird){
+        for(int i = 0; i < KINDS.length; ++i){
+            if(KINDS[i] == bird.getClass())
+                return i;
+        }
+        throw new IllegalArgumentException(String.format("Birds of class %s cannot be persisted", bird.getClass().getName()));
+    }
+
+    /**
+     * Writes the string as the number of UTF-8 bytes followed by the bytes.
+     */
+    static void putString(ByteBuffer buffer, String value){
+        if(value == null){
+            buffer.putInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    /**
+     * Reads the string written by putString.
+     */
+    static String getString(ByteBuffer buffer){
+        var length = buffer.getInt();
+        if(length < 0)
+            return null;
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Computes the maximum number of bytes putString writes for the string.
+     */
+    static int sizeOf(String value){
+        return Integer.BYTES + (value != null ? value.length() * 3 : 0);
+    }
+}
@@ -0,0 +1,68 @@
+import java.util.HashMap;
+
+/**
+ * Conservatory-wide directory that maps the unique identifier of every housed bird to the aviary that houses it.
+ * Listens to aviary changes, therefore the directory is kept up to date whenever a bird is rescued or removed.
+ */
+public final class BirdDirectory implements IAviaryListener {
+    /**
+     * Maps unique identifier of the bird to the aviary the bird is currently housed in
+     */
+    private final HashMap<String, Aviary> _aviaryByBirdId;
+
+    /**
+     * Constructor: Creates empty directory.
+     */
+    public BirdDirectory(){
+        _aviaryByBirdId = new HashMap<>();
+    }
+
+    /**
+     * Constructor: Creates empty directory sized up front for the expected number of birds.
+     */
+    public BirdDirectory(int expectedBirds){
+        _aviaryByBirdId = new HashMap<>(CapacityPolicy.hashCapacity(expectedBirds));
+    }
+
+    /**
+     * Adds every bird of the aviary into the directory and subscribes to the changes of the aviary.
+     */
+    public void register(Aviary aviary){
+        aviary.addListener(this);
+        for (var bird : aviary.getCurrentBirds())
+            _aviaryByBirdId.put(bird.getId(), aviary);
+    }
+
+    /**
+     * Retrieves the aviary that houses the bird with the specified unique identifier.
+     * @return aviary of the bird, null if the bird is not housed in the conservatory
+     */
+    public Aviary getAviary(String birdId){
+        return _aviaryByBirdId.get(birdId);
+    }
+
+    /**
+     * Checks whether the bird with the specified unique identifier is housed in the conservatory.
+     * @return true if the bird is found, false otherwise.
+     */
+    public boolean contains(String birdId){
+        return _aviaryByBirdId.containsKey(birdId);
+    }
+
+    /**
+     * Getter: Retrieves the number of birds in the directory.
+     */
+    public int size(){
+        return _aviaryByBirdId.size();
+    }
+
+    @Override
+    public void onBirdAdded(Aviary aviary, Bird bird) {
+        _aviaryByBirdId.put(bird.getId(), aviary);
+    }
+
+    @Override
+    public void onBirdRemoved(Aviary aviary, Bird bird) {
+        _aviaryByBirdId.remove(bird.getId(), aviary);
+    }
+}
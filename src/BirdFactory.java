@@ -0,0 +1,105 @@
+import java.util.EnumMap;
+import java.util.HashSet;
+
+/**
+ * Creates birds of the class that corresponds to their bird type. The class of every bird type is looked up
+ * in a table keyed by the bird type, so callers do not have to know which class houses which bird types.
+ */
+public final class BirdFactory {
+    /**
+     * Shared instance
+     */
+    public static final BirdFactory INSTANCE = new BirdFactory();
+
+    /**
+     * Creates a bird of a specific class.
+     */
+    private interface Creator {
+        Bird create(BirdType birdType, String favoriteWord, HashSet<String> vocabulary);
+    }
+
+    /**
+     * Stores the creator of every supported bird type
+     */
+    private final EnumMap<BirdType, Creator> _creators;
+
+    /**
+     * Stores the classification of the birds every supported bird type creates
+     */
+    private final EnumMap<BirdType, BirdClassification> _classifications;
+
+    /**
+     * Constructor: Fills the tables of the supported bird types.
+     */
+    private BirdFactory(){
+        _creators = new EnumMap<>(BirdType.class);
+        _classifications = new EnumMap<>(BirdType.class);
+        register(BirdClassification.PARROT, Parrot::new,
+                BirdType.GRAYPARROT, BirdType.ROSERINGPARAKEET, BirdType.SULFURCRESTEDCOCKATOO);
+        register(BirdClassification.BIRD_OF_PREY, (type, word, vocabulary) -> new BirdOfPrey(type),
+                BirdType.HAWK, BirdType.EAGLE, BirdType.OSPREY);
+        register(BirdClassification.FLIGHTLESS, (type, word, vocabulary) -> new FlightlessBird(type),
+                BirdType.KIWI, BirdType.MOA, BirdType.EMU);
+        register(BirdClassification.OWL, (type, word, vocabulary) -> new Owl(type),
+                BirdType.OWL);
+        register(BirdClassification.PIGEON, (type, word, vocabulary) -> new Pigeon(type),
+                BirdType.PIGEON, BirdType.DOVE);
+        register(BirdClassification.SHOREBIRD, (type, word, vocabulary) -> new Shorebird(type),
+                BirdType.GREATAUK, BirdType.HORNEDPUFFIN, BirdType.AFRICANJACANA);
+        register(BirdClassification.WATERFOWL, (type, word, vocabulary) -> new Waterfowl(type),
+                BirdType.DUCK, BirdType.SWAN, BirdType.GOOSE);
+    }
+
+    /**
+     * Creates the bird of the bird type.
+     * @throws IllegalArgumentException if birds of the bird type cannot be created
+     */
+    public Bird create(BirdType birdType){
+        return create(birdType, null, null, null);
+    }
+
+    /**
+     * Creates the bird of the bird type. The favorite word and vocabulary are only accepted for parrots.
+     * @param classification expected classification of the bird, null if it is not checked
+     * @throws IllegalArgumentException if birds of the bird type cannot be created, the bird type does not belong
+     *                                  to the classification, or words are provided for a bird that is not a parrot
+     */
+    public Bird create(BirdType birdType, BirdClassification classification, String favoriteWord,
+                       HashSet<String> vocabulary){
+        var creator = birdType != null ? _creators.get(birdType) : null;
+        if(creator == null)
+            throw new IllegalArgumentException(String.format("Birds of type %s cannot be created", birdType));
+        var birdClassification = _classifications.get(birdType);
+        if(classification != null && classification != birdClassification)
+            throw new IllegalArgumentException(String.format("Bird type %s does not belong to classification %s", birdType, classification));
+        if(birdClassification != BirdClassification.PARROT && (favoriteWord != null || (vocabulary != null && !vocabulary.isEmpty())))
+            throw new IllegalArgumentException("Only parrots have a favorite word and vocabulary");
+        return creator.create(birdType, favoriteWord, vocabulary);
+    }
+
+    /**
+     * Checks whether birds of the bird type can be created
+     * @return true if the bird type is supported, false otherwise
+     */
+    public boolean supports(BirdType birdType){
+        return _creators.containsKey(birdType);
+    }
+
+    /**
+     * Getter: Retrieves the classification of the birds of the bird type.
+     * @return classification, null if the bird type is not supported
+     */
+    public BirdClassification getClassification(BirdType birdType){
+        return _classifications.get(birdType);
+    }
+
+    /**
+     * Registers the creator and classification of the bird types.
+     */
+    private void register(BirdClassification classification, Creator creator, BirdType... birdTypes){
+        for (var birdType : birdTypes){
+            _creators.put(birdType, creator);
+            _classifications.put(birdType, classification);
+        }
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.ArrayList;
+
 /**
  * Bird of Prey class: Inherits from Bird, implements and overrides some functionality.
  */
@@ -7,7 +9,14 @@ public final class BirdOfPrey extends Bird {
      * @param birdType creates Bird of Prey class object based on bird type provided. sets facial disk parameter.
      */
     public BirdOfPrey(BirdType birdType) {
-        super(birdType);
+        this(birdType, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor: Creates BirdOfPrey object with the specified unique identifier. Used to restore persisted birds.
+     */
+    BirdOfPrey(BirdType birdType, String id) {
+        super(birdType, id);
         _classification = BirdClassification.BIRD_OF_PREY;
     }
 
@@ -26,8 +35,8 @@ public final class BirdOfPrey extends Bird {
      * Creates beak according to Bird of Prey class specification
      */
     @Override
-    protected void generateAndSetBeak() {
-       _beak = new Beak(BeakSize.SHORT, BeakType.HOOKED, true, true);
+    protected Beak generateBeak() {
+        return new Beak(BeakSize.SHORT, BeakType.HOOKED, true, true);
     }
 
     /**
@@ -35,10 +44,10 @@ public final class BirdOfPrey extends Bird {
      * adds food types specific to the Bird of Prey class to the food preferences parameter of Bird
      */
     @Override
-    protected void generateAndSetFoodPreferences() {
-        _foodPreferences.add(FoodType.OTHER_BIRDS);
-        _foodPreferences.add(FoodType.FISH);
-        _foodPreferences.add(FoodType.SMALL_MAMMALS);
+    protected void generateFoodPreferences(ArrayList<FoodType> foodPreferences) {
+        foodPreferences.add(FoodType.OTHER_BIRDS);
+        foodPreferences.add(FoodType.FISH);
+        foodPreferences.add(FoodType.SMALL_MAMMALS);
     }
 
 
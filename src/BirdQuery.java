@@ -0,0 +1,148 @@
+import java.util.BitSet;
+import java.util.function.Function;
+
+/**
+ * Immutable query over the attributes of the housed birds. Queries are built from single attribute values and
+ * combined with and, or and not; they are resolved against the bird attribute index of a conservatory by combining
+ * the bitmaps of the attribute values, without visiting any bird.
+ */
+public final class BirdQuery {
+    /**
+     * Resolves the query into the ordinals of the matching birds. Returns a bitmap the caller may modify
+     */
+    private final Function<BirdAttributeIndex, BitSet> _resolver;
+
+    /**
+     * Constructor: Creates the query with the specified resolver.
+     */
+    private BirdQuery(Function<BirdAttributeIndex, BitSet> resolver){
+        _resolver = resolver;
+    }
+
+    /**
+     * Creates the query that matches every bird.
+     */
+    public static BirdQuery all(){
+        return new BirdQuery(BirdAttributeIndex::housed);
+    }
+
+    /**
+     * Creates the query that matches the birds of the classification.
+     */
+    public static BirdQuery classification(BirdClassification classification){
+        return new BirdQuery(index -> index.withClassification(classification));
+    }
+
+    /**
+     * Creates the query that matches the birds of the bird type.
+     */
+    public static BirdQuery type(BirdType birdType){
+        return new BirdQuery(index -> index.withType(birdType));
+    }
+
+    /**
+     * Creates the query that matches the extinct birds.
+     */
+    public static BirdQuery extinct(){
+        return new BirdQuery(BirdAttributeIndex::extinct);
+    }
+
+    /**
+     * Creates the query that matches the birds with the number of wings.
+     */
+    public static BirdQuery numberOfWings(int numberOfWings){
+        return new BirdQuery(index -> index.withNumberOfWings(numberOfWings));
+    }
+
+    /**
+     * Creates the query that matches the birds with the beak size.
+     */
+    public static BirdQuery beakSize(BeakSize beakSize){
+        return new BirdQuery(index -> index.withBeakSize(beakSize));
+    }
+
+    /**
+     * Creates the query that matches the birds with the beak type.
+     */
+    public static BirdQuery beakType(BeakType beakType){
+        return new BirdQuery(index -> index.withBeakType(beakType));
+    }
+
+    /**
+     * Creates the query that matches the birds with sharp beaks.
+     */
+    public static BirdQuery sharpBeak(){
+        return new BirdQuery(BirdAttributeIndex::withSharpBeak);
+    }
+
+    /**
+     * Creates the query that matches the birds with visible nostrils.
+     */
+    public static BirdQuery visibleNostrils(){
+        return new BirdQuery(BirdAttributeIndex::withVisibleNostrils);
+    }
+
+    /**
+     * Creates the query that matches the birds that prefer the food type.
+     */
+    public static BirdQuery prefers(FoodType food){
+        return new BirdQuery(index -> index.withFoodPreference(food));
+    }
+
+    /**
+     * Creates the query that matches the birds that live in the living habitat.
+     */
+    public static BirdQuery livesIn(LivingHabitat habitat){
+        return new BirdQuery(index -> index.withLivingHabitat(habitat));
+    }
+
+    /**
+     * Creates the query that matches the birds matched by both queries.
+     */
+    public BirdQuery and(BirdQuery other){
+        return new BirdQuery(index -> {
+            var matches = resolve(index);
+            if(!matches.isEmpty())
+                matches.and(other.resolve(index));
+            return matches;
+        });
+    }
+
+    /**
+     * Creates the query that matches the birds matched by either query.
+     */
+    public BirdQuery or(BirdQuery other){
+        return new BirdQuery(index -> {
+            var matches = resolve(index);
+            matches.or(other.resolve(index));
+            return matches;
+        });
+    }
+
+    /**
+     * Creates the query that matches the birds matched by this query but not by the other one.
+     */
+    public BirdQuery andNot(BirdQuery other){
+        return new BirdQuery(index -> {
+            var matches = resolve(index);
+            if(!matches.isEmpty())
+                matches.andNot(other.resolve(index));
+            return matches;
+        });
+    }
+
+    /**
+     * Creates the query that matches the birds not matched by this query.
+     */
+    public BirdQuery not(){
+        return all().andNot(this);
+    }
+
+    /**
+     * Resolves the query into the ordinals of the matching birds of the index.
+     * @return bitmap owned by the caller
+     */
+    BitSet resolve(BirdAttributeIndex index){
+        return _resolver.apply(index);
+    }
+}
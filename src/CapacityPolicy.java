@@ -0,0 +1,94 @@
+/**
+ * Capacity policy of a conservatory. Defines how many birds a single aviary can house and how many aviaries
+ * the conservatory can have. Also used to size the backing collections of the conservatory up front.
+ */
+public final class CapacityPolicy {
+    /**
+     * Default policy: every aviary houses up to 5 birds and the conservatory can have up to 20 aviaries
+     */
+    public static final CapacityPolicy DEFAULT = new CapacityPolicy(5, 20);
+
+    /**
+     * Upper bound for the number of elements the backing collections are sized for up front.
+     * Prevents huge allocations when the policy is effectively unbounded.
+     */
+    public static final int MAXIMUM_PRESIZE = 1 << 20;
+
+    /**
+     * Upper bound for the number of birds the list of a single aviary is sized for up front.
+     * Aviaries of large capacity are rarely full, so their lists grow on demand instead.
+     */
+    public static final int MAXIMUM_AVIARY_PRESIZE = 16;
+
+    /**
+     * Represents the maximum number of birds a single aviary can house
+     */
+    private final int _aviaryCapacity;
+
+    /**
+     * Represents the maximum number of aviaries a conservatory can have
+     */
+    private final int _maximumAviaries;
+
+    /**
+     * Constructor: Creates capacity policy and validates that both capacities are positive.
+     */
+    public CapacityPolicy(int aviaryCapacity, int maximumAviaries){
+        if(aviaryCapacity <= 0)
+            throw new IllegalArgumentException("Aviary capacity must be positive");
+        if(maximumAviaries <= 0)
+            throw new IllegalArgumentException("Maximum number of aviaries must be positive");
+        _aviaryCapacity = aviaryCapacity;
+        _maximumAviaries = maximumAviaries;
+    }
+
+    /**
+     * Getter: Retrieves the maximum number of birds a single aviary can house.
+     */
+    public int getAviaryCapacity(){
+        return _aviaryCapacity;
+    }
+
+    /**
+     * Getter: Retrieves the maximum number of aviaries a conservatory can have.
+     */
+    public int getMaximumAviaries(){
+        return _maximumAviaries;
+    }
+
+    /**
+     * Retrieves the number of aviaries the backing collections should be sized for.
+     */
+    public int getExpectedAviaries(){
+        return Math.min(_maximumAviaries, MAXIMUM_PRESIZE);
+    }
+
+    /**
+     * Retrieves the number of birds the backing collections should be sized for.
+     */
+    public int getExpectedBirds(){
+        return (int) Math.min((long) _aviaryCapacity * _maximumAviaries, MAXIMUM_PRESIZE);
+    }
+
+    /**
+     * Retrieves the number of birds the backing collection of a single aviary should be sized for.
+     */
+    public int getExpectedBirdsPerAviary(){
+        return getExpectedBirdsPerAviary(_aviaryCapacity);
+    }
+
+    /**
+     * Retrieves the number of birds the backing collection of an aviary with the specified capacity should be sized for.
+     */
+    public static int getExpectedBirdsPerAviary(int aviaryCapacity){
+        return Math.min(aviaryCapacity, MAXIMUM_AVIARY_PRESIZE);
+    }
+
+    /**
+     * Computes the initial capacity of a hash based collection so that the expected number of elements
+     * fits without rehashing under the default load factor.
+     */
+    public static int hashCapacity(int expected){
+        return (int) Math.min((long) expected * 4 / 3 + 1, 1 << 30);
+    }
+}
@@ -0,0 +1,123 @@
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Adapts a WritableByteChannel to Appendable, so that reports can be streamed directly into files or sockets.
+ * Characters are encoded as UTF-8 through reusable character and byte buffers, therefore nothing is allocated
+ * per append. Malformed characters, such as a lone surrogate, are replaced. The channel itself is not closed by
+ * this class.
+ */
+public final class ChannelAppendable implements Appendable, Flushable {
+    /**
+     * Target channel
+     */
+    private final WritableByteChannel _channel;
+
+    /**
+     * Encodes characters into UTF-8 bytes
+     */
+    private final CharsetEncoder _encoder;
+
+    /**
+     * Reusable buffer of characters that wait for encoding
+     */
+    private final CharBuffer _chars;
+
+    /**
+     * Reusable buffer of encoded bytes that wait to be written to the channel
+     */
+    private final ByteBuffer _bytes;
+
+    /**
+     * Constructor: Creates the adapter with buffers of the default report buffer size.
+     */
+    public ChannelAppendable(WritableByteChannel channel){
+        this(channel, ReportWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor: Creates the adapter with buffers of the specified number of characters.
+     * @throws IllegalArgumentException if the buffer cannot hold a surrogate pair, i.e. it is smaller than 2 characters
+     */
+    public ChannelAppendable(WritableByteChannel channel, int bufferSize){
+        if(bufferSize < 2)
+            throw new IllegalArgumentException("Buffer size must be at least 2 characters");
+        _channel = channel;
+        _encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        _chars = CharBuffer.allocate(bufferSize);
+        _bytes = ByteBuffer.allocateDirect((int) Math.ceil(bufferSize * (double) _encoder.maxBytesPerChar()));
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        var position = start;
+        while (position < end){
+            if(!_chars.hasRemaining())
+                drain(false);
+            var count = Math.min(end - position, _chars.remaining());
+            for(int i = 0; i < count; ++i)
+                _chars.put(csq.charAt(position + i));
+            position += count;
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+        if(!_chars.hasRemaining())
+            drain(false);
+        _chars.put(c);
+        return this;
+    }
+
+    /**
+     * Encodes every buffered character and writes the bytes to the channel. An incomplete surrogate pair at the end
+     * of the buffer is replaced. Characters appended afterwards are encoded as a new input.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain(true);
+        while (_encoder.flush(_bytes).isOverflow())
+            write();
+        write();
+        _encoder.reset();
+    }
+
+    /**
+     * Encodes the buffered characters and writes the encoded bytes to the channel. Unless it is the end of the input,
+     * an incomplete surrogate pair at the end of the buffer is kept until the next character arrives.
+     */
+    private void drain(boolean endOfInput) throws IOException {
+        _chars.flip();
+        CoderResult result;
+        do {
+            result = _encoder.encode(_chars, _bytes, endOfInput);
+            write();
+        } while (result.isOverflow());
+        _chars.compact();
+    }
+
+    /**
+     * Writes the encoded bytes to the channel.
+     */
+    private void write() throws IOException {
+        _bytes.flip();
+        while (_bytes.hasRemaining())
+            _channel.write(_bytes);
+        _bytes.clear();
+    }
+}
@@ -0,0 +1,391 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Population store that keeps the birds in parallel primitive columns instead of objects: bird type,
+ * classification, number of wings, extinction state, aviary slot and diet bit mask. Scans such as counting birds
+ * by classification or food preference run over packed arrays. Birds are read through views created on demand.
+ * The store keeps the properties shared by every bird only, features of particular classes such as the vocabulary
+ * of a parrot are not stored.
+ * Rows are kept dense: removing a bird moves the last bird into its row.
+ */
+public final class ColumnarBirdStore {
+    /**
+     * Represents the classification code of birds that do not have a classification
+     */
+    private static final byte NO_CLASSIFICATION = -1;
+
+    /**
+     * Represents the number of rows the store is created with by default
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Stores the unique identifier of the bird of every row
+     */
+    private String[] _ids;
+
+    /**
+     * Stores the bird type ordinal of the bird of every row
+     */
+    private byte[] _types;
+
+    /**
+     * Stores the classification ordinal of the bird of every row, NO_CLASSIFICATION if the bird has none
+     */
+    private byte[] _classifications;
+
+    /**
+     * Stores the number of wings of the bird of every row
+     */
+    private byte[] _wings;
+
+    /**
+     * Stores the extinction state of the bird of every row
+     */
+    private boolean[] _extinct;
+
+    /**
+     * Stores the aviary slot of the bird of every row
+     */
+    private int[] _aviarySlots;
+
+    /**
+     * Stores the diet of the bird of every row as a bit mask of food type ordinals
+     */
+    private short[] _diets;
+
+    /**
+     * Stores the species code of the bird of every row. Used to read the beak and the food preferences of views
+     */
+    private short[] _speciesCodes;
+
+    /**
+     * Stores the traits of every species in the store, indexed by species code
+     */
+    private final ArrayList<SpeciesTraits> _species;
+
+    /**
+     * Maps the traits of every species in the store to its species code
+     */
+    private final IdentityHashMap<SpeciesTraits, Integer> _speciesCodesByTraits;
+
+    /**
+     * Maps the unique identifier of every bird to its row
+     */
+    private final HashMap<String, Integer> _rows;
+
+    /**
+     * Represents the number of birds in the store
+     */
+    private int _size;
+
+    /**
+     * Constructor: Creates an empty store.
+     */
+    public ColumnarBirdStore(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor: Creates an empty store with columns sized for the expected number of birds.
+     */
+    public ColumnarBirdStore(int expectedBirds){
+        if(expectedBirds <= 0)
+            throw new IllegalArgumentException("Expected number of birds must be positive");
+        _ids = new String[expectedBirds];
+        _types = new byte[expectedBirds];
+        _classifications = new byte[expectedBirds];
+        _wings = new byte[expectedBirds];
+        _extinct = new boolean[expectedBirds];
+        _aviarySlots = new int[expectedBirds];
+        _diets = new short[expectedBirds];
+        _speciesCodes = new short[expectedBirds];
+        _species = new ArrayList<>();
+        _speciesCodesByTraits = new IdentityHashMap<>();
+        _rows = new HashMap<>(CapacityPolicy.hashCapacity(expectedBirds));
+    }
+
+    /**
+     * Adds every bird of the aviaries into the store. The aviary slot of every bird is the index of its aviary.
+     */
+    public void addAviaries(List<Aviary> aviaries){
+        for(int slot = 0; slot < aviaries.size(); ++slot){
+            for (var bird : aviaries.get(slot).getCurrentBirds())
+                add(bird, slot);
+        }
+    }
+
+    /**
+     * Adds the bird into the store.
+     * @param aviarySlot slot of the aviary that houses the bird
+     * @return row of the bird
+     * @throws IllegalArgumentException if the bird is already in the store
+     */
+    public int add(Bird bird, int aviarySlot){
+        if(_rows.containsKey(bird.getId()))
+            throw new IllegalArgumentException(String.format("The bird with id: %s already exists in the store", bird.getId()));
+        if(_size == _ids.length)
+            grow();
+
+        var row = _size++;
+        var classification = bird.getBirdClassification();
+        _ids[row] = bird.getId();
+        _types[row] = (byte) bird.getBirdType().ordinal();
+        _classifications[row] = classification != null ? (byte) classification.ordinal() : NO_CLASSIFICATION;
+        _wings[row] = (byte) bird.getNumberOfWings();
+        _extinct[row] = bird.checkIfExtinct();
+        _aviarySlots[row] = aviarySlot;
+        _diets[row] = dietOf(bird.getFoodPreferences());
+        _speciesCodes[row] = speciesCodeOf(bird.getTraits());
+        _rows.put(bird.getId(), row);
+        return row;
+    }
+
+    /**
+     * Removes the bird with the specified unique identifier. The last bird of the store is moved into its row.
+     * @return true if the bird was in the store
+     */
+    public boolean remove(String id){
+        var row = _rows.remove(id);
+        if(row == null)
+            return false;
+
+        var last = --_size;
+        if(row != last){
+            _ids[row] = _ids[last];
+            _types[row] = _types[last];
+            _classifications[row] = _classifications[last];
+            _wings[row] = _wings[last];
+            _extinct[row] = _extinct[last];
+            _aviarySlots[row] = _aviarySlots[last];
+            _diets[row] = _diets[last];
+            _speciesCodes[row] = _speciesCodes[last];
+            _rows.put(_ids[row], row);
+        }
+        _ids[last] = null;
+        return true;
+    }
+
+    /**
+     * Moves the bird with the specified unique identifier into another aviary slot.
+     * @return true if the bird was in the store
+     */
+    public boolean moveBird(String id, int aviarySlot){
+        var row = _rows.get(id);
+        if(row == null)
+            return false;
+        _aviarySlots[row] = aviarySlot;
+        return true;
+    }
+
+    /**
+     * Retrieves the row of the bird with the specified unique identifier.
+     * @return row of the bird, -1 if the bird is not in the store
+     */
+    public int indexOf(String id){
+        var row = _rows.get(id);
+        return row != null ? row : -1;
+    }
+
+    /**
+     * Creates a view of the bird in the specified row. The view reads the columns of the row, therefore it is
+     * only valid until a bird is removed from the store.
+     */
+    public BirdView get(int row){
+        if(row < 0 || row >= _size)
+            throw new IndexOutOfBoundsException(String.format("Row %s is out of bounds for %s birds", row, _size));
+        return new BirdView(row);
+    }
+
+    /**
+     * Getter: Retrieves the number of birds in the store.
+     */
+    public int size(){
+        return _size;
+    }
+
+    /**
+     * Counts birds of every classification.
+     * @return number of birds indexed by classification ordinal
+     */
+    public int[] countByClassification(){
+        var counts = new int[BirdClassification.values().length];
+        var classifications = _classifications;
+        for(int i = 0; i < _size; ++i){
+            if(classifications[i] != NO_CLASSIFICATION)
+                counts[classifications[i]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Counts birds of every bird type.
+     * @return number of birds indexed by bird type ordinal
+     */
+    public int[] countByType(){
+        var counts = new int[BirdType.values().length];
+        var types = _types;
+        for(int i = 0; i < _size; ++i)
+            counts[types[i]]++;
+        return counts;
+    }
+
+    /**
+     * Counts birds housed in every aviary slot.
+     * @param aviaries number of aviary slots
+     * @return number of birds indexed by aviary slot
+     */
+    public int[] countByAviarySlot(int aviaries){
+        var counts = new int[aviaries];
+        var slots = _aviarySlots;
+        for(int i = 0; i < _size; ++i)
+            counts[slots[i]]++;
+        return counts;
+    }
+
+    /**
+     * Counts extinct birds in the store.
+     */
+    public int countExtinct(){
+        var count = 0;
+        var extinct = _extinct;
+        for(int i = 0; i < _size; ++i){
+            if(extinct[i])
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Sums the weekly demand of every food type. Every bird eats one unit of food per week, split evenly among
+     * the food types of its diet.
+     * @return weekly demand indexed by food type ordinal
+     */
+    public double[] sumDietDemand(){
+        var dietCounts = new int[1 << FoodType.values().length];
+        var diets = _diets;
+        for(int i = 0; i < _size; ++i)
+            dietCounts[diets[i] & 0xFFFF]++;
+
+        var demand = new double[FoodType.values().length];
+        for(int diet = 1; diet < dietCounts.length; ++diet){
+            if(dietCounts[diet] == 0)
+                continue;
+            var share = (double) dietCounts[diet] / Integer.bitCount(diet);
+            for(int food = 0; food < demand.length; ++food){
+                if((diet & (1 << food)) != 0)
+                    demand[food] += share;
+            }
+        }
+        return demand;
+    }
+
+    /**
+     * Doubles the size of every column.
+     */
+    private void grow(){
+        var capacity = _ids.length * 2;
+        _ids = Arrays.copyOf(_ids, capacity);
+        _types = Arrays.copyOf(_types, capacity);
+        _classifications = Arrays.copyOf(_classifications, capacity);
+        _wings = Arrays.copyOf(_wings, capacity);
+        _extinct = Arrays.copyOf(_extinct, capacity);
+        _aviarySlots = Arrays.copyOf(_aviarySlots, capacity);
+        _diets = Arrays.copyOf(_diets, capacity);
+        _speciesCodes = Arrays.copyOf(_speciesCodes, capacity);
+    }
+
+    /**
+     * Retrieves the species code of the traits. Adds the species into the store if it is not there yet.
+     */
+    private short speciesCodeOf(SpeciesTraits traits){
+        var code = _speciesCodesByTraits.get(traits);
+        if(code == null){
+            code = _species.size();
+            _species.add(traits);
+            _speciesCodesByTraits.put(traits, code);
+        }
+        return code.shortValue();
+    }
+
+    /**
+     * Computes the diet bit mask of the food preferences.
+     */
+    private static short dietOf(List<FoodType> foodPreferences){
+        var diet = 0;
+        for (var food : foodPreferences)
+            diet |= 1 << food.ordinal();
+        return (short) diet;
+    }
+
+    /**
+     * View of a single row of the store. Reads every property from the columns of the row.
+     */
+    public final class BirdView implements IBird {
+        /**
+         * Row of the bird
+         */
+        private final int _row;
+
+        /**
+         * Constructor: Creates the view of the row
+         */
+        private BirdView(int row){
+            _row = row;
+        }
+
+        /**
+         * Getter: Retrieves the row of the bird.
+         */
+        public int getRow(){
+            return _row;
+        }
+
+        /**
+         * Getter: Retrieves the aviary slot of the bird.
+         */
+        public int getAviarySlot(){
+            return _aviarySlots[_row];
+        }
+
+        @Override
+        public List<FoodType> getFoodPreferences() {
+            return _species.get(_speciesCodes[_row]).getFoodPreferences();
+        }
+
+        @Override
+        public int getNumberOfWings() {
+            return _wings[_row];
+        }
+
+        @Override
+        public BirdType getBirdType() {
+            return BirdType.values()[_types[_row]];
+        }
+
+        @Override
+        public String getId() {
+            return _ids[_row];
+        }
+
+        @Override
+        public boolean checkIfExtinct() {
+            return _extinct[_row];
+        }
+
+        @Override
+        public Beak getBeak() {
+            return _species.get(_speciesCodes[_row]).getBeak();
+        }
+
+        @Override
+        public BirdClassification getBirdClassification() {
+            var classification = _classifications[_row];
+            return classification != NO_CLASSIFICATION ? BirdClassification.values()[classification] : null;
+        }
+    }
+}
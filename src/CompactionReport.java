@@ -0,0 +1,82 @@
+/**
+ * Stores the outcome of compacting the aviaries of a conservatory: number of freed aviaries, number of moved birds,
+ * and the time the planning and the moves took.
+ */
+public final class CompactionReport {
+    /**
+     * Represents the number of aviaries before the compaction
+     */
+    private final int _aviaryCount;
+
+    /**
+     * Represents the number of aviaries removed from the conservatory
+     */
+    private final int _freedAviaryCount;
+
+    /**
+     * Represents the number of birds moved into another aviary
+     */
+    private final long _movedBirdCount;
+
+    /**
+     * Represents the time the planning took, in nanoseconds
+     */
+    private final long _planningNanos;
+
+    /**
+     * Represents the time moving the birds and removing the aviaries took, in nanoseconds
+     */
+    private final long _applyNanos;
+
+    /**
+     * Constructor: Creates CompactionReport object.
+     */
+    public CompactionReport(int aviaryCount, int freedAviaryCount, long movedBirdCount, long planningNanos, long applyNanos){
+        _aviaryCount = aviaryCount;
+        _freedAviaryCount = freedAviaryCount;
+        _movedBirdCount = movedBirdCount;
+        _planningNanos = planningNanos;
+        _applyNanos = applyNanos;
+    }
+
+    /**
+     * Getter: Retrieves the number of aviaries before the compaction
+     */
+    public int getAviaryCount(){
+        return _aviaryCount;
+    }
+
+    /**
+     * Getter: Retrieves the number of aviaries removed from the conservatory
+     */
+    public int getFreedAviaryCount(){
+        return _freedAviaryCount;
+    }
+
+    /**
+     * Getter: Retrieves the number of birds moved into another aviary
+     */
+    public long getMovedBirdCount(){
+        return _movedBirdCount;
+    }
+
+    /**
+     * Getter: Retrieves the time the planning took, in nanoseconds
+     */
+    public long getPlanningNanos(){
+        return _planningNanos;
+    }
+
+    /**
+     * Getter: Retrieves the time moving the birds and removing the aviaries took, in nanoseconds
+     */
+    public long getApplyNanos(){
+        return _applyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s of %s aviaries freed, %s birds moved, planned in %.2f ms, applied in %.2f ms",
+                _freedAviaryCount, _aviaryCount, _movedBirdCount, _planningNanos / 1e6, _applyNanos / 1e6);
+    }
+}
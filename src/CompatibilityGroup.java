@@ -0,0 +1,24 @@
+/**
+ * Groups of bird classifications that are allowed to share an aviary.
+ * Parrots, pigeons, shorebirds and owls can be housed together, while waterfowl, flightless birds and birds of prey
+ * can only be housed with birds of their own classification.
+ */
+public enum CompatibilityGroup {
+    FLYING_MIX,
+    WATERFOWL,
+    FLIGHTLESS,
+    BIRD_OF_PREY;
+
+    /**
+     * Retrieves the compatibility group that the specified bird classification belongs to.
+     * @return compatibility group of the classification
+     */
+    public static CompatibilityGroup of(BirdClassification classification){
+        return switch (classification){
+            case PARROT, PIGEON, SHOREBIRD, OWL -> FLYING_MIX;
+            case WATERFOWL -> WATERFOWL;
+            case FLIGHTLESS -> FLIGHTLESS;
+            case BIRD_OF_PREY -> BIRD_OF_PREY;
+        };
+    }
+}
@@ -0,0 +1,384 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe conservatory. Rescues and removals are guarded by one lock per compatibility group, therefore birds of
+ * different groups (e.g. waterfowl and birds of prey) are rescued in parallel. Lookups and listings never take
+ * a lock: they read the bird directory and immutable snapshots of the aviary contents that are published
+ * after every change.
+ * Aviaries returned by this class must not be modified directly, use the methods of the conservatory instead.
+ */
+public final class ConcurrentConservatory implements IConservatory {
+    /**
+     * Stores every food type, indexed by ordinal
+     */
+    private static final FoodType[] FOOD_TYPES = FoodType.values();
+
+    /**
+     * Lock stripe of a single compatibility group. Guards every aviary currently owned by the group.
+     */
+    private static final class Stripe {
+        /**
+         * Guards the aviaries of the group and the set of open aviaries
+         */
+        private final ReentrantLock _lock = new ReentrantLock();
+
+        /**
+         * Stores non-full aviaries owned by the group in insertion order
+         */
+        private final LinkedHashSet<Aviary> _openAviaries = new LinkedHashSet<>();
+    }
+
+    /**
+     * Capacity policy of the conservatory. Defines the capacity of new aviaries and the maximum number of aviaries
+     */
+    private final CapacityPolicy _capacityPolicy;
+
+    /**
+     * Represents the number of aviaries that can still be created
+     */
+    private final AtomicInteger _remainingAviaries;
+
+    /**
+     * Stores the lock stripe of every compatibility group
+     */
+    private final EnumMap<CompatibilityGroup, Stripe> _stripes;
+
+    /**
+     * Maps every aviary that houses birds to the stripe of the group that currently owns it
+     */
+    private final ConcurrentHashMap<Aviary, Stripe> _owners;
+
+    /**
+     * Stores aviaries that house no birds and can be claimed by any group
+     */
+    private final ConcurrentLinkedQueue<Aviary> _emptyAviaries;
+
+    /**
+     * Stores every aviary of the conservatory in creation order
+     */
+    private final ConcurrentLinkedQueue<Aviary> _aviaries;
+
+    /**
+     * Stores immutable snapshots of the birds of every aviary. Used by listings, so that readers never block writers
+     */
+    private final ConcurrentHashMap<Aviary, List<Bird>> _publishedBirds;
+
+    /**
+     * Maps the unique identifier of every housed bird to its aviary
+     */
+    private final ConcurrentHashMap<String, Aviary> _birdDirectory;
+
+    /**
+     * Stores unique identifiers of birds that are housed or are being rescued. Used for duplicate detection
+     */
+    private final ConcurrentHashMap.KeySetView<String, Boolean> _admittedIds;
+
+    /**
+     * Represents the food storage. Stores information about what type of food is stored in what quantities
+     */
+    private final FoodLedger _foodLedger;
+
+    /**
+     * Selects the food type that is stored in the food storage for every rescued bird
+     */
+    private final IDietSelector _dietSelector;
+
+    /**
+     * Constructor: Creates empty conservatory with the default capacity policy.
+     */
+    public ConcurrentConservatory(){
+        this(CapacityPolicy.DEFAULT);
+    }
+
+    /**
+     * Constructor: Creates empty conservatory that follows the specified capacity policy.
+     */
+    public ConcurrentConservatory(CapacityPolicy capacityPolicy){
+        this(capacityPolicy, DeterministicDietSelector.INSTANCE);
+    }
+
+    /**
+     * Constructor: Creates empty conservatory that follows the specified capacity policy and selects food
+     * with the specified diet selector.
+     */
+    public ConcurrentConservatory(CapacityPolicy capacityPolicy, IDietSelector dietSelector){
+        _capacityPolicy = capacityPolicy;
+        _dietSelector = dietSelector;
+        _remainingAviaries = new AtomicInteger(capacityPolicy.getMaximumAviaries());
+        _stripes = new EnumMap<>(CompatibilityGroup.class);
+        for (var group : CompatibilityGroup.values())
+            _stripes.put(group, new Stripe());
+        _owners = new ConcurrentHashMap<>(CapacityPolicy.hashCapacity(capacityPolicy.getExpectedAviaries()));
+        _emptyAviaries = new ConcurrentLinkedQueue<>();
+        _aviaries = new ConcurrentLinkedQueue<>();
+        _publishedBirds = new ConcurrentHashMap<>(CapacityPolicy.hashCapacity(capacityPolicy.getExpectedAviaries()));
+        _birdDirectory = new ConcurrentHashMap<>(CapacityPolicy.hashCapacity(capacityPolicy.getExpectedBirds()));
+        _admittedIds = ConcurrentHashMap.newKeySet(CapacityPolicy.hashCapacity(capacityPolicy.getExpectedBirds()));
+        _foodLedger = new FoodLedger();
+    }
+
+    /**
+     * Adds bird to any available aviary. Only the lock of the compatibility group of the bird is held.
+     * @throws RescueRejectedException if the bird is either extinct, already added in the aviary, the maximum capacity has been reached
+     *                   or there is a conflicting types of birds such that no new addition of this particular bird type
+     *                   can be housed
+     */
+    public void rescueBird(Bird bird) throws RescueRejectedException {
+        var result = place(bird);
+        if(!result.isPlaced())
+            throw new RescueRejectedException(result.getRejectionReason());
+        _foodLedger.add(_dietSelector.selectFood(bird), 5);
+    }
+
+    /**
+     * Tries to rescue every bird of the batch. Food storage is updated once per food type.
+     * @return result of every bird in the order of the input collection: placed aviary id or rejection reason
+     */
+    public ArrayList<RescueResult> rescueBirds(Collection<Bird> birds){
+        var results = new ArrayList<RescueResult>(birds.size());
+        var foodUnits = new int[FOOD_TYPES.length];
+        for (var bird : birds){
+            var result = bird != null ? place(bird) : new RescueResult(null, null, "Cannot rescue missing bird");
+            if(result.isPlaced())
+                foodUnits[_dietSelector.selectFood(bird).ordinal()] += 5;
+            results.add(result);
+        }
+        _foodLedger.addAll(foodUnits);
+        return results;
+    }
+
+    /**
+     * Removes the bird from the aviary that houses it. Only the lock of the group that owns the aviary is held.
+     * Aviaries that become empty are released, so that any group can claim them.
+     * @return true if the bird was housed in the conservatory and has been removed, false otherwise
+     */
+    public boolean removeBird(Bird bird){
+        while (true){
+            var aviary = _birdDirectory.get(bird.getId());
+            if(aviary == null)
+                return false;
+            var stripe = _owners.get(aviary);
+            if(stripe == null)
+                continue;
+
+            stripe._lock.lock();
+            try {
+                if(_owners.get(aviary) != stripe || _birdDirectory.get(bird.getId()) != aviary)
+                    continue;
+
+                aviary.removeBird(bird);
+                _birdDirectory.remove(bird.getId());
+                _admittedIds.remove(bird.getId());
+                if(aviary.getCurrentBirds().isEmpty()){
+                    stripe._openAviaries.remove(aviary);
+                    _owners.remove(aviary);
+                    _publishedBirds.put(aviary, List.of());
+                    _emptyAviaries.add(aviary);
+                }
+                else {
+                    stripe._openAviaries.add(aviary);
+                    _publishedBirds.put(aviary, List.copyOf(aviary.getCurrentBirds()));
+                }
+                return true;
+            }
+            finally {
+                stripe._lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Sorts the birds in alphabetical order and displays the sorted birds with their respective aviary id.
+     * Reads the published snapshots and does not block rescues.
+     */
+    public void printSortedBirds(){
+        try {
+            printSortedBirds(System.out);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sorts the birds in alphabetical order and writes the sorted birds with their respective aviary id
+     * to the specified target. Reads the published snapshots and does not block rescues.
+     * @throws IOException if the target cannot be written to
+     */
+    public void printSortedBirds(Appendable out) throws IOException {
+        var result = new ArrayList<BirdWithAviaryId>();
+        for (var aviary : _aviaries){
+            for (var bird : _publishedBirds.getOrDefault(aviary, List.of()))
+                result.add(new BirdWithAviaryId(bird, aviary.getId()));
+        }
+        result.sort(Comparator.comparingInt(o -> SortedBirdIndex.rankOf(o.getBird().getBirdType())));
+        var writer = new ReportWriter(out);
+        for (var bird : result)
+            writer.writeSortedBird(bird.getBird(), bird.getAviaryId());
+        writer.flush();
+    }
+
+    /**
+     * Prints all aviaries with their respective collection of birds and their specifications.
+     * Reads the published snapshots and does not block rescues.
+     */
+    public void listAllAviaries(){
+        try {
+            listAllAviaries(System.out);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes all aviaries with their respective collection of birds and their specifications to the specified target.
+     * Reads the published snapshots and does not block rescues.
+     * @throws IOException if the target cannot be written to
+     */
+    public void listAllAviaries(Appendable out) throws IOException {
+        var writer = new ReportWriter(out);
+        for (var aviary : _aviaries)
+            writer.writeAviary(aviary.getId(), _publishedBirds.getOrDefault(aviary, List.of()));
+        writer.flush();
+    }
+
+    /**
+     * Prints the food storage contents for each type of food stored, respective amount the number of weeks this
+     * food will feed a single bird.
+     */
+    public void listFoodStorageContents(){
+        try {
+            listFoodStorageContents(System.out);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the food storage contents for each type of food stored, respective amount the number of weeks this
+     * food will feed a single bird to the specified target.
+     * @throws IOException if the target cannot be written to
+     */
+    public void listFoodStorageContents(Appendable out) throws IOException {
+        var writer = new ReportWriter(out);
+        var snapshot = _foodLedger.snapshot();
+        for (var food : FOOD_TYPES){
+            if(snapshot.get(food) != 0)
+                writer.writeFood(food, snapshot.get(food));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Provides lookup for a specific bird in the conservatory without taking any lock.
+     * @return unique identifier of the aviary where the bird is housed, null if not found in any aviary
+     */
+    public String searchAviaryByBird(Bird bird){
+        var aviary = _birdDirectory.get(bird.getId());
+        return aviary != null ? aviary.getId() : null;
+    }
+
+    /**
+     * Getter: Retrieves an immutable snapshot of the food storage of the conservatory. Quantities above
+     * Integer.MAX_VALUE are reported as Integer.MAX_VALUE; the food ledger holds the exact quantities.
+     * @return unmodifiable map of food type with their respective quantity.
+     */
+    public Map<FoodType, Integer> getFoodStorage(){
+        return _foodLedger.snapshot().asMap();
+    }
+
+    /**
+     * Getter: Retrieves the food ledger of the conservatory
+     */
+    public FoodLedger getFoodLedger(){
+        return _foodLedger;
+    }
+
+    /**
+     * Getter: Retrieves a copy of the list of aviaries of the conservatory. The aviaries must not be modified directly.
+     */
+    public ArrayList<Aviary> getAviaries(){
+        return new ArrayList<>(_aviaries);
+    }
+
+    /**
+     * Getter: Retrieves the published snapshot of the birds housed in the aviary.
+     * @return immutable list of birds, empty if the aviary does not belong to the conservatory
+     */
+    public List<Bird> getCurrentBirds(Aviary aviary){
+        return _publishedBirds.getOrDefault(aviary, List.of());
+    }
+
+    /**
+     * Checks whether the conservatory has reached the maximum number of aviaries
+     * @return true if no new aviary can be created, false otherwise
+     */
+    public boolean isFull(){
+        return _remainingAviaries.get() <= 0;
+    }
+
+    /**
+     * Places the bird into an aviary of its compatibility group while holding the lock of the group.
+     * Claims an empty aviary or creates a new one if the group has no open aviary.
+     * @return result of the placement: aviary id or rejection reason
+     */
+    private RescueResult place(Bird bird){
+        if(bird.checkIfExtinct())
+            return new RescueResult(bird, null, "Cannot rescue extinct bird");
+
+        if(!_admittedIds.add(bird.getId()))
+            return new RescueResult(bird, null,
+                    String.format("The bird with id: %s already exists in the conservatoire", bird.getId()));
+
+        var stripe = _stripes.get(CompatibilityGroup.of(bird.getBirdClassification()));
+        stripe._lock.lock();
+        try {
+            var aviary = stripe._openAviaries.isEmpty() ? claimAviary(stripe) : stripe._openAviaries.iterator().next();
+            if(aviary == null || !aviary.tryAddBird(bird)){
+                _admittedIds.remove(bird.getId());
+                return new RescueResult(bird, null, "The following bird cannot be added into any aviary");
+            }
+
+            if(aviary.isFull())
+                stripe._openAviaries.remove(aviary);
+            _publishedBirds.put(aviary, List.copyOf(aviary.getCurrentBirds()));
+            _birdDirectory.put(bird.getId(), aviary);
+            return new RescueResult(bird, aviary.getId(), null);
+        }
+        finally {
+            stripe._lock.unlock();
+        }
+    }
+
+    /**
+     * Claims an empty aviary for the group, creating a new one if there is no empty aviary and the capacity allows.
+     * Must be called while holding the lock of the stripe.
+     * @return claimed aviary, null if the conservatory is full
+     */
+    private Aviary claimAviary(Stripe stripe){
+        var aviary = _emptyAviaries.poll();
+        if(aviary == null){
+            if(_remainingAviaries.getAndUpdate(remaining -> remaining > 0 ? remaining - 1 : remaining) <= 0)
+                return null;
+            aviary = new Aviary(_capacityPolicy.getAviaryCapacity());
+            _aviaries.add(aviary);
+        }
+        _owners.put(aviary, stripe);
+        stripe._openAviaries.add(aviary);
+        return aviary;
+    }
+}
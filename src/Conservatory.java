@@ -1,6 +1,15 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the conservatory. Has the functionality to rescue a bird, print alphabetically sorted birds in every aviary
@@ -8,28 +17,89 @@ import java.util.Random;
  * Display food storage with respective quantities required to feed the birds.
  */
 public final class Conservatory implements IConservatory {
+    /**
+     * Stores every food type, indexed by ordinal
+     */
+    private static final FoodType[] FOOD_TYPES = FoodType.values();
+
     /**
      * Represents the current maximum number of aviaries a conservatory can have
      */
     private int _maximumCapacity;
 
     /**
-     * Represents the food storage as a map. Stores information about what type of food is stored in what quantities
+     * Represents the food storage. Stores information about what type of food is stored in what quantities
      */
-    private HashMap<FoodType, Integer> _foodStorage;
+    private final FoodLedger _foodLedger;
 
     /**
      * Stores the list of aviaries that the conservatory has
      */
     private ArrayList<Aviary> _aviaries;
 
+    /**
+     * Groups the aviaries that still have free space by compatibility group. Used to find an aviary for a rescued bird.
+     */
+    private final AviaryPlacementIndex _placementIndex;
+
+    /**
+     * Maps the unique identifier of every housed bird to its aviary. Used for lookups and duplicate detection.
+     */
+    private final BirdDirectory _birdDirectory;
+
+    /**
+     * Keeps every housed bird sorted by bird type and aviary. Used to print the sorted birds without re-sorting
+     */
+    private final SortedBirdIndex _sortedBirds;
+
+    /**
+     * Keeps the number of birds per diet up to date. Used to forecast food consumption
+     */
+    private final FoodForecaster _foodForecaster;
+
+    /**
+     * Inverted index of the words known by the housed parrots
+     */
+    private final WordIndex _wordIndex;
+
+    /**
+     * Bitmap index of the attributes of the housed birds
+     */
+    private final BirdAttributeIndex _attributeIndex;
+
+    /**
+     * Occupancy totals of the aviaries, maintained incrementally
+     */
+    private final OccupancyStatistics _occupancy;
+
+    /**
+     * Capacity policy of the conservatory. Defines the capacity of new aviaries and the maximum number of aviaries
+     */
+    private final CapacityPolicy _capacityPolicy;
+
+    /**
+     * Selects the food type that is stored in the food storage for every rescued bird
+     */
+    private final IDietSelector _dietSelector;
+
+    /**
+     * Stores listeners that are subscribed to the changes of every aviary, including aviaries created afterwards
+     */
+    private final ArrayList<IAviaryListener> _aviaryListeners;
+
     /**
      * Constructor: Creates empty conservatory. Sets maximum capacity to 20 and initializes food storage an aviaries.
      */
     public Conservatory(){
-        _maximumCapacity = 20;
-        _aviaries = new ArrayList<>();
-        _foodStorage = new HashMap<>();
+        this(CapacityPolicy.DEFAULT);
+    }
+
+    /**
+     * Constructor: Creates empty conservatory that follows the specified capacity policy.
+     * Backing collections are sized up front according to the policy.
+     */
+    public Conservatory(CapacityPolicy capacityPolicy){
+        this(null, capacityPolicy);
     }
 
     /**
@@ -37,90 +107,267 @@ public final class Conservatory implements IConservatory {
      * Initializes aviaries, food storage and maximum capacity based on the input parameter.
      */
     public Conservatory(ArrayList<Aviary> aviaries){
-        if(aviaries != null && aviaries.size() > 20)
+        this(aviaries, CapacityPolicy.DEFAULT);
+    }
+
+    /**
+     * Creates conservatory based on provided aviaries that follows the specified capacity policy.
+     * Validates the input aviaries for size, conflicting types of birds
+     * Initializes aviaries, food storage and maximum capacity based on the input parameter.
+     */
+    public Conservatory(ArrayList<Aviary> aviaries, CapacityPolicy capacityPolicy){
+        this(aviaries, capacityPolicy, DeterministicDietSelector.INSTANCE);
+    }
+
+    /**
+     * Creates conservatory based on provided aviaries that follows the specified capacity policy and selects food
+     * with the specified diet selector.
+     * Validates the input aviaries for size, conflicting types of birds
+     * Initializes aviaries, food storage and maximum capacity based on the input parameter.
+     */
+    public Conservatory(ArrayList<Aviary> aviaries, CapacityPolicy capacityPolicy, IDietSelector dietSelector){
+        this(aviaries, capacityPolicy, dietSelector, null);
+    }
+
+    /**
+     * Creates conservatory based on provided aviaries and food storage contents. Used to restore persisted
+     * conservatories: food is taken from the stored contents instead of being added for every housed bird.
+     * @param food stored food storage contents, null to add food for every housed bird
+     */
+    Conservatory(ArrayList<Aviary> aviaries, CapacityPolicy capacityPolicy, IDietSelector dietSelector,
+                 FoodLedgerSnapshot food){
+        if(aviaries != null && aviaries.size() > capacityPolicy.getMaximumAviaries())
             throw new IllegalArgumentException("Maximum capacity for aviaries exceeded");
-        _foodStorage = new HashMap<>();
-        _aviaries = aviaries;
-        _maximumCapacity = 20;
+        _capacityPolicy = capacityPolicy;
+        _dietSelector = dietSelector;
+        _foodLedger = new FoodLedger();
+        if(aviaries != null){
+            aviaries.ensureCapacity(capacityPolicy.getExpectedAviaries());
+            _aviaries = aviaries;
+        }
+        else {
+            _aviaries = new ArrayList<>(capacityPolicy.getExpectedAviaries());
+        }
+        _maximumCapacity = capacityPolicy.getMaximumAviaries();
+        _placementIndex = new AviaryPlacementIndex();
+        _birdDirectory = new BirdDirectory(capacityPolicy.getExpectedBirds());
+        _sortedBirds = new SortedBirdIndex();
+        _foodForecaster = new FoodForecaster();
+        _wordIndex = new WordIndex();
+        _attributeIndex = new BirdAttributeIndex(capacityPolicy.getExpectedBirds());
+        _occupancy = new OccupancyStatistics();
+        _aviaryListeners = new ArrayList<>();
         if(aviaries != null){
             _maximumCapacity -= aviaries.size();
+            _occupancy.beginBatch();
             for (var aviary: aviaries){
                 aviary.validateAviary();
-                for (var bird : aviary.getCurrentBirds()){
-                    var food = randomSelectFoodType(bird);
-                    _foodStorage.put(food, _foodStorage.getOrDefault(food, 0) + 5);
+                _placementIndex.register(aviary);
+                _birdDirectory.register(aviary);
+                _sortedBirds.register(aviary);
+                _foodForecaster.register(aviary);
+                _wordIndex.register(aviary);
+                _attributeIndex.register(aviary);
+                _occupancy.register(aviary);
+                if(food == null){
+                    for (var bird : aviary.getCurrentBirds())
+                        _foodLedger.add(_dietSelector.selectFood(bird), 5);
                 }
             }
+            _occupancy.endBatch();
+        }
+        if(food != null){
+            for (var foodType : FOOD_TYPES)
+                _foodLedger.add(foodType, food.get(foodType));
         }
     }
 
     /**
      * Adds bird to any available aviary. Validates the bird input, checks if the bird can be rescued and adds
      * the bird into any existing or new aviary if such thing is possible.
-     * @throws Exception if the bird is either extinct, already added in the aviary, the maximum capacity has been reached
+     * @throws RescueRejectedException if the bird is either extinct, already added in the aviary, the maximum capacity has been reached
      *                   or there is a conflicting types of birds such that no new addition of this particular bird type
      *                   can be housed
      */
-    public void rescueBird(Bird bird) throws Exception {
-        if(bird.checkIfExtinct())
-            throw new Exception("Cannot rescue extinct bird");
+    public void rescueBird(Bird bird) throws RescueRejectedException {
+        _occupancy.beginBatch();
+        try {
+            if(bird.checkIfExtinct())
+                throw new RescueRejectedException("Cannot rescue extinct bird");
+
+            var foodType = _dietSelector.selectFood(bird);
+            if(existsInAviary(bird)){
+               throw new RescueRejectedException(String.format("The bird with id: %s already exists in the conservatoire", bird.getId()));
+            }
 
-        var foodType = randomSelectFoodType(bird);
-        if (_aviaries.size() == 0){
-            var newAviary = new Aviary();
-            newAviary.tryAddBird(bird);
-            _aviaries.add(newAviary);
-            _maximumCapacity--;
-            _foodStorage.put(foodType, 5);
-            return;
+            var aviary = _placementIndex.findAviary(bird.getBirdClassification());
+            if(aviary != null && aviary.tryAddBird(bird)){
+                _foodLedger.add(foodType, 5);
+                return;
+            }
+            if(!isFull()){
+                var newAviary = createAviary();
+                newAviary.tryAddBird(bird);
+                _foodLedger.add(foodType, 5);
+                return;
+            }
+            throw new RescueRejectedException("The following bird cannot be added into any aviary");
         }
-        if(existsInAviary(bird)){
-           throw new Exception(String.format("The bird with id: %s already exists in the conservatoire", bird.getId()));
+        finally {
+            _occupancy.endBatch();
         }
+    }
 
-        for (var aviary : _aviaries){
-            if(aviary.tryAddBird(bird)){
-                _foodStorage.put(foodType, _foodStorage.getOrDefault(foodType, 0) + 5);
-                _maximumCapacity--;
-                return;
+    /**
+     * Rescues the batch of birds in a single pass. Validates every bird, rejects extinct birds and duplicates
+     * (both within the batch and in the conservatory), groups the remaining birds by classification and places
+     * every group, creating new aviaries while the capacity allows. Food storage is updated once per food type.
+     * @return result of every bird in the order of the input collection: placed aviary id or rejection reason
+     */
+    public ArrayList<RescueResult> rescueBirds(Collection<Bird> birds){
+        _occupancy.beginBatch();
+        try {
+            var results = new RescueResult[birds.size()];
+            var batch = new Bird[birds.size()];
+            var groups = new EnumMap<BirdClassification, ArrayList<Integer>>(BirdClassification.class);
+            var batchIds = new HashSet<String>(CapacityPolicy.hashCapacity(birds.size()));
+
+            var idx = 0;
+            for (var bird : birds){
+                batch[idx] = bird;
+                if(bird == null)
+                    results[idx] = new RescueResult(null, null, "Cannot rescue missing bird");
+                else if(bird.checkIfExtinct())
+                    results[idx] = new RescueResult(bird, null, "Cannot rescue extinct bird");
+                else if(existsInAviary(bird) || !batchIds.add(bird.getId()))
+                    results[idx] = new RescueResult(bird, null,
+                            String.format("The bird with id: %s already exists in the conservatoire", bird.getId()));
+                else
+                    groups.computeIfAbsent(bird.getBirdClassification(), k -> new ArrayList<>()).add(idx);
+                idx++;
+            }
+
+            var foodUnits = new int[FOOD_TYPES.length];
+            for (var group : groups.values()){
+                for (var i : group){
+                    var bird = batch[i];
+                    var aviary = _placementIndex.findAviary(bird.getBirdClassification());
+                    if(aviary == null && !isFull())
+                        aviary = createAviary();
+
+                    if(aviary != null && aviary.tryAddBird(bird)){
+                        foodUnits[_dietSelector.selectFood(bird).ordinal()] += 5;
+                        results[i] = new RescueResult(bird, aviary.getId(), null);
+                    }
+                    else {
+                        results[i] = new RescueResult(bird, null, "The following bird cannot be added into any aviary");
+                    }
+                }
             }
+
+            _foodLedger.addAll(foodUnits);
+            return new ArrayList<>(Arrays.asList(results));
         }
-        if(!isFull()){
-            var newAviary = new Aviary();
-            newAviary.tryAddBird(bird);
-            _aviaries.add(newAviary);
-            _maximumCapacity--;
-            _foodStorage.put(foodType, _foodStorage.getOrDefault(foodType, 0) + 5);
-            return;
+        finally {
+            _occupancy.endBatch();
         }
-        throw new Exception("The following bird cannot be added into any aviary");
     }
 
     /**
-     * Sorts the birds in alphabetical order and displays the sorted birds with their respective aviary id.
+     * Displays the birds in alphabetical order with their respective aviary id.
+     * Streams the birds from the sorted index, therefore nothing is re-sorted.
      */
     public void printSortedBirds(){
-        var result = AviaryHelper.getSortedBirds(this);
-        for(var bird : result){
-            System.out.printf("%s, aviary id: %s%n", bird.getBird().getBirdType(), bird.getAviaryId());
+        try {
+            printSortedBirds(System.out);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
         }
+    }
+
+    /**
+     * Writes the birds in alphabetical order with their respective aviary id to the specified target.
+     * Streams the birds from the sorted index through a reusable buffer.
+     * @throws IOException if the target cannot be written to
+     */
+    public void printSortedBirds(Appendable out) throws IOException {
+        var writer = new ReportWriter(out);
+        for (var birds : _sortedBirds.byAviary())
+            for (var bird : birds.getValue())
+                writer.writeSortedBird(bird, birds.getKey().getId());
+        writer.flush();
+    }
 
+    /**
+     * Retrieves every housed bird with its aviary id in alphabetical order of bird types.
+     * @return sorted list of BirdWithAviaryId objects
+     */
+    public ArrayList<BirdWithAviaryId> getSortedBirds(){
+        return _sortedBirds.toList();
     }
 
     /**
-     * Getter: Retrieves the food storage of the conservatory
-     * @return HashMap of food type with their respective quantity.
+     * Getter: Retrieves an immutable snapshot of the food storage of the conservatory. Quantities above
+     * Integer.MAX_VALUE are reported as Integer.MAX_VALUE; the food ledger holds the exact quantities.
+     * @return unmodifiable map of food type with their respective quantity.
      */
-    public HashMap<FoodType, Integer> getFoodStorage(){
-        return _foodStorage;
+    public Map<FoodType, Integer> getFoodStorage(){
+        return _foodLedger.snapshot().asMap();
+    }
+
+    /**
+     * Getter: Retrieves the food ledger of the conservatory
+     */
+    public FoodLedger getFoodLedger(){
+        return _foodLedger;
+    }
+
+    /**
+     * Forecasts week by week how long the food storage feeds the birds currently housed in the conservatory.
+     * @param start first day of the forecast
+     * @param horizonWeeks number of weeks to simulate
+     * @param leadTimeWeeks number of weeks an order takes to arrive
+     * @return depletion dates, reorder points and reorder dates of every food type
+     */
+    public FoodForecast forecastFood(LocalDate start, int horizonWeeks, int leadTimeWeeks){
+        return _foodForecaster.forecast(_foodLedger.snapshot(), start, horizonWeeks, leadTimeWeeks);
+    }
+
+    /**
+     * Feeds the birds currently housed in the conservatory for one week and removes the eaten food from the storage.
+     * Every bird that has food of its diet in stock eats one whole unit, as modelled by the food forecast.
+     */
+    public void feedBirdsForWeek(){
+        var stock = new long[FOOD_TYPES.length];
+        for (var food : FOOD_TYPES)
+            stock[food.ordinal()] = _foodLedger.get(food);
+        var rations = _foodForecaster.computeWeeklyRations(stock);
+        for (var food : FOOD_TYPES)
+            _foodLedger.consume(food, rations[food.ordinal()]);
     }
 
     /**
      * Prints all aviaries with their respective collection of birds and their specifications.
      */
     public void listAllAviaries(){
+        try {
+            listAllAviaries(System.out);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes all aviaries with their respective collection of birds and their specifications to the specified target.
+     * @throws IOException if the target cannot be written to
+     */
+    public void listAllAviaries(Appendable out) throws IOException {
+        var writer = new ReportWriter(out);
         for (var aviary : _aviaries)
-            System.out.println(aviary.toString());
+            writer.writeAviary(aviary.getId(), aviary.getCurrentBirds());
+        writer.flush();
     }
 
     /**
@@ -128,11 +375,27 @@ public final class Conservatory implements IConservatory {
      * food will feed a single bird.
      */
     public void listFoodStorageContents(){
-        for (var key : _foodStorage.keySet()){
-            var count = _foodStorage.get(key);
-            System.out.printf("%s:%s units(feeds one bird for %s weeks)", key.toString().toLowerCase(), count, count);
-            System.out.println();
+        try {
+            listFoodStorageContents(System.out);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the food storage contents for each type of food stored, respective amount the number of weeks this
+     * food will feed a single bird to the specified target.
+     * @throws IOException if the target cannot be written to
+     */
+    public void listFoodStorageContents(Appendable out) throws IOException {
+        var writer = new ReportWriter(out);
+        var snapshot = _foodLedger.snapshot();
+        for (var food : FOOD_TYPES){
+            if(snapshot.get(food) != 0)
+                writer.writeFood(food, snapshot.get(food));
         }
+        writer.flush();
     }
 
     /**
@@ -140,11 +403,83 @@ public final class Conservatory implements IConservatory {
      * @return unique identifier of the aviary where the bird is housed, null if not found in any aviary
      */
     public String searchAviaryByBird(Bird bird){
-        for(var aviary: _aviaries){
-            if(aviary.exists(bird))
-                return aviary.getId();
+        var aviary = _birdDirectory.getAviary(bird.getId());
+        return aviary != null ? aviary.getId() : null;
+    }
+
+    /**
+     * Searches the conservatory for the parrots that know the word. Answered from the word index.
+     * @return parrots in the order they learned the word, empty if no housed parrot knows it
+     */
+    public List<Parrot> findParrotsByWord(String word){
+        return _wordIndex.findByWord(word);
+    }
+
+    /**
+     * Searches the conservatory for the parrots that know at least one word that starts with the prefix.
+     * Answered from the word index.
+     * @return parrots ordered by the first matching word they know, every parrot once
+     */
+    public List<Parrot> findParrotsByPrefix(String prefix){
+        return _wordIndex.findByPrefix(prefix);
+    }
+
+    /**
+     * Searches the conservatory for the birds that match the query. Answered from the attribute index.
+     * @return matching birds
+     */
+    public List<Bird> findBirds(BirdQuery query){
+        return _attributeIndex.find(query);
+    }
+
+    /**
+     * Counts the birds of the conservatory that match the query. Answered from the attribute index.
+     */
+    public int countBirds(BirdQuery query){
+        return _attributeIndex.count(query);
+    }
+
+    /**
+     * Getter: Retrieves the current occupancy totals of the conservatory. The returned snapshot is immutable
+     * and can be retrieved on any thread without locking. Totals of a batch of rescues or of a compaction are
+     * published once the batch completes.
+     */
+    public OccupancySnapshot getOccupancy(){
+        return _occupancy.getSnapshot();
+    }
+
+    /**
+     * Moves the birds into the fewest aviaries that can house them and removes the emptied aviaries, so that
+     * they can be created again for new rescues. See AviaryCompactor.
+     * @return report of the compaction
+     */
+    public CompactionReport compactAviaries(){
+        _occupancy.beginBatch();
+        try {
+            return new AviaryCompactor().compact(this);
+        }
+        finally {
+            _occupancy.endBatch();
         }
-        return null;
+    }
+
+    /**
+     * Subscribes the listener to the changes of every aviary of the conservatory, including aviaries created afterwards.
+     * Birds that are already housed are not reported to the listener.
+     */
+    public void addAviaryListener(IAviaryListener listener){
+        _aviaryListeners.add(listener);
+        for (var aviary : _aviaries)
+            aviary.addListener(listener);
+    }
+
+    /**
+     * Unsubscribes the listener from the changes of every aviary of the conservatory.
+     */
+    public void removeAviaryListener(IAviaryListener listener){
+        _aviaryListeners.remove(listener);
+        for (var aviary : _aviaries)
+            aviary.removeListener(listener);
     }
 
     /**
@@ -155,6 +490,17 @@ public final class Conservatory implements IConservatory {
     }
 
 
+    /**
+     * Getter: Retrieves the capacity policy of the conservatory
+     */
+    public CapacityPolicy getCapacityPolicy(){
+        return _capacityPolicy;
+    }
+
+    /**
+     * Checks whether the conservatory has reached the maximum number of aviaries
+     * @return true if no new aviary can be created, false otherwise
+     */
     public boolean isFull(){
         return _maximumCapacity <= 0;
     }
@@ -164,23 +510,73 @@ public final class Conservatory implements IConservatory {
      * @return true if bird is found, false otherwise.
      */
     private boolean existsInAviary(Bird bird){
-        for (var aviary:_aviaries) {
-            if(aviary.exists(bird))
-                return true;
-        }
-        return false;
+        return _birdDirectory.contains(bird.getId());
+    }
+
+    /**
+     * Creates new empty aviary with the capacity defined by the capacity policy, adds it to the list of aviaries,
+     * registers it in the placement index and decreases the number of aviaries that can still be created.
+     * @return the created aviary
+     */
+    private Aviary createAviary(){
+        return addAviary(new Aviary(_capacityPolicy.getAviaryCapacity()));
+    }
+
+    /**
+     * Creates a new empty aviary with the specified unique identifier and capacity. Used to replay persisted changes.
+     * @return the created aviary
+     * @throws IllegalStateException if the conservatory is full
+     */
+    Aviary restoreAviary(String id, int capacity){
+        if(isFull())
+            throw new IllegalStateException("Maximum capacity for aviaries exceeded");
+        return addAviary(new Aviary(null, capacity, id));
     }
 
     /**
-     * Provides functionality for pseudo random. Used to generate food type that is stored in the food storage
-     * Uses seed value to compute the same value for the same input.
-     * @return random FoodType selected from the food preferences of a particular bird
+     * Removes the empty aviaries from the conservatory, notifies their listeners and increases the number of aviaries
+     * that can still be created. Either every aviary is removed or none.
+     * @throws IllegalArgumentException if an aviary does not belong to the conservatory
+     * @throws IllegalStateException if an aviary still houses birds
      */
-    private FoodType randomSelectFoodType(Bird bird){
-        var foodPreferences = bird.getFoodPreferences();
-        Random rand = new Random(2);
+    void removeAviaries(Collection<Aviary> aviaries){
+        var removed = Collections.<Aviary>newSetFromMap(new IdentityHashMap<>());
+        for (var aviary : aviaries){
+            if(!aviary.getCurrentBirds().isEmpty())
+                throw new IllegalStateException(String.format("Aviary %s still houses birds", aviary.getId()));
+            removed.add(aviary);
+        }
+        var belonging = 0;
+        for (var aviary : _aviaries){
+            if(removed.contains(aviary))
+                belonging++;
+        }
+        if(belonging != removed.size())
+            throw new IllegalArgumentException("Aviary does not belong to the conservatory");
+
+        _aviaries.removeIf(removed::contains);
+        _maximumCapacity += removed.size();
+        for (var aviary : aviaries)
+            aviary.retire();
+    }
 
-        return foodPreferences.get(rand.nextInt(foodPreferences.size()));
+    /**
+     * Adds the aviary into the conservatory, registers it in the indexes and subscribes the aviary listeners to it.
+     * @return the added aviary
+     */
+    private Aviary addAviary(Aviary aviary){
+        _aviaries.add(aviary);
+        _maximumCapacity--;
+        _placementIndex.register(aviary);
+        _birdDirectory.register(aviary);
+        _sortedBirds.register(aviary);
+        _foodForecaster.register(aviary);
+        _wordIndex.register(aviary);
+        _attributeIndex.register(aviary);
+        _occupancy.register(aviary);
+        for (var listener : _aviaryListeners)
+            aviary.addListener(listener);
+        return aviary;
     }
 }
 
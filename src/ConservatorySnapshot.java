@@ -0,0 +1,292 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * Binary snapshot of a conservatory: capacity policy, food storage contents, aviaries and every housed bird
+ * including the favorite word and vocabulary of parrots. Characteristics shared by the species of a bird, such as
+ * the living habitats of water birds, are restored from the species catalog and are not stored.
+ * Snapshots are written sequentially through a file channel and read by memory-mapping the file. The header holds
+ * the offset of every aviary, so a single aviary is read without reading the aviaries before it.
+ *
+ * Layout, big-endian:
+ * header: magic, version, log sequence, aviary capacity, maximum aviaries, number of food types,
+ *         quantity of every food type, number of aviaries, number of birds, offset of every aviary
+ * aviary: id, capacity, number of birds, birds
+ * Birds and strings are encoded by BirdCodec.
+ */
+public final class ConservatorySnapshot {
+    /**
+     * Represents the first bytes of every snapshot: "BRDS"
+     */
+    private static final int MAGIC = 0x42524453;
+
+    /**
+     * Represents the version of the snapshot layout
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Represents the size of the buffer the snapshot is written through
+     */
+    private static final int BUFFER_SIZE = 1 << 17;
+
+    /**
+     * Mapped contents of the snapshot file
+     */
+    private final MappedByteBuffer _buffer;
+
+    /**
+     * Represents the sequence number of the last event log record the snapshot covers
+     */
+    private final long _logSequence;
+
+    /**
+     * Capacity policy of the persisted conservatory
+     */
+    private final CapacityPolicy _capacityPolicy;
+
+    /**
+     * Food storage contents of the persisted conservatory
+     */
+    private final FoodLedgerSnapshot _food;
+
+    /**
+     * Represents the number of persisted aviaries
+     */
+    private final int _aviaryCount;
+
+    /**
+     * Represents the number of persisted birds
+     */
+    private final long _birdCount;
+
+    /**
+     * Represents the position of the aviary offsets in the file
+     */
+    private final int _offsetsPosition;
+
+    /**
+     * Constructor: Reads the header of the mapped snapshot.
+     * @throws IOException if the file is not a snapshot or has an unsupported version
+     */
+    private ConservatorySnapshot(MappedByteBuffer buffer) throws IOException {
+        _buffer = buffer;
+        try {
+            if(buffer.getInt(0) != MAGIC)
+                throw new IOException("File is not a conservatory snapshot");
+            var version = buffer.getInt(4);
+            if(version != VERSION)
+                throw new IOException(String.format("Unsupported snapshot version %s", version));
+            _logSequence = buffer.getLong(8);
+            var position = 16;
+            _capacityPolicy = new CapacityPolicy(buffer.getInt(position), buffer.getInt(position + 4));
+            position += 8;
+            var foodTypes = buffer.getInt(position);
+            position += 4;
+            var units = new long[FoodType.values().length];
+            for(int i = 0; i < foodTypes; ++i, position += 8){
+                if(i < units.length)
+                    units[i] = buffer.getLong(position);
+            }
+            _food = new FoodLedgerSnapshot(units);
+            _aviaryCount = buffer.getInt(position);
+            _birdCount = buffer.getLong(position + 4);
+            _offsetsPosition = position + 12;
+        }
+        catch (IndexOutOfBoundsException e){
+            throw new IOException("Snapshot header is truncated", e);
+        }
+    }
+
+    /**
+     * Writes the snapshot of the conservatory into the file. Replaces the file if it exists.
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Conservatory conservatory, Path file) throws IOException {
+        write(conservatory, file, 0);
+    }
+
+    /**
+     * Writes the snapshot of the conservatory that covers the event log records up to the specified sequence number
+     * into the file. Replaces the file if it exists.
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Conservatory conservatory, Path file, long logSequence) throws IOException {
+        var aviaries = conservatory.getAviaries();
+        var policy = conservatory.getCapacityPolicy();
+        var food = conservatory.getFoodLedger().snapshot();
+        var birdCount = 0L;
+        for (var aviary : aviaries)
+            birdCount += aviary.getCurrentBirds().size();
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)){
+            var buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(logSequence)
+                    .putInt(policy.getAviaryCapacity()).putInt(policy.getMaximumAviaries())
+                    .putInt(FoodType.values().length);
+            for (var foodType : FoodType.values())
+                buffer.putLong(food.get(foodType));
+            buffer.putInt(aviaries.size()).putLong(birdCount);
+
+            // Offsets are written once every aviary is written and its position is known
+            var offsetsPosition = buffer.position();
+            var position = (long) offsetsPosition + (long) aviaries.size() * Long.BYTES;
+            buffer.flip();
+            channel.write(buffer, 0);
+            buffer.clear();
+
+            var offsets = new long[aviaries.size()];
+            for(int i = 0; i < aviaries.size(); ++i){
+                var aviary = aviaries.get(i);
+                offsets[i] = position + buffer.position();
+                position = ensureRemaining(channel, buffer, position, BirdCodec.sizeOf(aviary.getId()) + 2 * Integer.BYTES);
+                BirdCodec.putString(buffer, aviary.getId());
+                buffer.putInt(aviary.getCapacity()).putInt(aviary.getCurrentBirds().size());
+                for (var bird : aviary.getCurrentBirds())
+                    position = writeBird(channel, buffer, position, bird);
+            }
+            flush(channel, buffer, position);
+
+            position = offsetsPosition;
+            for (var offset : offsets){
+                buffer.putLong(offset);
+                if(!buffer.hasRemaining())
+                    position = flush(channel, buffer, position);
+            }
+            flush(channel, buffer, position);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Memory-maps the snapshot file and reads its header. Aviaries are read when they are accessed.
+     * @throws IOException if the file cannot be read, is not a snapshot or is too large to be mapped
+     */
+    public static ConservatorySnapshot open(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)){
+            if(channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Snapshot is too large to be mapped");
+            return new ConservatorySnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Getter: Retrieves the sequence number of the last event log record the snapshot covers, 0 if none.
+     */
+    public long getLogSequence(){
+        return _logSequence;
+    }
+
+    /**
+     * Getter: Retrieves the capacity policy of the persisted conservatory.
+     */
+    public CapacityPolicy getCapacityPolicy(){
+        return _capacityPolicy;
+    }
+
+    /**
+     * Getter: Retrieves the food storage contents of the persisted conservatory.
+     */
+    public FoodLedgerSnapshot getFood(){
+        return _food;
+    }
+
+    /**
+     * Getter: Retrieves the number of persisted aviaries.
+     */
+    public int getAviaryCount(){
+        return _aviaryCount;
+    }
+
+    /**
+     * Getter: Retrieves the number of persisted birds.
+     */
+    public long getBirdCount(){
+        return _birdCount;
+    }
+
+    /**
+     * Reads the aviary with the specified index and every bird it houses. Only the pages of the aviary are read.
+     * @throws IOException if the aviary is corrupted
+     */
+    public Aviary readAviary(int index) throws IOException {
+        if(index < 0 || index >= _aviaryCount)
+            throw new IndexOutOfBoundsException(String.format("Aviary %s is out of bounds for %s aviaries", index, _aviaryCount));
+        var buffer = _buffer.duplicate();
+        try {
+            buffer.position((int) _buffer.getLong(_offsetsPosition + index * Long.BYTES));
+            var id = BirdCodec.getString(buffer);
+            var capacity = buffer.getInt();
+            var count = buffer.getInt();
+            var birds = new ArrayList<Bird>(CapacityPolicy.getExpectedBirdsPerAviary(capacity));
+            for(int i = 0; i < count; ++i)
+                birds.add(BirdCodec.read(buffer));
+            return new Aviary(birds, capacity, id);
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e){
+            throw new IOException(String.format("Aviary %s of the snapshot is corrupted", index), e);
+        }
+    }
+
+    /**
+     * Restores the persisted conservatory. Birds are not validated or rescued again and the food storage contents
+     * are restored as they were persisted.
+     * @throws IOException if the snapshot is corrupted
+     */
+    public Conservatory restore() throws IOException {
+        return restore(DeterministicDietSelector.INSTANCE);
+    }
+
+    /**
+     * Restores the persisted conservatory that selects food for birds rescued afterwards with the diet selector.
+     * @throws IOException if the snapshot is corrupted
+     */
+    public Conservatory restore(IDietSelector dietSelector) throws IOException {
+        var aviaries = new ArrayList<Aviary>(_aviaryCount);
+        for(int i = 0; i < _aviaryCount; ++i)
+            aviaries.add(readAviary(i));
+        return new Conservatory(aviaries, _capacityPolicy, dietSelector, _food);
+    }
+
+    /**
+     * Writes the bird into the buffer. Writes the buffer into the file whenever the next value does not fit.
+     * @return position in the file the buffer is written at next
+     */
+    private static long writeBird(FileChannel channel, ByteBuffer buffer, long position, Bird bird) throws IOException {
+        position = ensureRemaining(channel, buffer, position, BirdCodec.sizeOf(bird));
+        BirdCodec.write(buffer, bird);
+        return position;
+    }
+
+    /**
+     * Writes the buffer into the file if fewer than the specified number of bytes remain in it.
+     * @return position in the file the buffer is written at next
+     * @throws IOException if the value does not fit into an empty buffer
+     */
+    private static long ensureRemaining(FileChannel channel, ByteBuffer buffer, long position, int bytes) throws IOException {
+        if(buffer.remaining() >= bytes)
+            return position;
+        if(bytes > BUFFER_SIZE)
+            throw new IOException("Value is too large to be persisted");
+        return flush(channel, buffer, position);
+    }
+
+    /**
+     * Writes the buffer into the file at the specified position and clears it.
+     * @return position in the file the buffer is written at next
+     */
+    private static long flush(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            position += channel.write(buffer, position);
+        buffer.clear();
+        return position;
+    }
+}
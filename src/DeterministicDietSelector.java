@@ -0,0 +1,50 @@
+import java.util.Random;
+
+/**
+ * Selects the same food type for every bird of the same species. Produces the same food types as a pseudo random
+ * generator seeded with 2, but the index the generator selects is computed once per size of the food preference list
+ * and looked up afterwards, therefore no generator is created per rescued bird.
+ */
+public final class DeterministicDietSelector implements IDietSelector {
+    /**
+     * Shared instance. Used by the conservatories by default
+     */
+    public static final DeterministicDietSelector INSTANCE = new DeterministicDietSelector();
+
+    /**
+     * Seed of the pseudo random generator the selection reproduces
+     */
+    private static final long SEED = 2;
+
+    /**
+     * Stores the index that the seeded generator selects from a food preference list, indexed by list size
+     */
+    private static final int[] SEEDED_INDEX = computeSeededIndexes();
+
+    /**
+     * Constructor: Creates the selector
+     */
+    private DeterministicDietSelector(){
+    }
+
+    /**
+     * Selects the food type of the bird from its food preferences. Birds of the same bird type may belong to
+     * different species with different preferences, therefore the choice is not cached by bird type.
+     * @return food type selected from the food preferences of the bird
+     */
+    @Override
+    public FoodType selectFood(IBird bird) {
+        var foodPreferences = bird.getFoodPreferences();
+        return foodPreferences.get(SEEDED_INDEX[foodPreferences.size()]);
+    }
+
+    /**
+     * Computes the index the seeded generator selects for every possible size of a food preference list.
+     */
+    private static int[] computeSeededIndexes(){
+        var indexes = new int[FoodType.values().length + 1];
+        for(int size = 1; size < indexes.length; ++size)
+            indexes[size] = new Random(SEED).nextInt(size);
+        return indexes;
+    }
+}
@@ -0,0 +1,700 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of the changes of a conservatory: rescued and removed birds, removed aviaries,
+ * words taught to parrots and changes of the food storage. Every record is numbered by a sequence number and protected by a checksum.
+ * Records are encoded on the thread that makes the change and handed over to a single writer thread. The writer
+ * takes every record queued at that moment, writes them with one gathering write and forces them to the disk once,
+ * so the cost of the fsync is shared by the whole batch. Call sync to wait until the appended records are durable.
+ * Changes are made in memory before they are logged, therefore the log never throws from the change notifications.
+ * Once the log fails, e.g. because the file cannot be written, no record is appended anymore and the failure is
+ * reported by sync and close. Closing the log detaches it from the conservatory.
+ *
+ * A conservatory is recovered by restoring its latest snapshot, replaying the log records after the log sequence
+ * of the snapshot, and attaching a newly opened log to it. A checkpoint writes the snapshot and starts an empty log.
+ *
+ * Layout, big-endian:
+ * header:  magic, version, sequence number of the record before the first record of the file
+ * record:  payload length, CRC32 of the payload, payload
+ * payload: event code followed by
+ *          bird added:     aviary id, aviary capacity, bird
+ *          bird removed:   aviary id, bird id
+ *          word taught:    bird id, word
+ *          favorite word:  bird id, word
+ *          food changed:   food type ordinal, change of the quantity
+ *          aviary removed: aviary id
+ * Birds and strings are encoded by BirdCodec. A record that is truncated or has a wrong checksum, e.g. because
+ * of a crash during the write, ends the log.
+ */
+public final class EventLog implements IAviaryListener, IParrotListener, IFoodLedgerListener, AutoCloseable {
+    /**
+     * Represents the default maximum number of records written with one fsync
+     */
+    public static final int DEFAULT_MAXIMUM_BATCH = 1024;
+
+    /**
+     * Represents the first bytes of every event log: "BRDL"
+     */
+    private static final int MAGIC = 0x4252444C;
+
+    /**
+     * Represents the version of the event log layout
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Represents the size of the file header
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Represents the size of the length and checksum that precede every payload
+     */
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    /**
+     * Represents the event code of a bird added into an aviary
+     */
+    private static final byte BIRD_ADDED = 1;
+
+    /**
+     * Represents the event code of a bird removed from an aviary
+     */
+    private static final byte BIRD_REMOVED = 2;
+
+    /**
+     * Represents the event code of a word taught to a parrot
+     */
+    private static final byte WORD_TAUGHT = 3;
+
+    /**
+     * Represents the event code of the favorite word set for a parrot
+     */
+    private static final byte FAVORITE_WORD_SET = 4;
+
+    /**
+     * Represents the event code of a changed quantity of a food type
+     */
+    private static final byte FOOD_CHANGED = 5;
+
+    /**
+     * Represents the event code of an empty aviary removed from the conservatory
+     */
+    private static final byte AVIARY_REMOVED = 6;
+
+    /**
+     * Marks the end of the record queue. Posted once when the log is closed
+     */
+    private static final ByteBuffer END_OF_LOG = ByteBuffer.allocate(0);
+
+    /**
+     * Represents the path of the log file
+     */
+    private final Path _file;
+
+    /**
+     * Stores the encoded records that wait for the writer
+     */
+    private final ArrayBlockingQueue<ByteBuffer> _pending;
+
+    /**
+     * Represents the maximum number of records written with one fsync
+     */
+    private final int _maximumBatch;
+
+    /**
+     * Single writer thread that writes and forces the queued records
+     */
+    private final Thread _writer;
+
+    /**
+     * Guards the durable sequence number and wakes up threads that wait for it
+     */
+    private final Object _durableLock;
+
+    /**
+     * Channel of the log file. Replaced by checkpoints while the writer is idle
+     */
+    private volatile FileChannel _channel;
+
+    /**
+     * Represents the sequence number of the last appended record. Guarded by the log
+     */
+    private long _sequence;
+
+    /**
+     * Represents the sequence number of the last record forced to the disk. Guarded by the durable lock
+     */
+    private long _durableSequence;
+
+    /**
+     * Represents the number of batches forced to the disk
+     */
+    private volatile long _commitCount;
+
+    /**
+     * Stores the first error of the log. Once set, no record is appended or written anymore
+     */
+    private volatile IOException _failure;
+
+    /**
+     * Indicates whether the log has been closed. Guarded by the log
+     */
+    private boolean _closed;
+
+    /**
+     * Conservatory the log is attached to, null if the log is not attached. Guarded by the log
+     */
+    private Conservatory _conservatory;
+
+    /**
+     * Constructor: Opens the log file, or creates it if it does not exist, and starts the writer thread.
+     * @throws IOException if the file cannot be opened or is not an event log
+     */
+    public EventLog(Path file) throws IOException {
+        this(file, DEFAULT_MAXIMUM_BATCH);
+    }
+
+    /**
+     * Constructor: Opens the log file, or creates it if it does not exist, and starts the writer thread.
+     * Records after the last valid record, left by a crash during a write, are discarded.
+     * @param maximumBatch maximum number of records written with one fsync
+     * @throws IOException if the file cannot be opened or is not an event log
+     */
+    public EventLog(Path file, int maximumBatch) throws IOException {
+        if(maximumBatch <= 0)
+            throw new IllegalArgumentException("Maximum batch must be positive");
+        _file = file;
+        _maximumBatch = maximumBatch;
+        _pending = new ArrayBlockingQueue<>(maximumBatch * 4);
+        _durableLock = new Object();
+        _channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            _sequence = recover(_channel);
+        }
+        catch (IOException e){
+            _channel.close();
+            throw e;
+        }
+        _durableSequence = _sequence;
+        _writer = new Thread(this::runWriter, "event-log-writer");
+        _writer.setDaemon(true);
+        _writer.start();
+    }
+
+    /**
+     * Subscribes the log to the changes of the aviaries, parrots and food storage of the conservatory.
+     * The current contents of the conservatory are not logged; they are expected to be covered by a snapshot.
+     * @throws IllegalStateException if the log is closed or already attached
+     */
+    public synchronized void attach(Conservatory conservatory){
+        ensureOpen();
+        if(_conservatory != null)
+            throw new IllegalStateException("Event log is already attached");
+        _conservatory = conservatory;
+        for (var aviary : conservatory.getAviaries()){
+            for (var bird : aviary.getCurrentBirds()){
+                if(bird instanceof Parrot parrot)
+                    parrot.addListener(this);
+            }
+        }
+        conservatory.addAviaryListener(this);
+        conservatory.getFoodLedger().addListener(this);
+    }
+
+    /**
+     * Unsubscribes the log from the changes of the aviaries, parrots and food storage of the conservatory it is
+     * attached to. Does nothing if the log is not attached.
+     */
+    public synchronized void detach(){
+        if(_conservatory == null)
+            return;
+        _conservatory.removeAviaryListener(this);
+        _conservatory.getFoodLedger().removeListener(this);
+        for (var aviary : _conservatory.getAviaries()){
+            for (var bird : aviary.getCurrentBirds()){
+                if(bird instanceof Parrot parrot)
+                    parrot.removeListener(this);
+            }
+        }
+        _conservatory = null;
+    }
+
+    @Override
+    public void onBirdAdded(Aviary aviary, Bird bird) {
+        if(bird instanceof Parrot parrot)
+            parrot.addListener(this);
+        var record = allocate(1 + BirdCodec.sizeOf(aviary.getId()) + Integer.BYTES + BirdCodec.sizeOf(bird));
+        record.put(BIRD_ADDED);
+        BirdCodec.putString(record, aviary.getId());
+        record.putInt(aviary.getCapacity());
+        BirdCodec.write(record, bird);
+        append(record);
+    }
+
+    @Override
+    public void onBirdRemoved(Aviary aviary, Bird bird) {
+        if(bird instanceof Parrot parrot)
+            parrot.removeListener(this);
+        var record = allocate(1 + BirdCodec.sizeOf(aviary.getId()) + BirdCodec.sizeOf(bird.getId()));
+        record.put(BIRD_REMOVED);
+        BirdCodec.putString(record, aviary.getId());
+        BirdCodec.putString(record, bird.getId());
+        append(record);
+    }
+
+    @Override
+    public void onAviaryRemoved(Aviary aviary) {
+        var record = allocate(1 + BirdCodec.sizeOf(aviary.getId()));
+        record.put(AVIARY_REMOVED);
+        BirdCodec.putString(record, aviary.getId());
+        append(record);
+    }
+
+    @Override
+    public void onWordTaught(Parrot parrot, String word) {
+        appendWord(WORD_TAUGHT, parrot, word);
+    }
+
+    @Override
+    public void onFavoriteWordSet(Parrot parrot, String word) {
+        appendWord(FAVORITE_WORD_SET, parrot, word);
+    }
+
+    @Override
+    public void onFoodChanged(FoodType food, long units) {
+        var record = allocate(2 + Long.BYTES);
+        record.put(FOOD_CHANGED).put((byte) food.ordinal()).putLong(units);
+        append(record);
+    }
+
+    /**
+     * Waits until every record appended so far is forced to the disk.
+     * @throws UncheckedIOException if the log cannot be written, a record could not be appended or the thread
+     *                              is interrupted
+     */
+    public void sync(){
+        long sequence;
+        synchronized (this){
+            sequence = _sequence;
+        }
+        synchronized (_durableLock){
+            ensureWritable();
+            while (_durableSequence < sequence){
+                ensureWritable();
+                try {
+                    _durableLock.wait();
+                }
+                catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for the event log"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the snapshot of the conservatory that covers every appended record and replaces the log with an empty
+     * log that continues the sequence numbers. Both files are replaced atomically, so a crash leaves either the
+     * previous or the new snapshot and a log that can be replayed on top of it.
+     * The conservatory must not be changed while the checkpoint is taken.
+     * @throws IOException if the snapshot or the log cannot be written
+     */
+    public synchronized void checkpoint(Conservatory conservatory, Path snapshot) throws IOException {
+        ensureOpen();
+        sync();
+        var temporarySnapshot = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        ConservatorySnapshot.write(conservatory, temporarySnapshot, _sequence);
+        Files.move(temporarySnapshot, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Every record is durable and no record can be appended while the log is locked, so the writer is idle
+        var temporaryLog = _file.resolveSibling(_file.getFileName() + ".tmp");
+        var channel = FileChannel.open(temporaryLog, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            writeHeader(channel, _sequence);
+            channel.force(true);
+            Files.move(temporaryLog, _file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e){
+            channel.close();
+            throw e;
+        }
+        _channel.close();
+        _channel = channel;
+    }
+
+    /**
+     * Getter: Retrieves the sequence number of the last appended record.
+     */
+    public synchronized long getSequence(){
+        return _sequence;
+    }
+
+    /**
+     * Getter: Retrieves the sequence number of the last record forced to the disk.
+     */
+    public long getDurableSequence(){
+        synchronized (_durableLock){
+            return _durableSequence;
+        }
+    }
+
+    /**
+     * Getter: Retrieves the number of batches forced to the disk.
+     */
+    public long getCommitCount(){
+        return _commitCount;
+    }
+
+    /**
+     * Detaches the log, stops accepting records, waits until every appended record is forced to the disk and closes
+     * the file.
+     * @throws IOException if the log could not be written or a record could not be appended
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this){
+            if(_closed)
+                return;
+            detach();
+            _closed = true;
+            try {
+                _pending.put(END_OF_LOG);
+                _writer.join();
+            }
+            catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while closing the event log");
+            }
+            finally {
+                _channel.close();
+            }
+        }
+        if(_failure != null)
+            throw new IOException("Event log could not be written", _failure);
+    }
+
+    /**
+     * Replays the records of the log that follow the specified sequence number into the conservatory. Aviaries that
+     * do not exist in the conservatory are created with their persisted identifiers. Food changes are replayed as
+     * they were logged, so the result does not depend on the diet selector of the conservatory.
+     * The log must not be attached to the conservatory while it is replayed.
+     * @param sequence sequence number of the last record the conservatory already contains, e.g. the log sequence
+     *                 of the restored snapshot
+     * @return sequence number of the last record of the log
+     * @throws IOException if the log cannot be read, misses records after the sequence number or a record
+     *                     cannot be replayed
+     */
+    public static long replay(Path file, Conservatory conservatory, long sequence) throws IOException {
+        ByteBuffer buffer;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)){
+            if(channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Event log is too large to be mapped");
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if(buffer.remaining() < HEADER_SIZE)
+            return sequence;
+        var current = readHeader(buffer);
+        if(current > sequence)
+            throw new IOException(String.format("Event log starts after record %s, records after %s are missing", current, sequence));
+
+        var aviaries = new HashMap<String, Aviary>();
+        var parrots = new HashMap<String, Parrot>();
+        for (var aviary : conservatory.getAviaries()){
+            aviaries.put(aviary.getId(), aviary);
+            for (var bird : aviary.getCurrentBirds()){
+                if(bird instanceof Parrot parrot)
+                    parrots.put(parrot.getId(), parrot);
+            }
+        }
+        ByteBuffer payload;
+        while ((payload = nextRecord(buffer)) != null){
+            if(++current <= sequence)
+                continue;
+            try {
+                apply(payload, conservatory, aviaries, parrots);
+            }
+            catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException e){
+                throw new IOException(String.format("Record %s of the event log cannot be replayed", current), e);
+            }
+        }
+        return Math.max(current, sequence);
+    }
+
+    /**
+     * Applies the event of the record to the conservatory.
+     */
+    private static void apply(ByteBuffer payload, Conservatory conservatory, HashMap<String, Aviary> aviaries,
+                              HashMap<String, Parrot> parrots){
+        var event = payload.get();
+        switch (event){
+            case BIRD_ADDED -> {
+                var aviaryId = BirdCodec.getString(payload);
+                var capacity = payload.getInt();
+                var bird = BirdCodec.read(payload);
+                var aviary = aviaries.get(aviaryId);
+                if(aviary == null){
+                    aviary = conservatory.restoreAviary(aviaryId, capacity);
+                    aviaries.put(aviaryId, aviary);
+                }
+                if(!aviary.tryAddBird(bird))
+                    throw new IllegalStateException(String.format("The bird with id: %s cannot be added into aviary %s", bird.getId(), aviaryId));
+                if(bird instanceof Parrot parrot)
+                    parrots.put(parrot.getId(), parrot);
+            }
+            case BIRD_REMOVED -> {
+                var aviaryId = BirdCodec.getString(payload);
+                var birdId = BirdCodec.getString(payload);
+                var aviary = aviaries.get(aviaryId);
+                if(aviary == null)
+                    throw new IllegalStateException(String.format("Aviary %s does not exist", aviaryId));
+                aviary.removeBird(birdId);
+                parrots.remove(birdId);
+            }
+            case AVIARY_REMOVED -> {
+                var aviaryId = BirdCodec.getString(payload);
+                var aviary = aviaries.remove(aviaryId);
+                if(aviary == null)
+                    throw new IllegalStateException(String.format("Aviary %s does not exist", aviaryId));
+                conservatory.removeAviaries(List.of(aviary));
+            }
+            case WORD_TAUGHT, FAVORITE_WORD_SET -> {
+                var birdId = BirdCodec.getString(payload);
+                var word = BirdCodec.getString(payload);
+                var parrot = parrots.get(birdId);
+                if(parrot == null)
+                    throw new IllegalStateException(String.format("Parrot %s does not exist", birdId));
+                if(event == WORD_TAUGHT)
+                    parrot.teachParrotAWord(word);
+                else
+                    parrot.setFavoriteWord(word);
+            }
+            case FOOD_CHANGED -> {
+                var food = payload.get();
+                var units = payload.getLong();
+                if(food < 0 || food >= FoodType.values().length)
+                    throw new IllegalArgumentException(String.format("Unknown food type %s", food));
+                if(units > 0)
+                    conservatory.getFoodLedger().add(FoodType.values()[food], units);
+                else
+                    conservatory.getFoodLedger().consume(FoodType.values()[food], -units);
+            }
+            default -> throw new IllegalArgumentException(String.format("Unknown event %s", event));
+        }
+    }
+
+    /**
+     * Appends the record of the word taught to the parrot or set as its favorite word.
+     */
+    private void appendWord(byte event, Parrot parrot, String word){
+        var record = allocate(1 + BirdCodec.sizeOf(parrot.getId()) + BirdCodec.sizeOf(word));
+        record.put(event);
+        BirdCodec.putString(record, parrot.getId());
+        BirdCodec.putString(record, word);
+        append(record);
+    }
+
+    /**
+     * Allocates the buffer of a record with the specified maximum payload size, positioned at the payload.
+     */
+    private static ByteBuffer allocate(int payloadSize){
+        return ByteBuffer.allocate(RECORD_HEADER_SIZE + payloadSize).position(RECORD_HEADER_SIZE);
+    }
+
+    /**
+     * Completes the record with the length and checksum of its payload and queues it for the writer.
+     * Blocks while the queue is full, without being interrupted; the interrupt status of the caller is kept, so an
+     * interrupted caller does not fail the log. Does not throw: the record is dropped if the log is closed or has failed.
+     */
+    private void append(ByteBuffer record){
+        var length = record.position() - RECORD_HEADER_SIZE;
+        var checksum = new CRC32();
+        checksum.update(record.array(), RECORD_HEADER_SIZE, length);
+        record.putInt(0, length).putInt(4, (int) checksum.getValue()).flip();
+        synchronized (this){
+            if(_closed || _failure != null)
+                return;
+            if(!_pending.offer(record))
+                putUninterruptibly(record);
+            _sequence++;
+        }
+    }
+
+    /**
+     * Queues the record, waiting until the queue has space. Interrupts are deferred until the record is queued.
+     */
+    private void putUninterruptibly(ByteBuffer record){
+        var interrupted = false;
+        while (true){
+            try {
+                _pending.put(record);
+                break;
+            }
+            catch (InterruptedException e){
+                interrupted = true;
+            }
+        }
+        if(interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Writes queued records in batches until the end of the log. After the first error, including an interrupt
+     * of the writer, the records are discarded, so that appending threads do not block on a full queue.
+     */
+    private void runWriter(){
+        var batch = new ArrayList<ByteBuffer>(_maximumBatch);
+        var closing = false;
+        while (!closing){
+            try {
+                batch.add(_pending.take());
+            }
+            catch (InterruptedException e){
+                fail(new InterruptedIOException("Event log writer was interrupted"));
+                continue;
+            }
+            _pending.drainTo(batch, _maximumBatch - 1);
+            if(batch.get(batch.size() - 1) == END_OF_LOG){
+                batch.remove(batch.size() - 1);
+                closing = true;
+            }
+            if(!batch.isEmpty() && _failure == null){
+                try {
+                    commit(batch);
+                }
+                catch (IOException e){
+                    fail(e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes the batch of records with one gathering write and forces them to the disk.
+     */
+    private void commit(ArrayList<ByteBuffer> batch) throws IOException {
+        var records = batch.toArray(new ByteBuffer[0]);
+        var last = records[records.length - 1];
+        var channel = _channel;
+        while (last.hasRemaining())
+            channel.write(records);
+        channel.force(false);
+        _commitCount++;
+        synchronized (_durableLock){
+            _durableSequence += records.length;
+            _durableLock.notifyAll();
+        }
+    }
+
+    /**
+     * Stores the first error of the log and wakes up threads that wait for records to become durable.
+     */
+    private void fail(IOException error){
+        synchronized (_durableLock){
+            if(_failure == null)
+                _failure = error;
+            _durableLock.notifyAll();
+        }
+    }
+
+    /**
+     * Ensures that the log is not closed.
+     */
+    private void ensureOpen(){
+        if(_closed)
+            throw new IllegalStateException("Event log is closed");
+    }
+
+    /**
+     * Ensures that the writer has not failed.
+     */
+    private void ensureWritable(){
+        if(_failure != null)
+            throw new UncheckedIOException("Event log could not be written", _failure);
+    }
+
+    /**
+     * Validates the opened log file, discards the records after the last valid record and moves the channel to the
+     * end of the file. Writes the header if the file is new.
+     * @return sequence number of the last valid record
+     */
+    private static long recover(FileChannel channel) throws IOException {
+        if(channel.size() < HEADER_SIZE){
+            channel.truncate(0);
+            writeHeader(channel, 0);
+            channel.force(true);
+            return 0;
+        }
+        if(channel.size() > Integer.MAX_VALUE)
+            throw new IOException("Event log is too large to be mapped");
+        var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        var sequence = readHeader(buffer);
+        while (nextRecord(buffer) != null)
+            sequence++;
+        if(buffer.position() < channel.size()){
+            channel.truncate(buffer.position());
+            channel.force(true);
+        }
+        channel.position(buffer.position());
+        return sequence;
+    }
+
+    /**
+     * Writes the header of the log at the current position of the channel.
+     */
+    private static void writeHeader(FileChannel channel, long sequence) throws IOException {
+        var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(sequence).flip();
+        while (header.hasRemaining())
+            channel.write(header);
+    }
+
+    /**
+     * Reads the header of the mapped log and moves the buffer to the first record.
+     * @return sequence number of the record before the first record of the file
+     * @throws IOException if the file is not an event log or has an unsupported version
+     */
+    private static long readHeader(ByteBuffer buffer) throws IOException {
+        if(buffer.getInt(0) != MAGIC)
+            throw new IOException("File is not an event log");
+        if(buffer.getInt(4) != VERSION)
+            throw new IOException(String.format("Unsupported event log version %s", buffer.getInt(4)));
+        buffer.position(HEADER_SIZE);
+        return buffer.getLong(8);
+    }
+
+    /**
+     * Reads the payload of the record at the current position of the buffer and moves the buffer to the next record.
+     * @return payload of the record, null if the record is truncated or its checksum is wrong
+     */
+    private static ByteBuffer nextRecord(ByteBuffer buffer){
+        var position = buffer.position();
+        if(buffer.limit() - position < RECORD_HEADER_SIZE)
+            return null;
+        var length = buffer.getInt(position);
+        if(length <= 0 || length > buffer.limit() - position - RECORD_HEADER_SIZE)
+            return null;
+        var payload = buffer.slice(position + RECORD_HEADER_SIZE, length);
+        var checksum = new CRC32();
+        checksum.update(payload.duplicate());
+        if((int) checksum.getValue() != buffer.getInt(position + 4))
+            return null;
+        buffer.position(position + RECORD_HEADER_SIZE + length);
+        return payload;
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.ArrayList;
+
 /**
  * FlightlessBird class: Inherits from Bird, implements and overrides some functionalities.
  * Represents Flightless classification birds
@@ -8,7 +10,14 @@ public final class FlightlessBird extends Bird {
      * @param birdType creates Flightless bird object based on bird type provided.
      */
     public FlightlessBird(BirdType birdType) {
-        super(birdType);
+        this(birdType, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor: Creates FlightlessBird object with the specified unique identifier. Used to restore persisted birds.
+     */
+    FlightlessBird(BirdType birdType, String id) {
+        super(birdType, id);
         _classification = BirdClassification.FLIGHTLESS;
     }
 
@@ -23,41 +32,41 @@ public final class FlightlessBird extends Bird {
     }
 
     @Override
-    protected void generateAndSetBeak() {
-        _beak = new Beak(BeakSize.LONG, BeakType.CURVED, false, false);
+    protected Beak generateBeak() {
+        return new Beak(BeakSize.LONG, BeakType.CURVED, false, false);
     }
 
 
     @Override
-    protected void generateAndSetFoodPreferences() {
-       _foodPreferences.add(FoodType.LARVAE);
-       _foodPreferences.add(FoodType.FRUITS);
+    protected void generateFoodPreferences(ArrayList<FoodType> foodPreferences) {
+       foodPreferences.add(FoodType.LARVAE);
+       foodPreferences.add(FoodType.FRUITS);
     }
 
     /**
-     * Setter Override: Implements setter for extinction state
-     * Sets extinction parameter to true if the bird type is anything other than kiwi
+     * Override: Implements generation of extinction state
+     * Species is extinct if the bird type is anything other than kiwi
      */
     @Override
-    protected void generateAndSetExtinctionData(){
-        _isExtinct = _birdType != BirdType.KIWI;
+    protected boolean generateExtinctionData(){
+        return _birdType != BirdType.KIWI;
     }
 
     /**
-     * Setter Override: Implements setter for number of wings
-     * Sets number of wings to 0 as Flightless birds often do not have wings
+     * Override: Implements generation of number of wings
+     * Number of wings is 0 as Flightless birds often do not have wings
      */
     @Override
-    protected void generateAndSetNumberOfWings() {
-        _numberOfWings = 0;
+    protected int generateNumberOfWings() {
+        return 0;
     }
 
     /**
-     * Overrides Bird toString implementation. Adds feature that is unique for Owl
-     * returns string representation of the Flightless bird object
+     * Overrides Bird appendTo implementation. Adds feature that is unique for Flightless birds
      */
     @Override
-    public String toString() {
-        return super.toString()+"\n"+"Flightless birds live on the ground and have no (or undeveloped) wings";
+    public void appendTo(StringBuilder sb) {
+        super.appendTo(sb);
+        sb.append("\n").append("Flightless birds live on the ground and have no (or undeveloped) wings");
     }
 }
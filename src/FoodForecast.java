@@ -0,0 +1,90 @@
+import java.time.LocalDate;
+
+/**
+ * Result of the food forecast. Stores for every food type the weekly demand, the date the food runs out and
+ * the date and quantity at which the food has to be reordered so that it arrives before running out.
+ */
+public final class FoodForecast {
+    /**
+     * Represents the first day of the forecast
+     */
+    private final LocalDate _start;
+
+    /**
+     * Stores the quantity of every food type at the start of the forecast, indexed by food type ordinal
+     */
+    private final long[] _stock;
+
+    /**
+     * Stores the weekly demand of every food type at the start of the forecast, indexed by food type ordinal
+     */
+    private final double[] _weeklyDemand;
+
+    /**
+     * Stores the week every food type runs out in, indexed by food type ordinal. -1 if the food lasts the whole forecast
+     */
+    private final int[] _depletionWeeks;
+
+    /**
+     * Represents the number of weeks an order takes to arrive
+     */
+    private final int _leadTimeWeeks;
+
+    /**
+     * Constructor: Creates the forecast. The arrays are owned by the forecast and must not be modified afterwards.
+     */
+    FoodForecast(LocalDate start, long[] stock, double[] weeklyDemand, int[] depletionWeeks, int leadTimeWeeks){
+        _start = start;
+        _stock = stock;
+        _weeklyDemand = weeklyDemand;
+        _depletionWeeks = depletionWeeks;
+        _leadTimeWeeks = leadTimeWeeks;
+    }
+
+    /**
+     * Getter: Retrieves the quantity of the food type at the start of the forecast.
+     */
+    public long getStock(FoodType food){
+        return _stock[food.ordinal()];
+    }
+
+    /**
+     * Getter: Retrieves the number of units of the food type the current population eats in a week.
+     */
+    public double getWeeklyDemand(FoodType food){
+        return _weeklyDemand[food.ordinal()];
+    }
+
+    /**
+     * Getter: Retrieves the week the food type runs out in, counted from the start of the forecast.
+     * @return week number starting at 1, -1 if the food lasts the whole forecast
+     */
+    public int getDepletionWeek(FoodType food){
+        return _depletionWeeks[food.ordinal()];
+    }
+
+    /**
+     * Retrieves the date the food type runs out at.
+     * @return depletion date, null if the food lasts the whole forecast
+     */
+    public LocalDate getDepletionDate(FoodType food){
+        var week = _depletionWeeks[food.ordinal()];
+        return week < 0 ? null : _start.plusWeeks(week);
+    }
+
+    /**
+     * Retrieves the reorder point of the food type: the quantity that covers the demand while an order arrives.
+     */
+    public long getReorderPoint(FoodType food){
+        return (long) Math.ceil(_weeklyDemand[food.ordinal()] * _leadTimeWeeks);
+    }
+
+    /**
+     * Retrieves the date the food type has to be reordered at so that the order arrives before the food runs out.
+     * @return reorder date, the start of the forecast if it is already late, null if the food lasts the whole forecast
+     */
+    public LocalDate getReorderDate(FoodType food){
+        var week = _depletionWeeks[food.ordinal()];
+        return week < 0 ? null : _start.plusWeeks(Math.max(0, week - _leadTimeWeeks));
+    }
+}
@@ -0,0 +1,184 @@
+import java.time.LocalDate;
+import java.util.HashMap;
+
+/**
+ * Forecasts food consumption of the conservatory. Every bird eats one unit of food per week, split evenly among
+ * the food types it prefers that are still in stock. The forecaster listens to aviary changes and keeps the number
+ * of birds per diet up to date, so a forecast is computed from the diets only and its cost does not depend
+ * on the number of birds.
+ */
+public final class FoodForecaster implements IAviaryListener {
+    /**
+     * Represents the number of units of food a single bird eats per week
+     */
+    public static final int UNITS_PER_BIRD_PER_WEEK = 1;
+
+    /**
+     * Maps every diet, a bit mask of food type ordinals, to the number of housed birds with that diet
+     */
+    private final HashMap<Integer, int[]> _birdsByDiet;
+
+    /**
+     * Stores the part of the weekly demand of every food type that was not served as a whole unit yet,
+     * indexed by food type ordinal. Negative if more than the demand was served
+     */
+    private final double[] _rationRemainders;
+
+    /**
+     * Constructor: Creates the forecaster for an empty population.
+     */
+    public FoodForecaster(){
+        _birdsByDiet = new HashMap<>();
+        _rationRemainders = new double[FoodType.values().length];
+    }
+
+    /**
+     * Adds every bird of the aviary into the population and subscribes to the changes of the aviary.
+     */
+    public void register(Aviary aviary){
+        aviary.addListener(this);
+        for (var bird : aviary.getCurrentBirds())
+            onBirdAdded(aviary, bird);
+    }
+
+    /**
+     * Computes the weekly demand of every food type for the current population.
+     * Birds only eat the food types of their diet that are in stock.
+     * @param stock quantity of every food type, indexed by food type ordinal
+     * @return weekly demand of every food type, indexed by food type ordinal
+     */
+    public double[] computeWeeklyDemand(long[] stock){
+        var stockMask = 0;
+        for(int i = 0; i < stock.length; ++i){
+            if(stock[i] > 0)
+                stockMask |= 1 << i;
+        }
+        return computeWeeklyDemand(stockMask);
+    }
+
+    /**
+     * Computes the whole units of every food type the current population eats this week. The units add up to the
+     * weekly demand, one unit per bird that has food of its diet in stock. The demand is split by the largest
+     * remainder method and the parts that were not served are carried over to the next week, so over several weeks
+     * every food type is eaten as forecast.
+     * @param stock quantity of every food type, indexed by food type ordinal
+     * @return units to eat of every food type, indexed by food type ordinal
+     */
+    public long[] computeWeeklyRations(long[] stock){
+        var demand = computeWeeklyDemand(stock);
+        var rations = new long[demand.length];
+        var wanted = new double[demand.length];
+        var total = 0.0;
+        var served = 0L;
+        for(int i = 0; i < demand.length; ++i){
+            if(demand[i] == 0){
+                _rationRemainders[i] = 0;
+                continue;
+            }
+            total += demand[i];
+            wanted[i] = demand[i] + _rationRemainders[i];
+            rations[i] = Math.max(0, (long) Math.floor(wanted[i]));
+            served += rations[i];
+        }
+
+        // Whole units still missing go to the largest remainders, surplus units are taken from the smallest ones
+        for(var missing = Math.round(total) - served; missing != 0; missing -= Long.signum(missing)){
+            var selected = -1;
+            for(int i = 0; i < demand.length; ++i){
+                if(demand[i] == 0 || (missing < 0 && rations[i] == 0))
+                    continue;
+                var remainder = wanted[i] - rations[i];
+                if(selected < 0 || (missing > 0 ? remainder > wanted[selected] - rations[selected]
+                        : remainder < wanted[selected] - rations[selected]))
+                    selected = i;
+            }
+            rations[selected] += Long.signum(missing);
+        }
+        for(int i = 0; i < demand.length; ++i){
+            if(demand[i] != 0)
+                _rationRemainders[i] = wanted[i] - rations[i];
+        }
+        return rations;
+    }
+
+    /**
+     * Simulates the consumption week by week against the food ledger snapshot.
+     * @param start first day of the forecast
+     * @param horizonWeeks number of weeks to simulate
+     * @param leadTimeWeeks number of weeks an order takes to arrive. Used for the reorder points and dates
+     * @return forecast of every food type
+     */
+    public FoodForecast forecast(FoodLedgerSnapshot ledger, LocalDate start, int horizonWeeks, int leadTimeWeeks){
+        var foods = FoodType.values();
+        var stock = new long[foods.length];
+        var remaining = new double[foods.length];
+        var depletionWeeks = new int[foods.length];
+        for (var food : foods){
+            stock[food.ordinal()] = ledger.get(food);
+            remaining[food.ordinal()] = ledger.get(food);
+            depletionWeeks[food.ordinal()] = -1;
+        }
+        var weeklyDemand = computeWeeklyDemand(stock);
+
+        for(int week = 1; week <= horizonWeeks; ++week){
+            var stockMask = 0;
+            for(int i = 0; i < remaining.length; ++i){
+                if(remaining[i] > 0)
+                    stockMask |= 1 << i;
+            }
+            if(stockMask == 0)
+                break;
+
+            var demand = computeWeeklyDemand(stockMask);
+            for(int i = 0; i < remaining.length; ++i){
+                if(remaining[i] <= 0 || demand[i] == 0)
+                    continue;
+                remaining[i] -= demand[i];
+                if(remaining[i] <= 0)
+                    depletionWeeks[i] = week;
+            }
+        }
+        return new FoodForecast(start, stock, weeklyDemand, depletionWeeks, leadTimeWeeks);
+    }
+
+    @Override
+    public void onBirdAdded(Aviary aviary, Bird bird) {
+        _birdsByDiet.computeIfAbsent(dietOf(bird), k -> new int[1])[0]++;
+    }
+
+    @Override
+    public void onBirdRemoved(Aviary aviary, Bird bird) {
+        var diet = dietOf(bird);
+        var count = _birdsByDiet.get(diet);
+        if(count != null && --count[0] <= 0)
+            _birdsByDiet.remove(diet);
+    }
+
+    /**
+     * Computes the weekly demand of every food type when only the food types of the mask are in stock.
+     */
+    private double[] computeWeeklyDemand(int stockMask){
+        var demand = new double[FoodType.values().length];
+        for (var entry : _birdsByDiet.entrySet()){
+            var available = entry.getKey() & stockMask;
+            if(available == 0)
+                continue;
+            var share = (double) entry.getValue()[0] * UNITS_PER_BIRD_PER_WEEK / Integer.bitCount(available);
+            for(int i = 0; i < demand.length; ++i){
+                if((available & (1 << i)) != 0)
+                    demand[i] += share;
+            }
+        }
+        return demand;
+    }
+
+    /**
+     * Computes the diet of the bird as a bit mask of the ordinals of its preferred food types.
+     */
+    private static int dietOf(Bird bird){
+        var diet = 0;
+        for (var food : bird.getFoodPreferences())
+            diet |= 1 << food.ordinal();
+        return diet;
+    }
+}
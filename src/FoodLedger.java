@@ -0,0 +1,111 @@
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Food storage of a conservatory. Stores the quantity of every food type in a primitive array indexed by the ordinal
+ * of the food type, therefore updates neither box values nor allocate. Every counter is updated atomically, so the
+ * ledger can be shared between threads. Readers take a cheap immutable snapshot instead of reading the live counters.
+ */
+public final class FoodLedger {
+    /**
+     * Stores every food type, indexed by ordinal. Cached, as FoodType.values() copies the array on every call
+     */
+    private static final FoodType[] FOOD_TYPES = FoodType.values();
+
+    /**
+     * Stores the quantity of every food type, indexed by food type ordinal
+     */
+    private final AtomicLongArray _units;
+
+    /**
+     * Stores objects that are notified when the quantity of a food type changes
+     */
+    private final CopyOnWriteArrayList<IFoodLedgerListener> _listeners;
+
+    /**
+     * Constructor: Creates empty ledger.
+     */
+    public FoodLedger(){
+        _units = new AtomicLongArray(FOOD_TYPES.length);
+        _listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Subscribes the listener to the changes of the ledger.
+     */
+    public void addListener(IFoodLedgerListener listener){
+        _listeners.add(listener);
+    }
+
+    /**
+     * Unsubscribes the listener from the changes of the ledger.
+     */
+    public void removeListener(IFoodLedgerListener listener){
+        _listeners.remove(listener);
+    }
+
+    /**
+     * Adds the specified quantity of the food type to the ledger.
+     */
+    public void add(FoodType food, long units){
+        if(units == 0)
+            return;
+        _units.addAndGet(food.ordinal(), units);
+        notifyListeners(food, units);
+    }
+
+    /**
+     * Adds quantities of every food type to the ledger. Food types without quantity are not touched.
+     * @param unitsByFood quantities indexed by food type ordinal
+     */
+    public void addAll(int[] unitsByFood){
+        for(int i = 0; i < unitsByFood.length; ++i){
+            if(unitsByFood[i] != 0){
+                _units.addAndGet(i, unitsByFood[i]);
+                notifyListeners(FOOD_TYPES[i], unitsByFood[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes up to the specified quantity of the food type from the ledger. The quantity never drops below zero.
+     * @return the quantity that was actually removed
+     */
+    public long consume(FoodType food, long units){
+        while (true){
+            var current = _units.get(food.ordinal());
+            var consumed = Math.min(current, units);
+            if(consumed <= 0)
+                return 0;
+            if(_units.compareAndSet(food.ordinal(), current, current - consumed)){
+                notifyListeners(food, -consumed);
+                return consumed;
+            }
+        }
+    }
+
+    /**
+     * Getter: Retrieves the current quantity of the food type.
+     */
+    public long get(FoodType food){
+        return _units.get(food.ordinal());
+    }
+
+    /**
+     * Takes an immutable snapshot of the quantity of every food type.
+     */
+    public FoodLedgerSnapshot snapshot(){
+        var units = new long[_units.length()];
+        for(int i = 0; i < units.length; ++i)
+            units[i] = _units.get(i);
+        return new FoodLedgerSnapshot(units);
+    }
+
+    /**
+     * Notifies every listener about the changed quantity of the food type.
+     */
+    private void notifyListeners(FoodType food, long units){
+        for (var listener : _listeners)
+            listener.onFoodChanged(food, units);
+    }
+}
@@ -0,0 +1,47 @@
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the food ledger. Stores the quantity of every food type at the time the snapshot was taken.
+ */
+public final class FoodLedgerSnapshot {
+    /**
+     * Stores every food type, indexed by ordinal
+     */
+    private static final FoodType[] FOOD_TYPES = FoodType.values();
+
+    /**
+     * Stores the quantity of every food type, indexed by food type ordinal
+     */
+    private final long[] _units;
+
+    /**
+     * Constructor: Creates the snapshot. The array is owned by the snapshot and must not be modified afterwards.
+     */
+    FoodLedgerSnapshot(long[] units){
+        _units = units;
+    }
+
+    /**
+     * Getter: Retrieves the quantity of the food type.
+     */
+    public long get(FoodType food){
+        return _units[food.ordinal()];
+    }
+
+    /**
+     * Converts the snapshot to a map that contains every food type that is in stock. Quantities that do not fit
+     * into an int are saturated at Integer.MAX_VALUE; use get for the exact quantity.
+     * @return unmodifiable map of food type with their respective quantity, ordered by food type
+     */
+    public Map<FoodType, Integer> asMap(){
+        var result = new EnumMap<FoodType, Integer>(FoodType.class);
+        for (var food : FOOD_TYPES){
+            var units = _units[food.ordinal()];
+            if(units != 0)
+                result.put(food, (int) Math.min(units, Integer.MAX_VALUE));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * Provides method signatures for objects that need to be notified when the contents of an aviary change.
+ */
+public interface IAviaryListener {
+    /**
+     * Called after the bird has been added into the aviary.
+     */
+    void onBirdAdded(Aviary aviary, Bird bird);
+
+    /**
+     * Called after the bird has been removed from the aviary.
+     */
+    void onBirdRemoved(Aviary aviary, Bird bird);
+
+    /**
+     * Called after the empty aviary has been removed from the conservatory. The listener is unsubscribed afterwards.
+     */
+    default void onAviaryRemoved(Aviary aviary){
+    }
+}
@@ -1,4 +1,4 @@
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Provides method signatures for getters of Bird object
@@ -7,7 +7,7 @@ public interface IBird {
     /**
      * Getter: Retrieves the food preferences of the bird.
      */
-     ArrayList<FoodType> getFoodPreferences();
+     List<FoodType> getFoodPreferences();
 
     /**
      * Getter: Retrieves the number of wings of the bird.
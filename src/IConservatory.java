@@ -1,28 +1,58 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
 /**
  * Provides method signatures for Conservatory class.
  */
 public interface IConservatory {
     /**
      * Tries to rescue the current bird
-     * @throws Exception if bird cannot be rescued due to: being a conflicting type, all aviaries are full, or bird is extinct.
+     * @throws RescueRejectedException if bird cannot be rescued due to: being a conflicting type, all aviaries are full, or bird is extinct.
+     */
+    void rescueBird(Bird bird) throws RescueRejectedException;
+
+    /**
+     * Tries to rescue every bird of the batch. Birds that cannot be rescued are rejected without affecting the rest.
+     * @return result of every bird in the order of the input collection: placed aviary id or rejection reason
      */
-    void rescueBird(Bird bird) throws Exception;
+    ArrayList<RescueResult> rescueBirds(Collection<Bird> birds);
 
     /**
      * Prints every bird with their respective aviary in alphabetical order
      */
     void printSortedBirds();
 
+    /**
+     * Writes every bird with their respective aviary in alphabetical order to the specified target
+     * @throws IOException if the target cannot be written to
+     */
+    void printSortedBirds(Appendable out) throws IOException;
+
     /**
      * Prints all aviaries with their respective birds housed as well as the details and unique features of each bird.
      */
     void listAllAviaries();
 
+    /**
+     * Writes all aviaries with their respective birds housed as well as the details and unique features of each bird
+     * to the specified target
+     * @throws IOException if the target cannot be written to
+     */
+    void listAllAviaries(Appendable out) throws IOException;
+
     /**
      * Prints the food storage: food types with their specific quantities and how many weeks that food can feed a bird.
      */
     void listFoodStorageContents();
 
+    /**
+     * Writes the food storage: food types with their specific quantities and how many weeks that food can feed a bird
+     * to the specified target
+     * @throws IOException if the target cannot be written to
+     */
+    void listFoodStorageContents(Appendable out) throws IOException;
+
     /**
      * Searches the conservatory for the specific bird
      * @return the unique identifier of the aviary that currently houses the bird if found, null otherwise
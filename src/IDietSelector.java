@@ -0,0 +1,6 @@
+/**
+ * Provide method signature for selecting the food type that is stored in the food storage for a rescued bird.
+ */
+public interface IDietSelector {
+    FoodType selectFood(IBird bird);
+}
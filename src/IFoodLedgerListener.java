@@ -0,0 +1,10 @@
+/**
+ * Provides method signature for objects that need to be notified when the quantity of a food type changes.
+ */
+public interface IFoodLedgerListener {
+    /**
+     * Called after the quantity of the food type has changed.
+     * @param units added quantity, negative if food was removed
+     */
+    void onFoodChanged(FoodType food, long units);
+}
@@ -0,0 +1,12 @@
+/**
+ * Provide method signature for generating unique identifiers of birds and aviaries.
+ */
+public interface IIdProvider {
+    /**
+     * Generates a new identifier. Birds and aviaries share the provider, therefore an identifier is never returned
+     * twice by the same provider. Implementations must be thread-safe, as birds and aviaries are created concurrently.
+     * Identifiers of at most 39 ASCII characters can also be stored by the off-heap conservatory.
+     * @return non-null, non-empty unique identifier
+     */
+    String nextId();
+}
@@ -0,0 +1,14 @@
+/**
+ * Provides method signatures for objects that need to be notified when the vocabulary of a parrot changes.
+ */
+public interface IParrotListener {
+    /**
+     * Called after the parrot has learned a new word.
+     */
+    void onWordTaught(Parrot parrot, String word);
+
+    /**
+     * Called after the favorite word of the parrot has been set.
+     */
+    void onFavoriteWordSet(Parrot parrot, String word);
+}
@@ -0,0 +1,40 @@
+/**
+ * Generates unique identifiers of birds and aviaries with the configured identifier provider.
+ * UUIDs are generated by default.
+ */
+public final class IdGenerator {
+    /**
+     * Represents the provider used by every bird and aviary created afterwards
+     */
+    private static volatile IIdProvider _provider = new UuidIdProvider();
+
+    private IdGenerator(){
+    }
+
+    /**
+     * Generates the next unique identifier.
+     */
+    public static String nextId(){
+        return _provider.nextId();
+    }
+
+    /**
+     * Getter: Retrieves the current identifier provider.
+     */
+    public static IIdProvider getProvider(){
+        return _provider;
+    }
+
+    /**
+     * Setter: Replaces the identifier provider. Identifiers that were already generated are not changed,
+     * therefore the new provider should not generate them again.
+     * @return the previous provider
+     */
+    public static IIdProvider setProvider(IIdProvider provider){
+        if(provider == null)
+            throw new IllegalArgumentException("Identifier provider cannot be null");
+        var previous = _provider;
+        _provider = provider;
+        return previous;
+    }
+}
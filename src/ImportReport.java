@@ -0,0 +1,133 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stores the outcome of importing a rescue manifest: number of rows, placed and failed birds, the rows that failed
+ * with their reasons, and the time the import took.
+ */
+public final class ImportReport {
+    /**
+     * Stores the row of the manifest that could not be imported and the reason
+     */
+    public static final class RowFailure {
+        /**
+         * Represents the number of the line of the row in the manifest, starting at 1
+         */
+        private final long _lineNumber;
+
+        /**
+         * Represents the reason why the row could not be imported
+         */
+        private final String _reason;
+
+        /**
+         * Constructor: Creates RowFailure object.
+         */
+        public RowFailure(long lineNumber, String reason){
+            _lineNumber = lineNumber;
+            _reason = reason;
+        }
+
+        /**
+         * Getter: Retrieves the number of the line of the row in the manifest, starting at 1
+         */
+        public long getLineNumber(){
+            return _lineNumber;
+        }
+
+        /**
+         * Getter: Retrieves the reason why the row could not be imported
+         */
+        public String getReason(){
+            return _reason;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("line %s: %s", _lineNumber, _reason);
+        }
+    }
+
+    /**
+     * Represents the number of rows read from the manifest
+     */
+    private final long _rowCount;
+
+    /**
+     * Represents the number of birds placed into the conservatory
+     */
+    private final long _placedCount;
+
+    /**
+     * Represents the number of rows that could not be parsed or whose bird was rejected
+     */
+    private final long _failureCount;
+
+    /**
+     * Stores the first failed rows, up to the limit of the importer
+     */
+    private final List<RowFailure> _failures;
+
+    /**
+     * Represents the time the import took, in nanoseconds
+     */
+    private final long _elapsedNanos;
+
+    /**
+     * Constructor: Creates ImportReport object.
+     */
+    public ImportReport(long rowCount, long placedCount, long failureCount, List<RowFailure> failures, long elapsedNanos){
+        _rowCount = rowCount;
+        _placedCount = placedCount;
+        _failureCount = failureCount;
+        _failures = Collections.unmodifiableList(failures);
+        _elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Getter: Retrieves the number of rows read from the manifest
+     */
+    public long getRowCount(){
+        return _rowCount;
+    }
+
+    /**
+     * Getter: Retrieves the number of birds placed into the conservatory
+     */
+    public long getPlacedCount(){
+        return _placedCount;
+    }
+
+    /**
+     * Getter: Retrieves the number of rows that could not be parsed or whose bird was rejected
+     */
+    public long getFailureCount(){
+        return _failureCount;
+    }
+
+    /**
+     * Getter: Retrieves the failed rows. Only the first failures are kept, see getFailureCount for the total number
+     */
+    public List<RowFailure> getFailures(){
+        return _failures;
+    }
+
+    /**
+     * Getter: Retrieves the time the import took, in nanoseconds
+     */
+    public long getElapsedNanos(){
+        return _elapsedNanos;
+    }
+
+    /**
+     * Retrieves the average number of rows imported per second.
+     */
+    public double getRowsPerSecond(){
+        return _elapsedNanos > 0 ? _rowCount * 1e9 / _elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s rows, %s placed, %s failed, %.0f rows/s", _rowCount, _placedCount, _failureCount, getRowsPerSecond());
+    }
+}
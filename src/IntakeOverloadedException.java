@@ -0,0 +1,17 @@
+/**
+ * Thrown when the rescue intake is saturated and cannot accept another rescue request in time.
+ * Unlike RescueRejectedException, the bird itself may be valid and can be submitted again later.
+ */
+public class IntakeOverloadedException extends Exception {
+    /**
+     * Represents the version of the serialized form of the exception
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor: Creates the exception with the description of the overload.
+     */
+    public IntakeOverloadedException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Immutable snapshot of the occupancy of a conservatory: number of birds per classification and bird type,
+ * number of aviaries per compatibility group, and the free capacity of the aviaries.
+ */
+public final class OccupancySnapshot {
+    /**
+     * Stores the number of birds of every classification, indexed by classification ordinal
+     */
+    private final int[] _birdsByClassification;
+
+    /**
+     * Stores the number of birds of every bird type, indexed by bird type ordinal
+     */
+    private final int[] _birdsByType;
+
+    /**
+     * Stores the number of occupied aviaries of every compatibility group, indexed by group ordinal
+     */
+    private final int[] _aviariesByGroup;
+
+    /**
+     * Represents the number of housed birds
+     */
+    private final int _birdCount;
+
+    /**
+     * Represents the number of aviaries
+     */
+    private final int _aviaryCount;
+
+    /**
+     * Represents the total capacity of the aviaries
+     */
+    private final long _capacity;
+
+    /**
+     * Constructor: Creates the snapshot. The arrays are owned by the snapshot and must not be modified afterwards.
+     */
+    OccupancySnapshot(int[] birdsByClassification, int[] birdsByType, int[] aviariesByGroup, int birdCount,
+                      int aviaryCount, long capacity){
+        _birdsByClassification = birdsByClassification;
+        _birdsByType = birdsByType;
+        _aviariesByGroup = aviariesByGroup;
+        _birdCount = birdCount;
+        _aviaryCount = aviaryCount;
+        _capacity = capacity;
+    }
+
+    /**
+     * Getter: Retrieves the number of housed birds.
+     */
+    public int getBirdCount(){
+        return _birdCount;
+    }
+
+    /**
+     * Getter: Retrieves the number of housed birds of the classification.
+     */
+    public int getBirdCount(BirdClassification classification){
+        return _birdsByClassification[classification.ordinal()];
+    }
+
+    /**
+     * Getter: Retrieves the number of housed birds of the bird type.
+     */
+    public int getBirdCount(BirdType birdType){
+        return _birdsByType[birdType.ordinal()];
+    }
+
+    /**
+     * Getter: Retrieves the number of aviaries, including empty ones.
+     */
+    public int getAviaryCount(){
+        return _aviaryCount;
+    }
+
+    /**
+     * Getter: Retrieves the number of aviaries that house birds of the compatibility group.
+     */
+    public int getAviaryCount(CompatibilityGroup group){
+        return _aviariesByGroup[group.ordinal()];
+    }
+
+    /**
+     * Getter: Retrieves the number of aviaries that house no birds.
+     */
+    public int getEmptyAviaryCount(){
+        var occupied = 0;
+        for (var count : _aviariesByGroup)
+            occupied += count;
+        return _aviaryCount - occupied;
+    }
+
+    /**
+     * Getter: Retrieves the total capacity of the aviaries.
+     */
+    public long getCapacity(){
+        return _capacity;
+    }
+
+    /**
+     * Getter: Retrieves the number of birds the aviaries can still house.
+     */
+    public long getFreeCapacity(){
+        return _capacity - _birdCount;
+    }
+}
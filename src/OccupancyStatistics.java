@@ -0,0 +1,159 @@
+/**
+ * Conservatory-wide occupancy statistics. Listens to aviary changes and applies every rescued or removed bird as
+ * a delta to its counters, so the totals are never recomputed by visiting the aviaries. After a change an immutable
+ * snapshot is published, therefore readers on any thread get consistent totals without locking.
+ * Counters are updated by the thread that changes the aviaries. Changes made within a batch, e.g. a batch of rescues,
+ * are published once at the end of the batch instead of once per bird.
+ */
+public final class OccupancyStatistics implements IAviaryListener {
+    /**
+     * Stores the number of birds of every classification, indexed by classification ordinal
+     */
+    private final int[] _birdsByClassification;
+
+    /**
+     * Stores the number of birds of every bird type, indexed by bird type ordinal
+     */
+    private final int[] _birdsByType;
+
+    /**
+     * Stores the number of occupied aviaries of every compatibility group, indexed by group ordinal
+     */
+    private final int[] _aviariesByGroup;
+
+    /**
+     * Represents the number of housed birds
+     */
+    private int _birdCount;
+
+    /**
+     * Represents the number of registered aviaries
+     */
+    private int _aviaryCount;
+
+    /**
+     * Represents the total capacity of the registered aviaries
+     */
+    private long _capacity;
+
+    /**
+     * Represents the number of batches that are in progress
+     */
+    private int _batchDepth;
+
+    /**
+     * Indicates whether the counters changed since the snapshot was published
+     */
+    private boolean _changed;
+
+    /**
+     * Latest published snapshot of the counters
+     */
+    private volatile OccupancySnapshot _snapshot;
+
+    /**
+     * Constructor: Creates empty statistics.
+     */
+    public OccupancyStatistics(){
+        _birdsByClassification = new int[BirdClassification.values().length];
+        _birdsByType = new int[BirdType.values().length];
+        _aviariesByGroup = new int[CompatibilityGroup.values().length];
+        publish();
+    }
+
+    /**
+     * Adds the aviary and every bird it houses into the statistics and subscribes to the changes of the aviary.
+     */
+    public void register(Aviary aviary){
+        aviary.addListener(this);
+        _aviaryCount++;
+        _capacity += aviary.getCapacity();
+        var birds = aviary.getCurrentBirds();
+        for (var bird : birds)
+            count(bird, 1);
+        if(!birds.isEmpty())
+            countAviary(birds.get(0), 1);
+        changed();
+    }
+
+    /**
+     * Getter: Retrieves the latest published snapshot of the statistics. Does not lock.
+     */
+    public OccupancySnapshot getSnapshot(){
+        return _snapshot;
+    }
+
+    /**
+     * Starts a batch of changes. The changes are published when the outermost batch ends.
+     */
+    public void beginBatch(){
+        _batchDepth++;
+    }
+
+    /**
+     * Ends the batch of changes and publishes the snapshot if the outermost batch ended and the counters changed.
+     */
+    public void endBatch(){
+        if(--_batchDepth == 0 && _changed)
+            publish();
+    }
+
+    @Override
+    public void onBirdAdded(Aviary aviary, Bird bird) {
+        count(bird, 1);
+        if(aviary.getCurrentBirds().size() == 1)
+            countAviary(bird, 1);
+        changed();
+    }
+
+    @Override
+    public void onBirdRemoved(Aviary aviary, Bird bird) {
+        count(bird, -1);
+        if(aviary.getCurrentBirds().isEmpty())
+            countAviary(bird, -1);
+        changed();
+    }
+
+    @Override
+    public void onAviaryRemoved(Aviary aviary) {
+        _aviaryCount--;
+        _capacity -= aviary.getCapacity();
+        changed();
+    }
+
+    /**
+     * Applies the delta to the counters of the bird.
+     */
+    private void count(Bird bird, int delta){
+        _birdCount += delta;
+        _birdsByType[bird.getBirdType().ordinal()] += delta;
+        if(bird.getBirdClassification() != null)
+            _birdsByClassification[bird.getBirdClassification().ordinal()] += delta;
+    }
+
+    /**
+     * Applies the delta to the number of occupied aviaries of the compatibility group of the bird.
+     */
+    private void countAviary(Bird bird, int delta){
+        if(bird.getBirdClassification() != null)
+            _aviariesByGroup[CompatibilityGroup.of(bird.getBirdClassification()).ordinal()] += delta;
+    }
+
+    /**
+     * Publishes the snapshot of the changed counters, unless a batch is in progress.
+     */
+    private void changed(){
+        _changed = true;
+        if(_batchDepth == 0)
+            publish();
+    }
+
+    /**
+     * Publishes the snapshot of the current counters.
+     */
+    private void publish(){
+        _snapshot = new OccupancySnapshot(_birdsByClassification.clone(), _birdsByType.clone(),
+                _aviariesByGroup.clone(), _birdCount, _aviaryCount, _capacity);
+        _changed = false;
+    }
+}
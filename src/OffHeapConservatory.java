@@ -0,0 +1,784 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Conservatory that keeps its population outside of the Java heap. Aviaries and birds are stored as fixed-width
+ * records in direct buffers, the unique identifiers of the birds are indexed by an open addressing hash table
+ * in a direct buffer as well. The heap only holds the traits of the species, a few list heads and the food ledger,
+ * therefore its size does not depend on the number of birds.
+ * Bird objects are not kept: only the properties shared by the species of a bird are stored, so listings show
+ * those properties and features of particular birds such as the vocabulary of a parrot are not retained.
+ * Aviaries are exposed through views implementing IAviary. Not thread-safe.
+ */
+public final class OffHeapConservatory implements IConservatory {
+    /**
+     * Stores every food type, indexed by ordinal
+     */
+    private static final FoodType[] FOOD_TYPES = FoodType.values();
+
+    /**
+     * Represents the size of an identifier field: a length byte followed by up to 39 ASCII characters
+     */
+    private static final int ID_BYTES = 40;
+
+    /**
+     * Represents a missing record
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Offsets of the fields of a bird record
+     */
+    private static final int BIRD_ID = 0;
+    private static final int BIRD_TYPE = 40;
+    private static final int BIRD_CLASSIFICATION = 41;
+    private static final int BIRD_SPECIES = 42;
+    private static final int BIRD_AVIARY = 44;
+    private static final int BIRD_NEXT = 48;
+    private static final int BIRD_PREV = 52;
+    private static final int BIRD_HASH = 56;
+    private static final int BIRD_RECORD_SIZE = 64;
+
+    /**
+     * Offsets of the fields of an aviary record. Occupancy of every classification is stored from AVIARY_OCCUPANCY
+     */
+    private static final int AVIARY_ID = 0;
+    private static final int AVIARY_CAPACITY = 40;
+    private static final int AVIARY_COUNT = 44;
+    private static final int AVIARY_GROUP = 48;
+    private static final int AVIARY_FIRST_BIRD = 52;
+    private static final int AVIARY_LAST_BIRD = 56;
+    private static final int AVIARY_OPEN_PREV = 60;
+    private static final int AVIARY_OPEN_NEXT = 64;
+    private static final int AVIARY_EMPTY_PREV = 68;
+    private static final int AVIARY_EMPTY_NEXT = 72;
+    private static final int AVIARY_LISTS = 76;
+    private static final int AVIARY_OCCUPANCY = 80;
+    private static final int AVIARY_RECORD_SIZE = 112;
+
+    /**
+     * Flags of the aviary lists an aviary is linked into
+     */
+    private static final int OPEN_LIST = 1;
+    private static final int EMPTY_LIST = 2;
+
+    /**
+     * Represents the index of the list of empty aviaries. Lists of open aviaries are indexed by group ordinal
+     */
+    private static final int EMPTY = CompatibilityGroup.values().length;
+
+    /**
+     * Stores the bird types in alphabetical order. Used to print the sorted birds
+     */
+    private static final BirdType[] SORTED_TYPES = Arrays.stream(BirdType.values())
+            .sorted(Comparator.comparingInt(SortedBirdIndex::rankOf)).toArray(BirdType[]::new);
+
+    /**
+     * Stores the bird records
+     */
+    private final OffHeapRecordTable _birds;
+
+    /**
+     * Stores the aviary records in creation order
+     */
+    private final OffHeapRecordTable _aviaries;
+
+    /**
+     * Hash table of bird records keyed by unique identifier. Every slot stores the bird record + 1, 0 if empty
+     */
+    private OffHeapRecordTable _idIndex;
+
+    /**
+     * Represents the number of slots of the hash table - 1. The number of slots is a power of two
+     */
+    private int _idIndexMask;
+
+    /**
+     * Represents the number of bird records ever used. Removed records are reused through the free list
+     */
+    private int _birdRecords;
+
+    /**
+     * Represents the first bird record of the free list
+     */
+    private int _freeBird;
+
+    /**
+     * Represents the number of housed birds
+     */
+    private int _birdCount;
+
+    /**
+     * Represents the number of aviaries
+     */
+    private int _aviaryCount;
+
+    /**
+     * Stores the first aviary of the list of open aviaries of every group and of the list of empty aviaries
+     */
+    private final int[] _listHeads;
+
+    /**
+     * Stores the last aviary of the list of open aviaries of every group and of the list of empty aviaries
+     */
+    private final int[] _listTails;
+
+    /**
+     * Stores the traits of every species in the conservatory, indexed by species code
+     */
+    private final ArrayList<SpeciesTraits> _species;
+
+    /**
+     * Maps the traits of every species in the conservatory to its species code
+     */
+    private final IdentityHashMap<SpeciesTraits, Integer> _speciesCodes;
+
+    /**
+     * Capacity policy of the conservatory. Defines the capacity of new aviaries and the maximum number of aviaries
+     */
+    private final CapacityPolicy _capacityPolicy;
+
+    /**
+     * Selects the food type that is stored in the food storage for every rescued bird
+     */
+    private final IDietSelector _dietSelector;
+
+    /**
+     * Represents the food storage. Stores information about what type of food is stored in what quantities
+     */
+    private final FoodLedger _foodLedger;
+
+    /**
+     * Constructor: Creates empty conservatory with the default capacity policy.
+     */
+    public OffHeapConservatory(){
+        this(CapacityPolicy.DEFAULT);
+    }
+
+    /**
+     * Constructor: Creates empty conservatory that follows the specified capacity policy.
+     */
+    public OffHeapConservatory(CapacityPolicy capacityPolicy){
+        this(capacityPolicy, DeterministicDietSelector.INSTANCE);
+    }
+
+    /**
+     * Constructor: Creates empty conservatory that follows the specified capacity policy and selects food
+     * with the specified diet selector. Records are allocated up front for the expected population of the policy.
+     */
+    public OffHeapConservatory(CapacityPolicy capacityPolicy, IDietSelector dietSelector){
+        _capacityPolicy = capacityPolicy;
+        _dietSelector = dietSelector;
+        _foodLedger = new FoodLedger();
+        _birds = new OffHeapRecordTable(BIRD_RECORD_SIZE);
+        _birds.ensureCapacity(capacityPolicy.getExpectedBirds());
+        _aviaries = new OffHeapRecordTable(AVIARY_RECORD_SIZE);
+        _aviaries.ensureCapacity(capacityPolicy.getExpectedAviaries());
+        var slots = Integer.highestOneBit(Math.max(16, capacityPolicy.getExpectedBirds() * 2 - 1)) << 1;
+        _idIndex = new OffHeapRecordTable(Integer.BYTES);
+        _idIndex.ensureCapacity(slots);
+        _idIndexMask = slots - 1;
+        _freeBird = NONE;
+        _listHeads = new int[EMPTY + 1];
+        _listTails = new int[EMPTY + 1];
+        Arrays.fill(_listHeads, NONE);
+        Arrays.fill(_listTails, NONE);
+        _species = new ArrayList<>();
+        _speciesCodes = new IdentityHashMap<>();
+    }
+
+    /**
+     * Adds bird to any available aviary. Validates the bird input, checks if the bird can be rescued and adds
+     * required food to the food storage.
+     * @throws RescueRejectedException if the bird is either extinct, already added in the aviary, the maximum capacity has been reached
+     *                   or there is a conflicting types of birds such that no new addition of this particular bird type
+     *                   can be housed
+     */
+    public void rescueBird(Bird bird) throws RescueRejectedException {
+        var result = place(bird);
+        if(!result.isPlaced())
+            throw new RescueRejectedException(result.getRejectionReason());
+        _foodLedger.add(_dietSelector.selectFood(bird), 5);
+    }
+
+    /**
+     * Tries to rescue every bird of the batch. Food storage is updated once per food type.
+     * @return result of every bird in the order of the input collection: placed aviary id or rejection reason
+     */
+    public ArrayList<RescueResult> rescueBirds(Collection<Bird> birds){
+        var results = new ArrayList<RescueResult>(birds.size());
+        var foodUnits = new int[FOOD_TYPES.length];
+        for (var bird : birds){
+            var result = bird == null ? new RescueResult(null, null, "Cannot rescue missing bird") : place(bird);
+            if(result.isPlaced())
+                foodUnits[_dietSelector.selectFood(bird).ordinal()] += 5;
+            results.add(result);
+        }
+        _foodLedger.addAll(foodUnits);
+        return results;
+    }
+
+    /**
+     * Removes the bird from the aviary that houses it.
+     * @return true if the bird was housed in the conservatory
+     */
+    public boolean removeBird(Bird bird){
+        return removeBird(bird.getId());
+    }
+
+    /**
+     * Removes the bird with the specified unique identifier from the aviary that houses it.
+     * @return true if the bird was housed in the conservatory
+     */
+    public boolean removeBird(String id){
+        var record = findBird(id);
+        if(record == NONE)
+            return false;
+
+        var aviary = _birds.getInt(record, BIRD_AVIARY);
+        var prev = _birds.getInt(record, BIRD_PREV);
+        var next = _birds.getInt(record, BIRD_NEXT);
+        if(prev != NONE)
+            _birds.putInt(prev, BIRD_NEXT, next);
+        else
+            _aviaries.putInt(aviary, AVIARY_FIRST_BIRD, next);
+        if(next != NONE)
+            _birds.putInt(next, BIRD_PREV, prev);
+        else
+            _aviaries.putInt(aviary, AVIARY_LAST_BIRD, prev);
+
+        var occupancy = AVIARY_OCCUPANCY + _birds.getByte(record, BIRD_CLASSIFICATION) * Integer.BYTES;
+        _aviaries.putInt(aviary, occupancy, _aviaries.getInt(aviary, occupancy) - 1);
+        _aviaries.putInt(aviary, AVIARY_COUNT, _aviaries.getInt(aviary, AVIARY_COUNT) - 1);
+        removeFromIndex(record);
+
+        _birds.putInt(record, BIRD_AVIARY, NONE);
+        _birds.putInt(record, BIRD_NEXT, _freeBird);
+        _freeBird = record;
+        _birdCount--;
+
+        updateLists(aviary);
+        if(_aviaries.getInt(aviary, AVIARY_COUNT) == 0)
+            _aviaries.putInt(aviary, AVIARY_GROUP, NONE);
+        return true;
+    }
+
+    /**
+     * Sorts the birds in alphabetical order and displays the sorted birds with their respective aviary id.
+     */
+    public void printSortedBirds(){
+        try {
+            printSortedBirds(System.out);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the birds in alphabetical order with their respective aviary id to the specified target.
+     * Birds of the same type are written from the most recently created aviary, in the order they were rescued.
+     * @throws IOException if the target cannot be written to
+     */
+    public void printSortedBirds(Appendable out) throws IOException {
+        var writer = new ReportWriter(out);
+        for (var birdType : SORTED_TYPES){
+            var type = (byte) birdType.ordinal();
+            for(int aviary = _aviaryCount - 1; aviary >= 0; --aviary){
+                String aviaryId = null;
+                for(int bird = _aviaries.getInt(aviary, AVIARY_FIRST_BIRD); bird != NONE; bird = _birds.getInt(bird, BIRD_NEXT)){
+                    if(_birds.getByte(bird, BIRD_TYPE) != type)
+                        continue;
+                    if(aviaryId == null)
+                        aviaryId = _aviaries.getAscii(aviary, AVIARY_ID);
+                    writer.writeSortedBird(birdType, aviaryId);
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Prints all aviaries with their respective collection of birds and their specifications.
+     */
+    public void listAllAviaries(){
+        try {
+            listAllAviaries(System.out);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes all aviaries with their respective collection of birds and the specifications of their species
+     * to the specified target.
+     * @throws IOException if the target cannot be written to
+     */
+    public void listAllAviaries(Appendable out) throws IOException {
+        var writer = new ReportWriter(out);
+        var birdTypes = BirdType.values();
+        var classifications = BirdClassification.values();
+        for(int aviary = 0; aviary < _aviaryCount; ++aviary){
+            writer.writeAviaryHeader(_aviaries.getAscii(aviary, AVIARY_ID));
+            var counter = 1;
+            for(int bird = _aviaries.getInt(aviary, AVIARY_FIRST_BIRD); bird != NONE; bird = _birds.getInt(bird, BIRD_NEXT)){
+                writer.writeAviarySpecies(counter++, birdTypes[_birds.getByte(bird, BIRD_TYPE)],
+                        classifications[_birds.getByte(bird, BIRD_CLASSIFICATION)],
+                        _species.get(_birds.getShort(bird, BIRD_SPECIES)));
+            }
+            writer.writeAviaryFooter();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Prints the food storage contents for each type of food stored, respective amount the number of weeks this
+     * food will feed a single bird.
+     */
+    public void listFoodStorageContents(){
+        try {
+            listFoodStorageContents(System.out);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the food storage contents for each type of food stored, respective amount the number of weeks this
+     * food will feed a single bird to the specified target.
+     * @throws IOException if the target cannot be written to
+     */
+    public void listFoodStorageContents(Appendable out) throws IOException {
+        var writer = new ReportWriter(out);
+        var snapshot = _foodLedger.snapshot();
+        for (var food : FOOD_TYPES){
+            if(snapshot.get(food) != 0)
+                writer.writeFood(food, snapshot.get(food));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Provides lookup for a specific bird in the conservatory.
+     * @return unique identifier of the aviary where the bird is housed, null if not found in any aviary
+     */
+    public String searchAviaryByBird(Bird bird){
+        var record = findBird(bird.getId());
+        return record != NONE ? _aviaries.getAscii(_birds.getInt(record, BIRD_AVIARY), AVIARY_ID) : null;
+    }
+
+    /**
+     * Checks if the conservatory has reached its maximum capacity of aviaries
+     */
+    public boolean isFull(){
+        return _aviaryCount >= _capacityPolicy.getMaximumAviaries();
+    }
+
+    /**
+     * Getter: Retrieves an immutable snapshot of the food storage of the conservatory. Quantities above
+     * Integer.MAX_VALUE are reported as Integer.MAX_VALUE; the food ledger holds the exact quantities.
+     * @return unmodifiable map of food type with their respective quantity.
+     */
+    public Map<FoodType, Integer> getFoodStorage(){
+        return _foodLedger.snapshot().asMap();
+    }
+
+    /**
+     * Getter: Retrieves the food ledger of the conservatory
+     */
+    public FoodLedger getFoodLedger(){
+        return _foodLedger;
+    }
+
+    /**
+     * Getter: Retrieves the number of aviaries of the conservatory
+     */
+    public int getAviaryCount(){
+        return _aviaryCount;
+    }
+
+    /**
+     * Getter: Retrieves the number of birds housed in the conservatory
+     */
+    public int getBirdCount(){
+        return _birdCount;
+    }
+
+    /**
+     * Getter: Retrieves the number of bytes allocated outside of the heap for aviaries, birds and the identifier index
+     */
+    public long getOffHeapBytes(){
+        return _aviaries.allocatedBytes() + _birds.allocatedBytes() + _idIndex.allocatedBytes();
+    }
+
+    /**
+     * Creates a view of the aviary with the specified index. Aviaries are indexed in creation order.
+     */
+    public OffHeapAviary getAviary(int index){
+        if(index < 0 || index >= _aviaryCount)
+            throw new IndexOutOfBoundsException(String.format("Aviary %s is out of bounds for %s aviaries", index, _aviaryCount));
+        return new OffHeapAviary(index);
+    }
+
+    /**
+     * Places the bird into an aviary of its group, into an empty aviary or into a new aviary, in this order.
+     * @return placed aviary id or rejection reason
+     */
+    private RescueResult place(Bird bird){
+        if(bird.checkIfExtinct())
+            return new RescueResult(bird, null, "Cannot rescue extinct bird");
+        if(findBird(bird.getId()) != NONE)
+            return new RescueResult(bird, null,
+                    String.format("The bird with id: %s already exists in the conservatoire", bird.getId()));
+        if(!OffHeapRecordTable.fitsAscii(bird.getId(), ID_BYTES))
+            return new RescueResult(bird, null, String.format("The bird id: %s cannot be stored off-heap", bird.getId()));
+
+        var group = CompatibilityGroup.of(bird.getBirdClassification()).ordinal();
+        var aviary = _listHeads[group] != NONE ? _listHeads[group] : _listHeads[EMPTY];
+        if(aviary == NONE && !isFull()){
+            var id = IdGenerator.nextId();
+            if(!OffHeapRecordTable.fitsAscii(id, ID_BYTES))
+                return new RescueResult(bird, null, String.format("The aviary id: %s cannot be stored off-heap", id));
+            aviary = createAviary(id);
+        }
+        if(aviary == NONE || !addBird(aviary, bird))
+            return new RescueResult(bird, null, "The following bird cannot be added into any aviary");
+        return new RescueResult(bird, _aviaries.getAscii(aviary, AVIARY_ID), null);
+    }
+
+    /**
+     * Adds the bird into the aviary if the aviary has free space and houses birds of the same group.
+     * @return true if the bird was added
+     * @throws IllegalArgumentException if the unique identifier of the bird is not ASCII or longer than 39 characters
+     */
+    private boolean addBird(int aviary, Bird bird){
+        if(!OffHeapRecordTable.fitsAscii(bird.getId(), ID_BYTES))
+            throw new IllegalArgumentException(String.format("The bird id: %s cannot be stored off-heap", bird.getId()));
+        var count = _aviaries.getInt(aviary, AVIARY_COUNT);
+        var group = CompatibilityGroup.of(bird.getBirdClassification()).ordinal();
+        var aviaryGroup = _aviaries.getInt(aviary, AVIARY_GROUP);
+        if(count >= _aviaries.getInt(aviary, AVIARY_CAPACITY) || (aviaryGroup != NONE && aviaryGroup != group))
+            return false;
+        if(findBird(bird.getId()) != NONE)
+            return false;
+
+        var record = allocateBird();
+        _birds.putAscii(record, BIRD_ID, ID_BYTES, bird.getId());
+        _birds.putByte(record, BIRD_TYPE, (byte) bird.getBirdType().ordinal());
+        _birds.putByte(record, BIRD_CLASSIFICATION, (byte) bird.getBirdClassification().ordinal());
+        _birds.putShort(record, BIRD_SPECIES, speciesCodeOf(bird.getTraits()));
+        _birds.putInt(record, BIRD_AVIARY, aviary);
+        _birds.putInt(record, BIRD_HASH, hash(bird.getId()));
+
+        var last = _aviaries.getInt(aviary, AVIARY_LAST_BIRD);
+        _birds.putInt(record, BIRD_PREV, last);
+        _birds.putInt(record, BIRD_NEXT, NONE);
+        if(last != NONE)
+            _birds.putInt(last, BIRD_NEXT, record);
+        else
+            _aviaries.putInt(aviary, AVIARY_FIRST_BIRD, record);
+        _aviaries.putInt(aviary, AVIARY_LAST_BIRD, record);
+
+        var occupancy = AVIARY_OCCUPANCY + bird.getBirdClassification().ordinal() * Integer.BYTES;
+        _aviaries.putInt(aviary, occupancy, _aviaries.getInt(aviary, occupancy) + 1);
+        _aviaries.putInt(aviary, AVIARY_COUNT, count + 1);
+        _aviaries.putInt(aviary, AVIARY_GROUP, group);
+        addToIndex(record);
+        _birdCount++;
+
+        updateLists(aviary);
+        return true;
+    }
+
+    /**
+     * Creates a new empty aviary with the specified unique identifier and the capacity of the policy and links it into
+     * the list of empty aviaries. The identifier must fit into the identifier field.
+     * @return index of the aviary
+     */
+    private int createAviary(String id){
+        _aviaries.ensureCapacity(_aviaryCount + 1);
+        var aviary = _aviaryCount;
+        _aviaries.putAscii(aviary, AVIARY_ID, ID_BYTES, id);
+        _aviaryCount++;
+        _aviaries.putInt(aviary, AVIARY_CAPACITY, _capacityPolicy.getAviaryCapacity());
+        _aviaries.putInt(aviary, AVIARY_COUNT, 0);
+        _aviaries.putInt(aviary, AVIARY_GROUP, NONE);
+        _aviaries.putInt(aviary, AVIARY_FIRST_BIRD, NONE);
+        _aviaries.putInt(aviary, AVIARY_LAST_BIRD, NONE);
+        _aviaries.putInt(aviary, AVIARY_LISTS, 0);
+        updateLists(aviary);
+        return aviary;
+    }
+
+    /**
+     * Links the aviary into the list of open aviaries of its group if it houses birds and has free space,
+     * and into the list of empty aviaries if it houses no birds. Unlinks it from the lists it no longer belongs to.
+     */
+    private void updateLists(int aviary){
+        var count = _aviaries.getInt(aviary, AVIARY_COUNT);
+        var lists = _aviaries.getInt(aviary, AVIARY_LISTS);
+        var open = count > 0 && count < _aviaries.getInt(aviary, AVIARY_CAPACITY);
+        if(open != ((lists & OPEN_LIST) != 0)){
+            var group = _aviaries.getInt(aviary, AVIARY_GROUP);
+            if(open)
+                link(aviary, group, AVIARY_OPEN_PREV, AVIARY_OPEN_NEXT);
+            else
+                unlink(aviary, group, AVIARY_OPEN_PREV, AVIARY_OPEN_NEXT);
+            lists ^= OPEN_LIST;
+        }
+        var empty = count == 0;
+        if(empty != ((lists & EMPTY_LIST) != 0)){
+            if(empty)
+                link(aviary, EMPTY, AVIARY_EMPTY_PREV, AVIARY_EMPTY_NEXT);
+            else
+                unlink(aviary, EMPTY, AVIARY_EMPTY_PREV, AVIARY_EMPTY_NEXT);
+            lists ^= EMPTY_LIST;
+        }
+        _aviaries.putInt(aviary, AVIARY_LISTS, lists);
+    }
+
+    /**
+     * Links the aviary at the end of the list.
+     */
+    private void link(int aviary, int list, int prevOffset, int nextOffset){
+        var tail = _listTails[list];
+        _aviaries.putInt(aviary, prevOffset, tail);
+        _aviaries.putInt(aviary, nextOffset, NONE);
+        if(tail != NONE)
+            _aviaries.putInt(tail, nextOffset, aviary);
+        else
+            _listHeads[list] = aviary;
+        _listTails[list] = aviary;
+    }
+
+    /**
+     * Unlinks the aviary from the list.
+     */
+    private void unlink(int aviary, int list, int prevOffset, int nextOffset){
+        var prev = _aviaries.getInt(aviary, prevOffset);
+        var next = _aviaries.getInt(aviary, nextOffset);
+        if(prev != NONE)
+            _aviaries.putInt(prev, nextOffset, next);
+        else
+            _listHeads[list] = next;
+        if(next != NONE)
+            _aviaries.putInt(next, prevOffset, prev);
+        else
+            _listTails[list] = prev;
+    }
+
+    /**
+     * Takes a bird record from the free list or allocates a new one.
+     */
+    private int allocateBird(){
+        if(_freeBird != NONE){
+            var record = _freeBird;
+            _freeBird = _birds.getInt(record, BIRD_NEXT);
+            return record;
+        }
+        _birds.ensureCapacity(_birdRecords + 1L);
+        return _birdRecords++;
+    }
+
+    /**
+     * Finds the record of the bird with the specified unique identifier.
+     * @return bird record, NONE if the bird is not housed in the conservatory
+     */
+    private int findBird(String id){
+        for(int slot = hash(id) & _idIndexMask; ; slot = (slot + 1) & _idIndexMask){
+            var entry = _idIndex.getInt(slot, 0);
+            if(entry == 0)
+                return NONE;
+            if(_birds.asciiEquals(entry - 1, BIRD_ID, id))
+                return entry - 1;
+        }
+    }
+
+    /**
+     * Adds the bird record into the identifier index. Doubles the index once it is half full.
+     */
+    private void addToIndex(int record){
+        if((_birdCount + 1L) * 2 > _idIndexMask + 1L)
+            resizeIndex((_idIndexMask + 1) * 2);
+        var slot = _birds.getInt(record, BIRD_HASH) & _idIndexMask;
+        while (_idIndex.getInt(slot, 0) != 0)
+            slot = (slot + 1) & _idIndexMask;
+        _idIndex.putInt(slot, 0, record + 1);
+    }
+
+    /**
+     * Removes the bird record from the identifier index. Following entries are shifted back, so that lookups never
+     * stop at the freed slot before reaching their entry.
+     */
+    private void removeFromIndex(int record){
+        var slot = _birds.getInt(record, BIRD_HASH) & _idIndexMask;
+        while (_idIndex.getInt(slot, 0) != record + 1)
+            slot = (slot + 1) & _idIndexMask;
+
+        for(int next = (slot + 1) & _idIndexMask; ; next = (next + 1) & _idIndexMask){
+            var entry = _idIndex.getInt(next, 0);
+            if(entry == 0)
+                break;
+            var home = _birds.getInt(entry - 1, BIRD_HASH) & _idIndexMask;
+            if(((next - home) & _idIndexMask) >= ((next - slot) & _idIndexMask)){
+                _idIndex.putInt(slot, 0, entry);
+                slot = next;
+            }
+        }
+        _idIndex.putInt(slot, 0, 0);
+    }
+
+    /**
+     * Moves every entry of the identifier index into a new index with the specified number of slots.
+     */
+    private void resizeIndex(int slots){
+        var previous = _idIndex;
+        var previousSlots = _idIndexMask + 1;
+        _idIndex = new OffHeapRecordTable(Integer.BYTES);
+        _idIndex.ensureCapacity(slots);
+        _idIndexMask = slots - 1;
+        for(int i = 0; i < previousSlots; ++i){
+            var entry = previous.getInt(i, 0);
+            if(entry == 0)
+                continue;
+            var slot = _birds.getInt(entry - 1, BIRD_HASH) & _idIndexMask;
+            while (_idIndex.getInt(slot, 0) != 0)
+                slot = (slot + 1) & _idIndexMask;
+            _idIndex.putInt(slot, 0, entry);
+        }
+    }
+
+    /**
+     * Retrieves the species code of the traits. Adds the species into the conservatory if it is not there yet.
+     */
+    private short speciesCodeOf(SpeciesTraits traits){
+        var code = _speciesCodes.get(traits);
+        if(code == null){
+            code = _species.size();
+            _species.add(traits);
+            _speciesCodes.put(traits, code);
+        }
+        return code.shortValue();
+    }
+
+    /**
+     * Computes the hash of the unique identifier. Spreads the higher bits, as the index uses the lower bits only.
+     */
+    private static int hash(String id){
+        var h = id.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * View of a single aviary record. Reads and modifies the record through the conservatory.
+     */
+    public final class OffHeapAviary implements IAviary {
+        /**
+         * Index of the aviary record
+         */
+        private final int _index;
+
+        /**
+         * Constructor: Creates the view of the aviary record
+         */
+        private OffHeapAviary(int index){
+            _index = index;
+        }
+
+        /**
+         * Adds the bird into the aviary if it has free space, houses compatible birds and the bird is not housed
+         * anywhere in the conservatory. Does not add food into the food storage.
+         */
+        @Override
+        public boolean tryAddBird(Bird bird) {
+            return !bird.checkIfExtinct() && addBird(_index, bird);
+        }
+
+        @Override
+        public void removeBird(Bird bird) {
+            removeBird(bird.getId());
+        }
+
+        /**
+         * Removes the bird with the specified unique identifier if the aviary houses it.
+         */
+        @Override
+        public void removeBird(String id) {
+            var record = findBird(id);
+            if(record != NONE && _birds.getInt(record, BIRD_AVIARY) == _index)
+                OffHeapConservatory.this.removeBird(id);
+        }
+
+        @Override
+        public boolean exists(Bird bird) {
+            var record = findBird(bird.getId());
+            return record != NONE && _birds.getInt(record, BIRD_AVIARY) == _index;
+        }
+
+        /**
+         * Validates that birds of prey, flightless birds and waterfowl are not housed together with other classifications.
+         */
+        @Override
+        public boolean validateAviary() {
+            var classifications = 0;
+            for (var classification : BirdClassification.values()){
+                if(getOccupancy(classification) > 0)
+                    classifications++;
+            }
+            if(classifications <= 1)
+                return true;
+            return getOccupancy(BirdClassification.BIRD_OF_PREY) == 0 && getOccupancy(BirdClassification.FLIGHTLESS) == 0
+                    && getOccupancy(BirdClassification.WATERFOWL) == 0;
+        }
+
+        @Override
+        public boolean isFull() {
+            return getBirdCount() >= getCapacity();
+        }
+
+        /**
+         * Getter: Retrieves the unique identifier of the aviary.
+         */
+        public String getId(){
+            return _aviaries.getAscii(_index, AVIARY_ID);
+        }
+
+        /**
+         * Getter: Retrieves the total number of birds the aviary can house.
+         */
+        public int getCapacity(){
+            return _aviaries.getInt(_index, AVIARY_CAPACITY);
+        }
+
+        /**
+         * Getter: Retrieves the number of birds housed in the aviary.
+         */
+        public int getBirdCount(){
+            return _aviaries.getInt(_index, AVIARY_COUNT);
+        }
+
+        /**
+         * Getter: Retrieves the number of birds of the classification housed in the aviary.
+         */
+        public int getOccupancy(BirdClassification classification){
+            return _aviaries.getInt(_index, AVIARY_OCCUPANCY + classification.ordinal() * Integer.BYTES);
+        }
+
+        /**
+         * Getter: Retrieves the compatibility group of the birds housed in the aviary.
+         * @return compatibility group, null if the aviary is empty
+         */
+        public CompatibilityGroup getCompatibilityGroup(){
+            var group = _aviaries.getInt(_index, AVIARY_GROUP);
+            return group != NONE ? CompatibilityGroup.values()[group] : null;
+        }
+    }
+}
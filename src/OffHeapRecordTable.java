@@ -0,0 +1,185 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Table of fixed-width records stored outside of the Java heap. Records are allocated in direct buffers of
+ * a fixed size, therefore the table grows without copying existing records and is not limited by the maximum size
+ * of a single buffer. A record never spans two buffers.
+ */
+final class OffHeapRecordTable {
+    /**
+     * Represents the size of a single direct buffer in bytes
+     */
+    private static final int CHUNK_BYTES = 1 << 24;
+
+    /**
+     * Represents the size of a single record in bytes
+     */
+    private final int _recordSize;
+
+    /**
+     * Represents the number of records stored in a single buffer
+     */
+    private final int _recordsPerChunk;
+
+    /**
+     * Stores the direct buffers of the table
+     */
+    private ByteBuffer[] _chunks;
+
+    /**
+     * Represents the number of records that fit into the allocated buffers
+     */
+    private long _capacity;
+
+    /**
+     * Constructor: Creates an empty table of records of the specified size.
+     */
+    OffHeapRecordTable(int recordSize){
+        if(recordSize <= 0 || recordSize > CHUNK_BYTES)
+            throw new IllegalArgumentException("Record size must be positive and fit into a single buffer");
+        _recordSize = recordSize;
+        _recordsPerChunk = CHUNK_BYTES / recordSize;
+        _chunks = new ByteBuffer[0];
+    }
+
+    /**
+     * Allocates buffers until the specified number of records fits into the table. New records are zeroed.
+     * The first buffer is sized for the requested records and is grown by copying until it reaches the full size,
+     * afterwards full buffers are appended and existing records are never copied.
+     */
+    void ensureCapacity(long records){
+        while (_capacity < records){
+            if(_chunks.length == 1 && _capacity < _recordsPerChunk){
+                var size = (int) Math.min(Math.max(records, _capacity * 2), _recordsPerChunk);
+                var grown = allocate(size);
+                grown.put(_chunks[0].clear());
+                _chunks[0] = grown;
+                _capacity = size;
+            }
+            else {
+                var size = _chunks.length == 0 ? (int) Math.min(records, _recordsPerChunk) : _recordsPerChunk;
+                _chunks = Arrays.copyOf(_chunks, _chunks.length + 1);
+                _chunks[_chunks.length - 1] = allocate(size);
+                _capacity += size;
+            }
+        }
+    }
+
+    /**
+     * Getter: Retrieves the number of records that fit into the allocated buffers.
+     */
+    long capacity(){
+        return _capacity;
+    }
+
+    /**
+     * Getter: Retrieves the number of allocated bytes.
+     */
+    long allocatedBytes(){
+        var bytes = 0L;
+        for (var chunk : _chunks)
+            bytes += chunk.capacity();
+        return bytes;
+    }
+
+    byte getByte(int record, int offset){
+        return chunk(record).get(position(record, offset));
+    }
+
+    void putByte(int record, int offset, byte value){
+        chunk(record).put(position(record, offset), value);
+    }
+
+    short getShort(int record, int offset){
+        return chunk(record).getShort(position(record, offset));
+    }
+
+    void putShort(int record, int offset, short value){
+        chunk(record).putShort(position(record, offset), value);
+    }
+
+    int getInt(int record, int offset){
+        return chunk(record).getInt(position(record, offset));
+    }
+
+    void putInt(int record, int offset, int value){
+        chunk(record).putInt(position(record, offset), value);
+    }
+
+    /**
+     * Checks if the string can be written by putAscii into a field of the specified size.
+     */
+    static boolean fitsAscii(String value, int fieldSize){
+        if(value.length() >= fieldSize)
+            return false;
+        for(int i = 0; i < value.length(); ++i){
+            if(value.charAt(i) > 127)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the ASCII string into the record as a length byte followed by the characters.
+     * @throws IllegalArgumentException if the string does not fit into the field or is not ASCII
+     */
+    void putAscii(int record, int offset, int fieldSize, String value){
+        if(!fitsAscii(value, fieldSize))
+            throw new IllegalArgumentException(String.format("Value %s does not fit into %s ASCII bytes", value, fieldSize));
+        var chunk = chunk(record);
+        var position = position(record, offset);
+        chunk.put(position, (byte) value.length());
+        for(int i = 0; i < value.length(); ++i)
+            chunk.put(position + 1 + i, (byte) value.charAt(i));
+    }
+
+    /**
+     * Reads the ASCII string written by putAscii.
+     */
+    String getAscii(int record, int offset){
+        var chunk = chunk(record);
+        var position = position(record, offset);
+        var chars = new char[chunk.get(position)];
+        for(int i = 0; i < chars.length; ++i)
+            chars[i] = (char) chunk.get(position + 1 + i);
+        return new String(chars);
+    }
+
+    /**
+     * Compares the ASCII string written by putAscii with the value without creating a string.
+     */
+    boolean asciiEquals(int record, int offset, String value){
+        var chunk = chunk(record);
+        var position = position(record, offset);
+        if(chunk.get(position) != value.length())
+            return false;
+        for(int i = 0; i < value.length(); ++i){
+            if(chunk.get(position + 1 + i) != value.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Allocates a zeroed direct buffer for the specified number of records.
+     */
+    private ByteBuffer allocate(int records){
+        return ByteBuffer.allocateDirect(records * _recordSize).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Retrieves the buffer the record is stored in.
+     */
+    private ByteBuffer chunk(int record){
+        return _chunks[record / _recordsPerChunk];
+    }
+
+    /**
+     * Computes the position of the field of the record within its buffer.
+     */
+    private int position(int record, int offset){
+        return (record % _recordsPerChunk) * _recordSize + offset;
+    }
+}
@@ -1,19 +1,27 @@
+import java.util.ArrayList;
+
 /**
  * Owl class: Inherits from Bird, implements and overrides some functionality and adds facial disk feature.
  */
 public final class Owl extends Bird {
     /**
-     * Facial disk of the owl which is distinguishable feature
+     * Facial disk of the owl which is distinguishable feature. Shared by every owl
      */
-    private final String _facialDisk;
+    public static final String FACIAL_DISK = "facial disks frame the eyes and bill";
 
     /**
      * Constructor: Calls constructor of the Bird class, and performs validation
      * @param birdType creates Owl object based on bird type provided. sets facial disk parameter.
      */
     public Owl(BirdType birdType) {
-        super(birdType);
-        _facialDisk = "facial disks frame the eyes and bill";
+        this(birdType, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor: Creates Owl object with the specified unique identifier. Used to restore persisted birds.
+     */
+    Owl(BirdType birdType, String id) {
+        super(birdType, id);
         _classification = BirdClassification.OWL;
     }
 
@@ -21,7 +29,7 @@ public final class Owl extends Bird {
      * Getter: Retrieves facial disk feature of the owl
      */
     public String getFacialDisk(){
-        return _facialDisk;
+        return FACIAL_DISK;
     }
 
     /**
@@ -39,8 +47,8 @@ public final class Owl extends Bird {
      * Creates beak according to Owl specification
      */
     @Override
-    protected void generateAndSetBeak() {
-        _beak = new Beak(BeakSize.SHORT,BeakType.HOOKED, false, false);
+    protected Beak generateBeak() {
+        return new Beak(BeakSize.SHORT,BeakType.HOOKED, false, false);
     }
 
     /**
@@ -48,17 +56,17 @@ public final class Owl extends Bird {
      * adds food types specific to the Owl to the food preferences parameter of Bird
      */
     @Override
-    protected void generateAndSetFoodPreferences() {
-        _foodPreferences.add(FoodType.LEAVES);
-        _foodPreferences.add(FoodType.INSECTS);
+    protected void generateFoodPreferences(ArrayList<FoodType> foodPreferences) {
+        foodPreferences.add(FoodType.LEAVES);
+        foodPreferences.add(FoodType.INSECTS);
     }
 
     /**
-     * Overrides Bird toString implementation. Adds feature that is unique for Owl
-     * returns string representation of the Owl object
+     * Overrides Bird appendTo implementation. Adds feature that is unique for Owl
      */
     @Override
-    public String toString() {
-        return super.toString()+String.format("\nInteresting feature:%s",_facialDisk);
+    public void appendTo(StringBuilder sb) {
+        super.appendTo(sb);
+        sb.append("\nInteresting feature:").append(FACIAL_DISK);
     }
 }
@@ -0,0 +1,176 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Alternative engine for the one-shot sort of every bird in the conservatory. Sorts the birds of every aviary
+ * in parallel on a ForkJoinPool and combines the sorted aviaries with a heap-based k-way merge, so every bird is
+ * copied once instead of once per following aviary as in AviaryHelper.getSortedBirds.
+ * Produces exactly the same sequence as AviaryHelper.getSortedBirds.
+ */
+public final class ParallelBirdSorter {
+    /**
+     * Represents the number of aviaries sorted sequentially by a single fork-join task
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 64;
+
+    /**
+     * Pool that sorts the birds of the aviaries
+     */
+    private final ForkJoinPool _pool;
+
+    /**
+     * Constructor: Creates the sorter that uses the common fork-join pool.
+     */
+    public ParallelBirdSorter(){
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor: Creates the sorter that uses the specified fork-join pool.
+     */
+    public ParallelBirdSorter(ForkJoinPool pool){
+        _pool = pool;
+    }
+
+    /**
+     * Sorts birds in aviaries alphabetically by comparing bird types. Birds of the same type are ordered from
+     * the last aviary to the first one, and by their position within the aviary. The aviaries are not modified.
+     * @return sorted list of BirdWithAviaryId objects
+     */
+    public ArrayList<BirdWithAviaryId> getSortedBirds(Conservatory conservatory){
+        return getSortedBirds(conservatory.getAviaries());
+    }
+
+    /**
+     * Sorts birds of the specified aviaries alphabetically by comparing bird types. Birds of the same type are ordered
+     * from the last aviary to the first one, and by their position within the aviary. The aviaries are not modified.
+     * @return sorted list of BirdWithAviaryId objects
+     */
+    public ArrayList<BirdWithAviaryId> getSortedBirds(List<Aviary> aviaries){
+        var sortedAviaries = new BirdWithAviaryId[aviaries.size()][];
+        _pool.invoke(new SortAviaries(aviaries, sortedAviaries, 0, aviaries.size()));
+
+        var total = 0;
+        var heap = new PriorityQueue<Cursor>(Math.max(1, aviaries.size()),
+                Comparator.comparingInt((Cursor o) -> o._rank).thenComparingInt(o -> -o._aviaryIdx));
+        for(int i = 0; i < sortedAviaries.length; ++i){
+            total += sortedAviaries[i].length;
+            if(sortedAviaries[i].length > 0)
+                heap.add(new Cursor(sortedAviaries[i], i));
+        }
+
+        var result = new ArrayList<BirdWithAviaryId>(total);
+        while (!heap.isEmpty()){
+            var cursor = heap.poll();
+            result.add(cursor._birds[cursor._position++]);
+            if(cursor._position < cursor._birds.length){
+                cursor._rank = SortedBirdIndex.rankOf(cursor._birds[cursor._position].getBird().getBirdType());
+                heap.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Position in the sorted birds of a single aviary during the k-way merge.
+     */
+    private static final class Cursor {
+        /**
+         * Stores the sorted birds of the aviary
+         */
+        private final BirdWithAviaryId[] _birds;
+
+        /**
+         * Represents the position of the aviary in the conservatory
+         */
+        private final int _aviaryIdx;
+
+        /**
+         * Represents the position of the next bird to merge
+         */
+        private int _position;
+
+        /**
+         * Represents the alphabetical rank of the type of the next bird to merge
+         */
+        private int _rank;
+
+        /**
+         * Constructor: Creates the cursor positioned at the first bird of the aviary.
+         */
+        private Cursor(BirdWithAviaryId[] birds, int aviaryIdx){
+            _birds = birds;
+            _aviaryIdx = aviaryIdx;
+            _rank = SortedBirdIndex.rankOf(birds[0].getBird().getBirdType());
+        }
+    }
+
+    /**
+     * Fork-join task that sorts the birds of a range of aviaries, splitting the range until it is small enough.
+     */
+    private static final class SortAviaries extends RecursiveAction {
+        /**
+         * Represents the version of the serialized form of the task
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Stores the aviaries to sort
+         */
+        private final List<Aviary> _aviaries;
+
+        /**
+         * Stores the sorted birds of every aviary, indexed by the position of the aviary
+         */
+        private final BirdWithAviaryId[][] _sorted;
+
+        /**
+         * Represents the first aviary of the range, inclusive
+         */
+        private final int _from;
+
+        /**
+         * Represents the last aviary of the range, exclusive
+         */
+        private final int _to;
+
+        /**
+         * Constructor: Creates the task for the specified range of aviaries.
+         */
+        private SortAviaries(List<Aviary> aviaries, BirdWithAviaryId[][] sorted, int from, int to){
+            _aviaries = aviaries;
+            _sorted = sorted;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(_to - _from <= SEQUENTIAL_THRESHOLD){
+                for(int i = _from; i < _to; ++i)
+                    _sorted[i] = sortAviary(_aviaries.get(i));
+                return;
+            }
+            var middle = (_from + _to) >>> 1;
+            invokeAll(new SortAviaries(_aviaries, _sorted, _from, middle),
+                    new SortAviaries(_aviaries, _sorted, middle, _to));
+        }
+
+        /**
+         * Sorts the birds of the aviary by bird type. Birds of the same type keep their position within the aviary.
+         */
+        private static BirdWithAviaryId[] sortAviary(Aviary aviary){
+            var birds = aviary.getCurrentBirds();
+            var result = new BirdWithAviaryId[birds.size()];
+            for(int i = 0; i < result.length; ++i)
+                result[i] = new BirdWithAviaryId(birds.get(i), aviary.getId());
+            Arrays.sort(result, Comparator.comparingInt(o -> SortedBirdIndex.rankOf(o.getBird().getBirdType())));
+            return result;
+        }
+    }
+}
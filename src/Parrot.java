@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 /**
  * Parrot class: Inherits from Bird, implements and overrides some functionality and favorite word and vocabulary features.
@@ -10,37 +11,99 @@ public final class Parrot extends Bird {
     private String _favoriteWord;
 
     /**
-     * Stores the current vocabulary of the parrot up to 100 words.
+     * Represents the maximum number of words a parrot can be taught
      */
-    private final HashSet<String> _vocabulary;
+    public static final int MAXIMUM_VOCABULARY = 100;
+
+    /**
+     * Stores the dictionary identifiers of the words the parrot knows in ascending order, up to 100 words.
+     * Only the first _vocabularySize identifiers are used
+     */
+    private int[] _vocabulary;
+
+    /**
+     * Represents the number of words the parrot knows
+     */
+    private int _vocabularySize;
+
+    /**
+     * Dictionary that assigns the identifiers of the vocabulary
+     */
+    private final WordDictionary _dictionary;
+
+    /**
+     * Stores objects that are notified when the vocabulary of the parrot changes. Created with the first listener
+     */
+    private ArrayList<IParrotListener> _listeners;
 
     /**
      * Constructor: Calls constructor of the Bird class, and performs validation
      * @param birdType creates Parrot object based on bird type provided. sets favorite word and vocabulary.
      */
     public Parrot(BirdType birdType, String favoriteWord, HashSet<String> vocabulary) {
-        super(birdType);
+        this(birdType, favoriteWord, vocabulary, WordDictionary.SHARED);
+    }
 
-        if(vocabulary != null && vocabulary.size() > 100){
+    /**
+     * Constructor: Creates Parrot object whose vocabulary is stored in the specified dictionary instead of the shared
+     * one, so that the words are released together with the dictionary.
+     */
+    public Parrot(BirdType birdType, String favoriteWord, HashSet<String> vocabulary, WordDictionary dictionary) {
+        this(birdType, favoriteWord, vocabulary, dictionary, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor: Creates Parrot object with the specified unique identifier. Used to restore persisted birds.
+     */
+    Parrot(BirdType birdType, String favoriteWord, HashSet<String> vocabulary, String id) {
+        this(birdType, favoriteWord, vocabulary, WordDictionary.SHARED, id);
+    }
+
+    /**
+     * Constructor: Creates Parrot object with the specified dictionary and unique identifier.
+     */
+    private Parrot(BirdType birdType, String favoriteWord, HashSet<String> vocabulary, WordDictionary dictionary, String id) {
+        super(birdType, id);
+        if(dictionary == null)
+            throw new IllegalArgumentException("Word dictionary must not be null");
+        _dictionary = dictionary;
+
+        if(vocabulary != null && vocabulary.size() > MAXIMUM_VOCABULARY){
                 throw new IllegalArgumentException("Parrot vocabulary exceeds the maximum amount words.");
         }
 
         _classification = BirdClassification.PARROT;
-        _favoriteWord = favoriteWord;
-        _vocabulary = vocabulary != null ? vocabulary : new HashSet<>();
-
-        if(_favoriteWord != null)
-            _vocabulary.add(_favoriteWord);
+        // The favorite word is added to the provided vocabulary as well, as callers expect
+        if(vocabulary != null && favoriteWord != null)
+            vocabulary.add(favoriteWord);
+        _vocabulary = new int[vocabulary != null ? vocabulary.size() : (favoriteWord != null ? 1 : 0)];
+        if(vocabulary != null){
+            for (var word : vocabulary){
+                if(word != null)
+                    _vocabulary[_vocabularySize++] = _dictionary.intern(word);
+            }
+            Arrays.sort(_vocabulary, 0, _vocabularySize);
+        }
+        if(favoriteWord != null){
+            var wordId = _dictionary.intern(favoriteWord);
+            addWord(wordId);
+            _favoriteWord = _dictionary.wordOf(wordId);
+        }
     }
 
     /**
      * Teaches parrot a new word. If parrot does not know this word and the number of words
      *  parrot knows is less than 100, adds the word to the vocabulary
+     * @throws IllegalArgumentException if the word is null or the parrot knows 100 words
+     * @throws IllegalStateException if the word is new and the dictionary of the parrot is full
      */
     public void teachParrotAWord(String word){
-        if(_vocabulary.size() < 100){
-            if(!_vocabulary.contains(word)){
-                _vocabulary.add(word);
+        if(_vocabularySize < MAXIMUM_VOCABULARY){
+            if(addWord(_dictionary.intern(word))){
+                if(_listeners != null){
+                    for (var listener : _listeners)
+                        listener.onWordTaught(this, word);
+                }
             }
         }
         else{
@@ -52,17 +115,95 @@ public final class Parrot extends Bird {
      * Setter: Sets the favorite word for parrot
      */
     public void setFavoriteWord(String word){
-        if(!_vocabulary.contains(word))
-            _vocabulary.add(word);
+        if(word != null){
+            var id = _dictionary.intern(word);
+            addWord(id);
+            word = _dictionary.wordOf(id);
+        }
         _favoriteWord = word;
+        if(_listeners != null){
+            for (var listener : _listeners)
+                listener.onFavoriteWordSet(this, word);
+        }
+    }
+
+    /**
+     * Subscribes the listener to the changes of the vocabulary of the parrot.
+     */
+    public void addListener(IParrotListener listener){
+        if(_listeners == null)
+            _listeners = new ArrayList<>(1);
+        _listeners.add(listener);
+    }
+
+    /**
+     * Unsubscribes the listener from the changes of the vocabulary of the parrot.
+     */
+    public void removeListener(IParrotListener listener){
+        if(_listeners != null)
+            _listeners.remove(listener);
     }
 
     /**
      * Getter: Retrieves the current vocabulary of the parrot.
      */
     public ArrayList<String> getVocabulary(){
+        var vocabulary = new ArrayList<String>(_vocabularySize);
+        for(int i = 0; i < _vocabularySize; ++i)
+            vocabulary.add(_dictionary.wordOf(_vocabulary[i]));
+        return vocabulary;
+    }
+
+    /**
+     * Getter: Retrieves the number of words the parrot knows.
+     */
+    public int getVocabularySize(){
+        return _vocabularySize;
+    }
+
+    /**
+     * Checks whether the parrot knows the word.
+     * @return true if the word is in the vocabulary, false otherwise
+     */
+    public boolean knowsWord(String word){
+        var id = _dictionary.find(word);
+        return id >= 0 && Arrays.binarySearch(_vocabulary, 0, _vocabularySize, id) >= 0;
+    }
 
-        return new ArrayList<>(_vocabulary);
+    /**
+     * Counts the words known by both parrots. Merges the sorted vocabularies without looking up any word
+     * when both parrots use the same dictionary.
+     */
+    public int countCommonWords(Parrot other){
+        var common = 0;
+        if(_dictionary != other._dictionary){
+            for(int i = 0; i < _vocabularySize; ++i){
+                if(other.knowsWord(_dictionary.wordOf(_vocabulary[i])))
+                    common++;
+            }
+            return common;
+        }
+        for(int i = 0, j = 0; i < _vocabularySize && j < other._vocabularySize;){
+            if(_vocabulary[i] < other._vocabulary[j])
+                i++;
+            else if(_vocabulary[i] > other._vocabulary[j])
+                j++;
+            else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Checks whether both parrots know exactly the same words.
+     */
+    public boolean hasSameVocabulary(Parrot other){
+        if(_dictionary != other._dictionary)
+            return _vocabularySize == other._vocabularySize && countCommonWords(other) == _vocabularySize;
+        return Arrays.equals(_vocabulary, 0, _vocabularySize, other._vocabulary, 0, other._vocabularySize);
     }
 
     /**
@@ -89,8 +230,8 @@ public final class Parrot extends Bird {
      * Creates beak according to Parrot specification
      */
     @Override
-    protected void generateAndSetBeak() {
-        _beak  = new Beak(BeakSize.SHORT,BeakType.CURVED,false,false);
+    protected Beak generateBeak() {
+        return new Beak(BeakSize.SHORT,BeakType.CURVED,false,false);
     }
 
     /**
@@ -98,18 +239,36 @@ public final class Parrot extends Bird {
      * adds food types specific to the Parrot to the food preferences parameter of Bird
      */
     @Override
-    protected void generateAndSetFoodPreferences() {
-        _foodPreferences.add(FoodType.SEEDS);
-        _foodPreferences.add(FoodType.NUTS);
+    protected void generateFoodPreferences(ArrayList<FoodType> foodPreferences) {
+        foodPreferences.add(FoodType.SEEDS);
+        foodPreferences.add(FoodType.NUTS);
     }
 
     /**
-     * Overrides Bird toString implementation. adds features that are unique for Parrot to base representation
-     * returns string representation of the Parrot object
+     * Overrides Bird appendTo implementation. adds features that are unique for Parrot to base representation
      */
     @Override
-    public String toString() {
-        return super.toString() + "\n"+String.format("Parrots are known for their intelligence and ability to mimic sounds"+
-                " Favorite Word:%s, Total Words Known:%s/100",_favoriteWord,_vocabulary.size());
+    public void appendTo(StringBuilder sb) {
+        super.appendTo(sb);
+        sb.append("\n").append("Parrots are known for their intelligence and ability to mimic sounds")
+                .append(" Favorite Word:").append(_favoriteWord)
+                .append(", Total Words Known:").append(_vocabularySize).append("/100");
+    }
+
+    /**
+     * Inserts the word identifier into the sorted vocabulary unless the parrot already knows the word.
+     * @return true if the word was added, false if the parrot already knew it
+     */
+    private boolean addWord(int id){
+        var index = Arrays.binarySearch(_vocabulary, 0, _vocabularySize, id);
+        if(index >= 0)
+            return false;
+        index = -index - 1;
+        if(_vocabularySize == _vocabulary.length)
+            _vocabulary = Arrays.copyOf(_vocabulary, Math.max(4, _vocabularySize * 2));
+        System.arraycopy(_vocabulary, index, _vocabulary, index + 1, _vocabularySize - index);
+        _vocabulary[index] = id;
+        _vocabularySize++;
+        return true;
     }
 }
@@ -1,28 +1,37 @@
+import java.util.ArrayList;
+
 /**
  * Pigeon class: Inherits from Bird, implements and overrides some functionality and adds milk-feeding feature.
  * Represents Pigeon classification birds
  */
 public final class Pigeon extends Bird {
     /**
-     * Milk-feeding feature which is unique to Pigeons.
+     * Milk-feeding feature which is unique to Pigeons. Shared by every pigeon
      */
-    private final String _feedsWithBirdMilk;
+    public static final String FEEDING_INFO =
+            "Pigeons(doves) are known for feeding their young with 'bird milk' like milk of mammals.";
 
     /**
      * Constructor: Calls constructor of the Bird class, and performs validation
      * @param birdType creates Pigeon object based on bird type provided. Sets Milk-feeding feature parameter.
      */
     public Pigeon(BirdType birdType) {
-        super(birdType);
+        this(birdType, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor: Creates Pigeon object with the specified unique identifier. Used to restore persisted birds.
+     */
+    Pigeon(BirdType birdType, String id) {
+        super(birdType, id);
         _classification = BirdClassification.PIGEON;
-        _feedsWithBirdMilk = "Pigeons(doves) are known for feeding their young with 'bird milk' like milk of mammals.";
     }
 
     /**
      * Getter: Retrieves milk-feeding feature of the Pigeon
      */
     public String getFeedingInfo(){
-        return _feedsWithBirdMilk;
+        return FEEDING_INFO;
     }
 
     /**
@@ -40,8 +49,8 @@ public final class Pigeon extends Bird {
      * Creates beak according to Pigeon specification
      */
     @Override
-    protected void generateAndSetBeak() {
-        _beak = new Beak(BeakSize.SHORT, BeakType.CURVED, false, false);
+    protected Beak generateBeak() {
+        return new Beak(BeakSize.SHORT, BeakType.CURVED, false, false);
     }
 
     /**
@@ -49,18 +58,18 @@ public final class Pigeon extends Bird {
      * adds food types specific to the Pigeon to the food preferences parameter of Bird
      */
     @Override
-    protected void generateAndSetFoodPreferences() {
-        _foodPreferences.add(FoodType.SEEDS);
-        _foodPreferences.add(FoodType.INSECTS);
-        _foodPreferences.add(FoodType.LARVAE);
+    protected void generateFoodPreferences(ArrayList<FoodType> foodPreferences) {
+        foodPreferences.add(FoodType.SEEDS);
+        foodPreferences.add(FoodType.INSECTS);
+        foodPreferences.add(FoodType.LARVAE);
     }
 
     /**
-     * Overrides Bird toString implementation. Adds feature that is unique for Owl
-     * returns string representation of the Pigeon object
+     * Overrides Bird appendTo implementation. Adds feature that is unique for Pigeon
      */
     @Override
-    public String toString() {
-        return super.toString()+"\n"+_feedsWithBirdMilk;
+    public void appendTo(StringBuilder sb) {
+        super.appendTo(sb);
+        sb.append("\n").append(FEEDING_INFO);
     }
 }
@@ -0,0 +1,16 @@
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Selects a random food type from the food preferences of every bird. Uses the random generator of the current
+ * thread, therefore concurrent rescues do not contend on a shared generator.
+ */
+public final class RandomDietSelector implements IDietSelector {
+    /**
+     * Selects a random food type from the food preferences of the bird.
+     */
+    @Override
+    public FoodType selectFood(IBird bird) {
+        var foodPreferences = bird.getFoodPreferences();
+        return foodPreferences.get(ThreadLocalRandom.current().nextInt(foodPreferences.size()));
+    }
+}
@@ -0,0 +1,162 @@
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Buffered writer of conservatory reports. Report lines are composed in a single reusable buffer without
+ * String.format and are handed over to the target Appendable in large chunks, so that full inventories can be
+ * written to files, sockets or the console without creating intermediate strings for every bird.
+ */
+public final class ReportWriter implements Flushable {
+    /**
+     * Default number of characters buffered before they are written to the target
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Line separator used by the reports, same as the one used by System.out.println
+     */
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * Caches lowercase names of the constants of every enum type
+     */
+    private static final ClassValue<String[]> LOWERCASE_NAMES = new ClassValue<>() {
+        @Override
+        protected String[] computeValue(Class<?> type) {
+            var constants = type.getEnumConstants();
+            var names = new String[constants.length];
+            for(int i = 0; i < constants.length; ++i)
+                names[i] = constants[i].toString().toLowerCase();
+            return names;
+        }
+    };
+
+    /**
+     * Target of the report
+     */
+    private final Appendable _out;
+
+    /**
+     * Reusable buffer the report is composed in
+     */
+    private final StringBuilder _buffer;
+
+    /**
+     * Represents the number of characters buffered before they are written to the target
+     */
+    private final int _bufferSize;
+
+    /**
+     * Constructor: Creates report writer with the default buffer size.
+     */
+    public ReportWriter(Appendable out){
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor: Creates report writer that writes to the target once the specified number of characters is buffered.
+     */
+    public ReportWriter(Appendable out, int bufferSize){
+        _out = out;
+        _bufferSize = bufferSize;
+        _buffer = new StringBuilder(bufferSize + 1024);
+    }
+
+    /**
+     * Retrieves the lowercase name of the enum constant without creating a new string.
+     */
+    public static String lowercaseName(Enum<?> value){
+        return LOWERCASE_NAMES.get(value.getDeclaringClass())[value.ordinal()];
+    }
+
+    /**
+     * Writes the bird with its aviary id as a line of the sorted birds report.
+     */
+    public void writeSortedBird(Bird bird, String aviaryId) throws IOException {
+        writeSortedBird(bird.getBirdType(), aviaryId);
+    }
+
+    /**
+     * Writes the bird type with the aviary id of a bird as a line of the sorted birds report.
+     */
+    public void writeSortedBird(BirdType birdType, String aviaryId) throws IOException {
+        _buffer.append(birdType).append(", aviary id: ").append(aviaryId).append(LINE_SEPARATOR);
+        flushIfFull();
+    }
+
+    /**
+     * Writes the aviary with every bird it houses and their representations.
+     */
+    public void writeAviary(String aviaryId, List<Bird> birds) throws IOException {
+        writeAviaryHeader(aviaryId);
+        var counter = 1;
+        for (var bird : birds){
+            _buffer.append(counter).append('.');
+            bird.appendTo(_buffer);
+            _buffer.append('\n');
+            counter++;
+            flushIfFull();
+        }
+        writeAviaryFooter();
+    }
+
+    /**
+     * Writes the first line of an aviary. Used together with writeAviarySpecies and writeAviaryFooter
+     * by stores that do not keep bird objects.
+     */
+    public void writeAviaryHeader(String aviaryId) {
+        _buffer.append("Aviary Id:").append(aviaryId).append('\n');
+    }
+
+    /**
+     * Writes the numbered representation of a bird of the aviary from the characteristics of its species.
+     */
+    public void writeAviarySpecies(int counter, BirdType birdType, BirdClassification classification,
+                                   SpeciesTraits traits) throws IOException {
+        _buffer.append(counter).append('.');
+        Bird.appendSpecies(_buffer, birdType, classification, traits);
+        _buffer.append('\n');
+        flushIfFull();
+    }
+
+    /**
+     * Writes the last line of an aviary.
+     */
+    public void writeAviaryFooter() throws IOException {
+        _buffer.append(LINE_SEPARATOR);
+        flushIfFull();
+    }
+
+    /**
+     * Writes the quantity of the food type and the number of weeks it feeds a single bird.
+     */
+    public void writeFood(FoodType food, long count) throws IOException {
+        _buffer.append(lowercaseName(food)).append(':').append(count).append(" units(feeds one bird for ")
+                .append(count).append(" weeks)").append(LINE_SEPARATOR);
+        flushIfFull();
+    }
+
+    /**
+     * Writes every buffered character to the target and flushes the target if it supports flushing.
+     */
+    @Override
+    public void flush() throws IOException {
+        if(_buffer.length() > 0){
+            _out.append(_buffer);
+            _buffer.setLength(0);
+        }
+        if(_out instanceof Flushable)
+            ((Flushable) _out).flush();
+    }
+
+    /**
+     * Writes the buffered characters to the target once the buffer size is reached.
+     */
+    private void flushIfFull() throws IOException {
+        if(_buffer.length() >= _bufferSize){
+            _out.append(_buffer);
+            _buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,395 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Intake front-end of a conservatory. Accepts rescue requests from many producers, validates the birds
+ * (extinction, bird type, duplicates among pending requests) on the validation executor and feeds valid birds
+ * to a single writer thread through a bounded queue. The writer is the only thread that rescues birds into
+ * the conservatory, therefore the conservatory does not have to be thread-safe.
+ * The number of requests in flight is bounded: producers block, or fail with IntakeOverloadedException,
+ * while the intake is saturated.
+ */
+public final class RescueIntake implements AutoCloseable {
+    /**
+     * Rescue request that has passed validation and waits for placement.
+     */
+    private static final class PendingRescue {
+        /**
+         * Represents the bird that waits for placement
+         */
+        private final Bird _bird;
+
+        /**
+         * Completed with the unique identifier of the aviary once the bird is placed
+         */
+        private final CompletableFuture<String> _result;
+
+        /**
+         * Constructor: Creates the pending rescue of the bird.
+         */
+        private PendingRescue(Bird bird, CompletableFuture<String> result){
+            _bird = bird;
+            _result = result;
+        }
+    }
+
+    /**
+     * Marks the end of the placement queue. Posted once when the intake is closed
+     */
+    private static final PendingRescue END_OF_INTAKE = new PendingRescue(null, null);
+
+    /**
+     * Represents the conservatory the birds are rescued into
+     */
+    private final IConservatory _conservatory;
+
+    /**
+     * Executes the validation of incoming rescue requests
+     */
+    private final ExecutorService _validators;
+
+    /**
+     * Indicates whether the validation executor was created by the intake and has to be shut down with it
+     */
+    private final boolean _ownsValidators;
+
+    /**
+     * Stores the validated birds that wait for the single writer
+     */
+    private final ArrayBlockingQueue<PendingRescue> _placements;
+
+    /**
+     * Bounds the number of requests in flight, from submission to placement
+     */
+    private final Semaphore _permits;
+
+    /**
+     * Represents the maximum number of requests in flight
+     */
+    private final int _capacity;
+
+    /**
+     * Stores unique identifiers of birds that are being validated or wait for placement
+     */
+    private final ConcurrentHashMap.KeySetView<String, Boolean> _inFlightIds;
+
+    /**
+     * Single writer thread that places validated birds into the conservatory
+     */
+    private final Thread _writer;
+
+    /**
+     * Represents the number of accepted rescue requests
+     */
+    private final AtomicLong _submitted;
+
+    /**
+     * Represents the number of birds placed into the conservatory
+     */
+    private final AtomicLong _placed;
+
+    /**
+     * Represents the number of birds that were rejected during validation or placement
+     */
+    private final AtomicLong _rejected;
+
+    /**
+     * Represents the number of requests that were refused because the intake was saturated
+     */
+    private final AtomicLong _overloaded;
+
+    /**
+     * Represents the time the intake was started at, in nanoseconds
+     */
+    private final long _startedAt;
+
+    /**
+     * Indicates whether the intake has been closed
+     */
+    private volatile boolean _closed;
+
+    /**
+     * Constructor: Creates the intake with its own validation threads.
+     * @param capacity maximum number of requests in flight, from submission to placement
+     */
+    public RescueIntake(IConservatory conservatory, int capacity){
+        this(conservatory, capacity, Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            var thread = new Thread(runnable, "rescue-intake-validator");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+    /**
+     * Constructor: Creates the intake that validates requests on the specified executor, e.g. a virtual thread
+     * per task executor. The executor is not shut down when the intake is closed.
+     * @param capacity maximum number of requests in flight, from submission to placement
+     */
+    public RescueIntake(IConservatory conservatory, int capacity, ExecutorService validators){
+        this(conservatory, capacity, validators, false);
+    }
+
+    /**
+     * Constructor: Creates the intake and starts the writer thread.
+     */
+    private RescueIntake(IConservatory conservatory, int capacity, ExecutorService validators, boolean ownsValidators){
+        if(capacity <= 0)
+            throw new IllegalArgumentException("Intake capacity must be positive");
+        _conservatory = conservatory;
+        _validators = validators;
+        _ownsValidators = ownsValidators;
+        _capacity = capacity;
+        _placements = new ArrayBlockingQueue<>(capacity + 1);
+        _permits = new Semaphore(capacity);
+        _inFlightIds = ConcurrentHashMap.newKeySet(CapacityPolicy.hashCapacity(capacity));
+        _submitted = new AtomicLong();
+        _placed = new AtomicLong();
+        _rejected = new AtomicLong();
+        _overloaded = new AtomicLong();
+        _startedAt = System.nanoTime();
+        _writer = new Thread(this::runWriter, "rescue-intake-writer");
+        _writer.setDaemon(true);
+        _writer.start();
+    }
+
+    /**
+     * Submits the rescue request. Blocks while the intake is saturated.
+     * @return future completed with the unique identifier of the aviary the bird was placed in,
+     *         or completed exceptionally with RescueRejectedException if the bird was rejected
+     * @throws IllegalArgumentException if the bird is null
+     * @throws InterruptedException if interrupted while waiting for the intake
+     */
+    public CompletableFuture<String> submit(Bird bird) throws InterruptedException {
+        ensureBird(bird);
+        ensureOpen();
+        _permits.acquire();
+        ensureOpenWithPermit();
+        return dispatch(bird);
+    }
+
+    /**
+     * Submits the rescue request, waiting at most the specified time while the intake is saturated.
+     * @return future completed with the unique identifier of the aviary the bird was placed in,
+     *         or completed exceptionally with RescueRejectedException if the bird was rejected
+     * @throws IllegalArgumentException if the bird is null
+     * @throws IntakeOverloadedException if the intake stayed saturated for the whole timeout
+     * @throws InterruptedException if interrupted while waiting for the intake
+     */
+    public CompletableFuture<String> trySubmit(Bird bird, long timeout, TimeUnit unit)
+            throws IntakeOverloadedException, InterruptedException {
+        ensureBird(bird);
+        ensureOpen();
+        if(!_permits.tryAcquire(timeout, unit)){
+            _overloaded.incrementAndGet();
+            throw new IntakeOverloadedException(String.format("Rescue intake is saturated: %s requests in flight", _capacity));
+        }
+        ensureOpenWithPermit();
+        return dispatch(bird);
+    }
+
+    /**
+     * Getter: Retrieves the number of accepted rescue requests.
+     */
+    public long getSubmittedCount(){
+        return _submitted.get();
+    }
+
+    /**
+     * Getter: Retrieves the number of birds placed into the conservatory.
+     */
+    public long getPlacedCount(){
+        return _placed.get();
+    }
+
+    /**
+     * Getter: Retrieves the number of birds rejected during validation or placement.
+     */
+    public long getRejectedCount(){
+        return _rejected.get();
+    }
+
+    /**
+     * Getter: Retrieves the number of requests refused because the intake was saturated.
+     */
+    public long getOverloadedCount(){
+        return _overloaded.get();
+    }
+
+    /**
+     * Getter: Retrieves the number of validated birds that wait for the writer.
+     */
+    public int getQueueDepth(){
+        return _placements.size();
+    }
+
+    /**
+     * Getter: Retrieves the number of requests in flight, from submission to placement.
+     */
+    public int getInFlightCount(){
+        return _capacity - _permits.availablePermits();
+    }
+
+    /**
+     * Retrieves the average number of birds placed per second since the intake was started.
+     */
+    public double getPlacementsPerSecond(){
+        var elapsed = System.nanoTime() - _startedAt;
+        return elapsed > 0 ? _placed.get() * 1e9 / elapsed : 0;
+    }
+
+    /**
+     * Stops accepting requests, waits until every accepted request has been placed or rejected
+     * and stops the writer thread.
+     * @throws IllegalStateException if interrupted while waiting for the writer thread; the writer still stops
+     *                               once the accepted requests are placed
+     */
+    @Override
+    public void close() {
+        if(_closed)
+            return;
+        _closed = true;
+        // Every accepted request is placed or rejected in bounded time, and holding every permit leaves room
+        // in the placement queue for the end of the intake
+        _permits.acquireUninterruptibly(_capacity);
+        _placements.add(END_OF_INTAKE);
+        try {
+            _writer.join();
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while closing the rescue intake", e);
+        }
+        finally {
+            _permits.release(_capacity);
+            if(_ownsValidators)
+                _validators.shutdown();
+        }
+    }
+
+    /**
+     * Accepts the request that already holds a permit and hands it over to the validation executor.
+     */
+    private CompletableFuture<String> dispatch(Bird bird){
+        var result = new CompletableFuture<String>();
+        _submitted.incrementAndGet();
+        try {
+            _validators.execute(() -> validate(bird, result));
+        }
+        catch (RejectedExecutionException e){
+            reject(bird, result, new RescueRejectedException("Rescue intake is not accepting requests"), false);
+        }
+        return result;
+    }
+
+    /**
+     * Validates the bird and queues it for placement. Rejected birds release their permit immediately,
+     * including birds whose validation fails unexpectedly, so the future and the permit are always settled.
+     */
+    private void validate(Bird bird, CompletableFuture<String> result){
+        var inFlight = false;
+        try {
+            if(bird.checkIfExtinct()){
+                reject(bird, result, new RescueRejectedException("Cannot rescue extinct bird"), false);
+                return;
+            }
+            try {
+                bird.validateBirdType(bird.getBirdType());
+            }
+            catch (IllegalArgumentException e){
+                reject(bird, result, new RescueRejectedException(e.getMessage()), false);
+                return;
+            }
+            if(!_inFlightIds.add(bird.getId())){
+                reject(bird, result, new RescueRejectedException(
+                        String.format("The bird with id: %s is already being rescued", bird.getId())), false);
+                return;
+            }
+            inFlight = true;
+            _placements.put(new PendingRescue(bird, result));
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            reject(bird, result, new RescueRejectedException("Rescue intake was interrupted"), true);
+        }
+        catch (RuntimeException e){
+            reject(bird, result, new RescueRejectedException(e.toString()), inFlight);
+        }
+    }
+
+    /**
+     * Places validated birds into the conservatory one by one until the end of the intake.
+     */
+    private void runWriter(){
+        while (true){
+            PendingRescue pending;
+            try {
+                pending = _placements.take();
+            }
+            catch (InterruptedException e){
+                return;
+            }
+            if(pending == END_OF_INTAKE)
+                return;
+
+            try {
+                _conservatory.rescueBird(pending._bird);
+                var aviaryId = _conservatory.searchAviaryByBird(pending._bird);
+                _placed.incrementAndGet();
+                _inFlightIds.remove(pending._bird.getId());
+                _permits.release();
+                pending._result.complete(aviaryId);
+            }
+            catch (RescueRejectedException e){
+                reject(pending._bird, pending._result, e, true);
+            }
+            catch (RuntimeException e){
+                reject(pending._bird, pending._result, new RescueRejectedException(e.toString()), true);
+            }
+        }
+    }
+
+    /**
+     * Completes the request exceptionally and releases its permit.
+     */
+    private void reject(Bird bird, CompletableFuture<String> result, RescueRejectedException reason, boolean inFlight){
+        _rejected.incrementAndGet();
+        if(inFlight)
+            _inFlightIds.remove(bird.getId());
+        _permits.release();
+        result.completeExceptionally(reason);
+    }
+
+    /**
+     * Ensures that the bird of the request is present.
+     */
+    private static void ensureBird(Bird bird){
+        if(bird == null)
+            throw new IllegalArgumentException("Cannot rescue missing bird");
+    }
+
+    /**
+     * Ensures that the intake still accepts requests.
+     */
+    private void ensureOpen(){
+        if(_closed)
+            throw new IllegalStateException("Rescue intake is closed");
+    }
+
+    /**
+     * Ensures that the intake was not closed while the request waited for its permit. Releases the permit otherwise,
+     * as the writer may already be stopped.
+     */
+    private void ensureOpenWithPermit(){
+        if(_closed){
+            _permits.release();
+            ensureOpen();
+        }
+    }
+}
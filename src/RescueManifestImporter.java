@@ -0,0 +1,512 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+
+/**
+ * Imports rescue manifests into a conservatory. Manifests are read line by line and the birds are rescued in batches,
+ * so only one batch of rows is held in memory regardless of the size of the manifest. Birds are created by the bird
+ * factory from their bird type. Rows that cannot be parsed and birds that are rejected are reported with their line
+ * numbers without stopping the import. The report keeps the first failures in the order of their lines.
+ *
+ * CSV manifests start with a header that names the columns: type, classification, favoriteWord and vocabulary.
+ * Only the type column is required. Fields may be quoted, words of the vocabulary are separated by '|'.
+ * JSON lines manifests contain one object per line with the same keys; the vocabulary is an array of strings.
+ * Missing or empty values are ignored.
+ */
+public final class RescueManifestImporter {
+    /**
+     * Represents the default number of birds rescued together
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * Represents the default number of failed rows kept in the report
+     */
+    public static final int DEFAULT_MAXIMUM_REPORTED_FAILURES = 1000;
+
+    /**
+     * Represents the separator of the words of the vocabulary in CSV manifests
+     */
+    private static final char VOCABULARY_SEPARATOR = '|';
+
+    /**
+     * Creates the bird of a single row of the manifest.
+     */
+    private interface RowParser {
+        /**
+         * @throws IllegalArgumentException if the row is malformed or the bird cannot be created
+         */
+        Bird parse(String line);
+    }
+
+    /**
+     * Represents the conservatory the birds are rescued into
+     */
+    private final IConservatory _conservatory;
+
+    /**
+     * Creates the birds of the rows
+     */
+    private final BirdFactory _factory;
+
+    /**
+     * Represents the number of birds rescued together
+     */
+    private final int _batchSize;
+
+    /**
+     * Represents the number of failed rows kept in the report
+     */
+    private final int _maximumReportedFailures;
+
+    /**
+     * Constructor: Creates the importer with the default batch size.
+     */
+    public RescueManifestImporter(IConservatory conservatory){
+        this(conservatory, DEFAULT_BATCH_SIZE, DEFAULT_MAXIMUM_REPORTED_FAILURES);
+    }
+
+    /**
+     * Constructor: Creates the importer.
+     * @param batchSize number of birds rescued together
+     * @param maximumReportedFailures number of failed rows kept in the report. Further failures are only counted
+     */
+    public RescueManifestImporter(IConservatory conservatory, int batchSize, int maximumReportedFailures){
+        if(batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be positive");
+        if(maximumReportedFailures < 0)
+            throw new IllegalArgumentException("Maximum reported failures must not be negative");
+        _conservatory = conservatory;
+        _factory = BirdFactory.INSTANCE;
+        _batchSize = batchSize;
+        _maximumReportedFailures = maximumReportedFailures;
+    }
+
+    /**
+     * Imports the UTF-8 manifest file. The format is selected by the extension: .csv for CSV manifests,
+     * .jsonl or .ndjson for JSON lines manifests.
+     * @throws IOException if the file cannot be read
+     */
+    public ImportReport importManifest(Path file) throws IOException {
+        var name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        var csv = name.endsWith(".csv");
+        if(!csv && !name.endsWith(".jsonl") && !name.endsWith(".ndjson"))
+            throw new IllegalArgumentException(String.format("Unsupported manifest format: %s", file.getFileName()));
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)){
+            return csv ? importCsv(reader) : importJsonLines(reader);
+        }
+    }
+
+    /**
+     * Imports the CSV manifest. The reader is not closed.
+     * @throws IOException if the manifest cannot be read or has no header with a type column
+     */
+    public ImportReport importCsv(Reader reader) throws IOException {
+        var lines = buffered(reader);
+        var header = lines.readLine();
+        if(header == null)
+            throw new IOException("Manifest has no header");
+        var columns = new HashMap<String, Integer>();
+        var names = splitCsv(header);
+        for(int i = 0; i < names.size(); ++i)
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        if(!columns.containsKey("type"))
+            throw new IOException("Manifest header has no type column");
+        int type = columns.get("type");
+        int classification = columns.getOrDefault("classification", -1);
+        int favoriteWord = columns.getOrDefault("favoriteword", -1);
+        int vocabulary = columns.getOrDefault("vocabulary", -1);
+
+        return importRows(lines, 1, line -> {
+            var fields = splitCsv(line);
+            var words = field(fields, vocabulary);
+            return createBird(field(fields, type), field(fields, classification), field(fields, favoriteWord),
+                    words != null ? splitVocabulary(words) : null);
+        });
+    }
+
+    /**
+     * Imports the JSON lines manifest. The reader is not closed.
+     * @throws IOException if the manifest cannot be read
+     */
+    public ImportReport importJsonLines(Reader reader) throws IOException {
+        return importRows(buffered(reader), 0, line -> {
+            var row = new JsonRow(line);
+            return createBird(row._type, row._classification, row._favoriteWord, row._vocabulary);
+        });
+    }
+
+    /**
+     * Reads the rows after the specified number of lines, creates their birds and rescues them in batches.
+     */
+    private ImportReport importRows(BufferedReader lines, long lineNumber, RowParser parser) throws IOException {
+        var start = System.nanoTime();
+        var batch = new ArrayList<Bird>(_batchSize);
+        var batchLines = new long[_batchSize];
+        var failures = new ArrayList<ImportReport.RowFailure>();
+        var rows = 0L;
+        var placed = 0L;
+
+        String line;
+        while ((line = lines.readLine()) != null){
+            lineNumber++;
+            if(line.isBlank())
+                continue;
+            rows++;
+            try {
+                var bird = parser.parse(line);
+                batchLines[batch.size()] = lineNumber;
+                batch.add(bird);
+            }
+            catch (IllegalArgumentException e){
+                report(failures, lineNumber, e.getMessage());
+            }
+            if(batch.size() == _batchSize)
+                placed += rescueBatch(batch, batchLines, failures);
+        }
+        if(!batch.isEmpty())
+            placed += rescueBatch(batch, batchLines, failures);
+        failures.sort(Comparator.comparingLong(ImportReport.RowFailure::getLineNumber));
+        return new ImportReport(rows, placed, rows - placed, failures, System.nanoTime() - start);
+    }
+
+    /**
+     * Rescues the batch of birds, reports the rejected birds and clears the batch.
+     * @return number of placed birds
+     */
+    private int rescueBatch(ArrayList<Bird> batch, long[] batchLines, ArrayList<ImportReport.RowFailure> failures){
+        var placed = 0;
+        var results = _conservatory.rescueBirds(batch);
+        for(int i = 0; i < results.size(); ++i){
+            var result = results.get(i);
+            if(result.isPlaced())
+                placed++;
+            else
+                report(failures, batchLines[i], result.getRejectionReason());
+        }
+        batch.clear();
+        return placed;
+    }
+
+    /**
+     * Keeps the failed row in the report unless the limit has been reached.
+     */
+    private void report(ArrayList<ImportReport.RowFailure> failures, long lineNumber, String reason){
+        if(failures.size() < _maximumReportedFailures)
+            failures.add(new ImportReport.RowFailure(lineNumber, reason));
+    }
+
+    /**
+     * Creates the bird from the values of the row.
+     * @throws IllegalArgumentException if a value is invalid or the bird cannot be created
+     */
+    private Bird createBird(String type, String classification, String favoriteWord, HashSet<String> vocabulary){
+        if(type == null)
+            throw new IllegalArgumentException("Bird type is missing");
+        return _factory.create(parseEnum(BirdType.class, type, "bird type"),
+                classification != null ? parseEnum(BirdClassification.class, classification, "classification") : null,
+                favoriteWord, vocabulary);
+    }
+
+    /**
+     * Parses the name of the constant of the enum, ignoring case and surrounding whitespace.
+     * @throws IllegalArgumentException if the enum has no such constant
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> enumClass, String value, String description){
+        try {
+            return Enum.valueOf(enumClass, value.trim().toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException e){
+            throw new IllegalArgumentException(String.format("Unknown %s %s", description, value));
+        }
+    }
+
+    /**
+     * Retrieves the field with the specified index.
+     * @return the field, null if the column does not exist or the field is empty
+     */
+    private static String field(ArrayList<String> fields, int index){
+        if(index < 0 || index >= fields.size() || fields.get(index).isEmpty())
+            return null;
+        return fields.get(index);
+    }
+
+    /**
+     * Splits the vocabulary field into words. Empty words are skipped.
+     */
+    private static HashSet<String> splitVocabulary(String words){
+        var vocabulary = new HashSet<String>();
+        var start = 0;
+        while (start <= words.length()){
+            var end = words.indexOf(VOCABULARY_SEPARATOR, start);
+            if(end < 0)
+                end = words.length();
+            if(end > start)
+                vocabulary.add(words.substring(start, end));
+            start = end + 1;
+        }
+        return vocabulary;
+    }
+
+    /**
+     * Splits the CSV line into fields. Quoted fields may contain commas and doubled quotes.
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    private static ArrayList<String> splitCsv(String line){
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        for(int i = 0; i < line.length(); ++i){
+            var c = line.charAt(i);
+            if(quoted){
+                if(c != '"')
+                    field.append(c);
+                else if(i + 1 < line.length() && line.charAt(i + 1) == '"')
+                    field.append(line.charAt(++i));
+                else
+                    quoted = false;
+            }
+            else if(c == '"'){
+                quoted = true;
+            }
+            else if(c == ','){
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else {
+                field.append(c);
+            }
+        }
+        if(quoted)
+            throw new IllegalArgumentException("Quoted field is not closed");
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Wraps the reader into a buffered reader unless it already is one.
+     */
+    private static BufferedReader buffered(Reader reader){
+        return reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+    }
+
+    /**
+     * Values of a single JSON lines row. Parses flat objects whose values are strings, arrays of strings or null;
+     * numbers and booleans of unknown keys are skipped.
+     */
+    private static final class JsonRow {
+        /**
+         * Represents the parsed line
+         */
+        private final String _line;
+
+        /**
+         * Represents the position of the next character to parse
+         */
+        private int _position;
+
+        /**
+         * Represents the value of the type key
+         */
+        private String _type;
+
+        /**
+         * Represents the value of the classification key
+         */
+        private String _classification;
+
+        /**
+         * Represents the value of the favoriteWord key
+         */
+        private String _favoriteWord;
+
+        /**
+         * Represents the value of the vocabulary key
+         */
+        private HashSet<String> _vocabulary;
+
+        /**
+         * Constructor: Parses the line.
+         * @throws IllegalArgumentException if the line is not a JSON object of the supported values
+         */
+        private JsonRow(String line){
+            _line = line;
+            expect('{');
+            if(peek() == '}'){
+                _position++;
+            }
+            else {
+                while (true){
+                    var key = readString();
+                    expect(':');
+                    switch (key){
+                        case "type" -> _type = readNullableString();
+                        case "classification" -> _classification = readNullableString();
+                        case "favoriteWord" -> _favoriteWord = readNullableString();
+                        case "vocabulary" -> _vocabulary = readVocabulary();
+                        default -> skipValue();
+                    }
+                    var c = next();
+                    if(c == '}')
+                        break;
+                    if(c != ',')
+                        throw malformed();
+                }
+            }
+            if(peek() != 0)
+                throw malformed();
+            if(_type != null && _type.isEmpty())
+                _type = null;
+            if(_classification != null && _classification.isEmpty())
+                _classification = null;
+            if(_favoriteWord != null && _favoriteWord.isEmpty())
+                _favoriteWord = null;
+        }
+
+        /**
+         * Reads the array of strings, or null.
+         */
+        private HashSet<String> readVocabulary(){
+            if(readNull())
+                return null;
+            expect('[');
+            var vocabulary = new HashSet<String>();
+            if(peek() == ']'){
+                _position++;
+                return vocabulary;
+            }
+            while (true){
+                vocabulary.add(readString());
+                var c = next();
+                if(c == ']')
+                    return vocabulary;
+                if(c != ',')
+                    throw malformed();
+            }
+        }
+
+        /**
+         * Reads the string, or null.
+         */
+        private String readNullableString(){
+            return readNull() ? null : readString();
+        }
+
+        /**
+         * Reads the quoted string and resolves its escape sequences.
+         */
+        private String readString(){
+            expect('"');
+            var value = new StringBuilder();
+            while (_position < _line.length()){
+                var c = _line.charAt(_position++);
+                if(c == '"')
+                    return value.toString();
+                if(c != '\\'){
+                    value.append(c);
+                    continue;
+                }
+                if(_position >= _line.length())
+                    break;
+                var escaped = _line.charAt(_position++);
+                switch (escaped){
+                    case '"', '\\', '/' -> value.append(escaped);
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if(_position + 4 > _line.length())
+                            throw malformed();
+                        try {
+                            value.append((char) Integer.parseInt(_line, _position, _position + 4, 16));
+                        }
+                        catch (NumberFormatException e){
+                            throw malformed();
+                        }
+                        _position += 4;
+                    }
+                    default -> throw malformed();
+                }
+            }
+            throw malformed();
+        }
+
+        /**
+         * Skips the value of an unknown key: a string, an array of strings, null, a number or a boolean.
+         */
+        private void skipValue(){
+            var c = peek();
+            if(c == '"'){
+                readString();
+            }
+            else if(c == '['){
+                readVocabulary();
+            }
+            else {
+                var start = _position;
+                while (_position < _line.length() && ",}] \t".indexOf(_line.charAt(_position)) < 0)
+                    _position++;
+                if(_position == start)
+                    throw malformed();
+            }
+        }
+
+        /**
+         * Reads null if it is the next value.
+         * @return true if null was read, false otherwise
+         */
+        private boolean readNull(){
+            if(peek() == 'n' && _line.startsWith("null", _position)){
+                _position += 4;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Reads the next non-whitespace character and ensures it is the expected one.
+         */
+        private void expect(char expected){
+            if(next() != expected)
+                throw malformed();
+        }
+
+        /**
+         * Reads the next non-whitespace character.
+         * @return the character, 0 at the end of the line
+         */
+        private char next(){
+            var c = peek();
+            if(c != 0)
+                _position++;
+            return c;
+        }
+
+        /**
+         * Skips whitespace and retrieves the next character without reading it.
+         * @return the character, 0 at the end of the line
+         */
+        private char peek(){
+            while (_position < _line.length() && Character.isWhitespace(_line.charAt(_position)))
+                _position++;
+            return _position < _line.length() ? _line.charAt(_position) : 0;
+        }
+
+        /**
+         * Creates the exception for a malformed line at the current position.
+         */
+        private IllegalArgumentException malformed(){
+            return new IllegalArgumentException(String.format("Malformed JSON at column %s", _position + 1));
+        }
+    }
+}
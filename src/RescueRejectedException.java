@@ -0,0 +1,17 @@
+/**
+ * Thrown when a bird cannot be rescued: the bird is extinct, invalid, already housed in the conservatory,
+ * or there is no aviary that can house it.
+ */
+public class RescueRejectedException extends Exception {
+    /**
+     * Represents the version of the serialized form of the exception
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor: Creates the exception with the reason of the rejection.
+     */
+    public RescueRejectedException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Stores the outcome of rescuing a single bird as part of a batch: either the aviary the bird was placed in
+ * or the reason why the bird was rejected.
+ */
+public final class RescueResult {
+    /**
+     * Represents the bird that was rescued or rejected
+     */
+    private final Bird _bird;
+
+    /**
+     * Represents the unique identifier of the aviary the bird was placed in. Null if the bird was rejected
+     */
+    private final String _aviaryId;
+
+    /**
+     * Represents the reason why the bird was rejected. Null if the bird was placed
+     */
+    private final String _rejectionReason;
+
+    /**
+     * Constructor: Creates RescueResult object. Exactly one of aviary id and rejection reason is expected to be set.
+     */
+    public RescueResult(Bird bird, String aviaryId, String rejectionReason){
+        _bird = bird;
+        _aviaryId = aviaryId;
+        _rejectionReason = rejectionReason;
+    }
+
+    /**
+     * Getter: Retrieves the bird
+     * @return Bird object
+     */
+    public Bird getBird() {
+        return _bird;
+    }
+
+    /**
+     * Getter: Retrieves the unique identifier of the aviary the bird was placed in
+     * @return String representation of unique identifier of the aviary, null if the bird was rejected
+     */
+    public String getAviaryId() {
+        return _aviaryId;
+    }
+
+    /**
+     * Getter: Retrieves the reason why the bird was rejected
+     * @return rejection reason, null if the bird was placed
+     */
+    public String getRejectionReason() {
+        return _rejectionReason;
+    }
+
+    /**
+     * Checks whether the bird was placed in an aviary
+     * @return true if placed, false if rejected
+     */
+    public boolean isPlaced() {
+        return _aviaryId != null;
+    }
+}
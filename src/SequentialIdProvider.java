@@ -0,0 +1,35 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates identifiers from a 64-bit counter. The counter value is rendered in base 36, therefore identifiers
+ * are short and compared quickly. Unique within a single provider only.
+ */
+public final class SequentialIdProvider implements IIdProvider {
+    /**
+     * Represents the value of the next identifier
+     */
+    private final AtomicLong _next;
+
+    /**
+     * Constructor: Creates the provider that starts counting from 1.
+     */
+    public SequentialIdProvider(){
+        this(1);
+    }
+
+    /**
+     * Constructor: Creates the provider that starts counting from the specified value.
+     * Used to continue counting after identifiers that were already handed out.
+     */
+    public SequentialIdProvider(long start){
+        _next = new AtomicLong(start);
+    }
+
+    /**
+     * Generates the next identifier of the sequence.
+     */
+    @Override
+    public String nextId() {
+        return Long.toString(_next.getAndIncrement(), Character.MAX_RADIX);
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.ArrayList;
+
 /**
  * Class Representation of Shorebirds. Inherits from WaterBird class, implements and overrides some functionality.
  */
@@ -5,12 +7,16 @@ public final class Shorebird extends WaterBird {
     /**
      * Constructor: Creates Shorebird object. Calls WaterBird constructor, performs type validation and initializes fields.
      */
-    public Shorebird(BirdType birdType)
-    {
-        super(birdType);
+    public Shorebird(BirdType birdType) {
+        this(birdType, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor: Creates Shorebird object with the specified unique identifier. Used to restore persisted birds.
+     */
+    Shorebird(BirdType birdType, String id) {
+        super(birdType, id);
         _classification = BirdClassification.SHOREBIRD;
-        _livingHabitats.add(LivingHabitat.OCEAN);
-        _livingHabitats.add(LivingHabitat.WETLAND);
     }
 
     /**
@@ -23,14 +29,25 @@ public final class Shorebird extends WaterBird {
             throw new IllegalArgumentException("Invalid bird type provided for shorebird");
     }
 
+    /**
+     * Override: Implements generation of living habitats
+     * adds living habitats specific to the Shorebirds to the shared ones
+     */
+    @Override
+    protected void generateLivingHabitats(ArrayList<LivingHabitat> livingHabitats) {
+        super.generateLivingHabitats(livingHabitats);
+        livingHabitats.add(LivingHabitat.OCEAN);
+        livingHabitats.add(LivingHabitat.WETLAND);
+    }
+
     /**
      * Setter Override: Implements setter for food preferences
      * adds food types specific to the Shorebirds to the food preferences parameter of Bird
      */
     @Override
-    protected void generateAndSetFoodPreferences() {
-        super.generateAndSetFoodPreferences();
-        _foodPreferences.add(FoodType.FISH);
+    protected void generateFoodPreferences(ArrayList<FoodType> foodPreferences) {
+        super.generateFoodPreferences(foodPreferences);
+        foodPreferences.add(FoodType.FISH);
     }
 
 
@@ -0,0 +1,69 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time ordered 64-bit identifiers rendered in base 36. Every identifier is composed of the milliseconds
+ * since the custom epoch (41 bits), the worker number (10 bits) and a sequence within the millisecond (12 bits).
+ * Providers with different worker numbers never generate the same identifier.
+ * When the sequence of a millisecond is exhausted or the clock moves backwards, the following milliseconds are
+ * borrowed, so identifiers of a single provider are always increasing.
+ */
+public final class SnowflakeIdProvider implements IIdProvider {
+    /**
+     * Represents the custom epoch: 2024-01-01T00:00:00Z in milliseconds
+     */
+    public static final long EPOCH = 1704067200000L;
+
+    /**
+     * Represents the number of bits of the worker number
+     */
+    private static final int WORKER_BITS = 10;
+
+    /**
+     * Represents the number of bits of the sequence within a millisecond
+     */
+    private static final int SEQUENCE_BITS = 12;
+
+    /**
+     * Represents the maximum worker number
+     */
+    public static final int MAXIMUM_WORKER = (1 << WORKER_BITS) - 1;
+
+    /**
+     * Represents the worker number of the provider
+     */
+    private final long _worker;
+
+    /**
+     * Stores the timestamp of the last identifier in the upper bits and its sequence in the lower bits
+     */
+    private final AtomicLong _state;
+
+    /**
+     * Constructor: Creates the provider for the specified worker number.
+     * @throws IllegalArgumentException if the worker number is out of range
+     */
+    public SnowflakeIdProvider(int worker){
+        if(worker < 0 || worker > MAXIMUM_WORKER)
+            throw new IllegalArgumentException(String.format("Worker number must be between 0 and %s", MAXIMUM_WORKER));
+        _worker = worker;
+        _state = new AtomicLong();
+    }
+
+    /**
+     * Generates the next identifier.
+     */
+    @Override
+    public String nextId() {
+        while (true){
+            var last = _state.get();
+            var now = System.currentTimeMillis() - EPOCH;
+            var next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if(_state.compareAndSet(last, next)){
+                var timestamp = next >>> SEQUENCE_BITS;
+                var sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                var id = (timestamp << (WORKER_BITS + SEQUENCE_BITS)) | (_worker << SEQUENCE_BITS) | sequence;
+                return Long.toString(id, Character.MAX_RADIX);
+            }
+        }
+    }
+}
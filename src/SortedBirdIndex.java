@@ -0,0 +1,219 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Sorted view of every bird housed in the conservatory, keyed by bird type and then by aviary.
+ * Listens to aviary changes and is updated incrementally, so the sorted birds can be streamed in O(n)
+ * without re-sorting the aviaries or computing string keys on every comparison.
+ * The order matches AviaryHelper.getSortedBirds: birds are ordered alphabetically by bird type, birds of the same
+ * type are ordered from the most recently registered aviary to the oldest, and by insertion order within an aviary.
+ * Once more than half of the registered aviaries have been removed, the remaining aviaries are renumbered in
+ * registration order, so removed aviaries do not leave permanent slots behind.
+ */
+public final class SortedBirdIndex implements IAviaryListener {
+    /**
+     * Alphabetical rank of every bird type, indexed by bird type ordinal
+     */
+    private static final int[] TYPE_RANKS = computeTypeRanks();
+
+    /**
+     * Bird types in alphabetical order, indexed by rank
+     */
+    private static final BirdType[] TYPES_BY_RANK = computeTypesByRank();
+
+    /**
+     * Stores the birds of every bird type, indexed by rank. Birds are grouped by the registration sequence of their aviary
+     */
+    private final ArrayList<TreeMap<Integer, LinkedHashSet<Bird>>> _birdsByType;
+
+    /**
+     * Stores the registration sequence of every aviary
+     */
+    private final HashMap<Aviary, Integer> _aviarySequences;
+
+    /**
+     * Stores the registered aviaries, indexed by registration sequence. Removed aviaries are null until the index is compacted
+     */
+    private final ArrayList<Aviary> _aviaries;
+
+    /**
+     * Represents the number of removed aviaries that are still null in the list of aviaries
+     */
+    private int _removedCount;
+
+    /**
+     * Represents the number of birds in the index
+     */
+    private int _size;
+
+    /**
+     * Constructor: Creates empty index.
+     */
+    public SortedBirdIndex(){
+        _birdsByType = new ArrayList<>(TYPES_BY_RANK.length);
+        for(int i = 0; i < TYPES_BY_RANK.length; ++i)
+            _birdsByType.add(new TreeMap<>());
+        _aviarySequences = new HashMap<>();
+        _aviaries = new ArrayList<>();
+    }
+
+    /**
+     * Retrieves the alphabetical rank of the bird type. Comparing ranks is equivalent to comparing
+     * the lowercase names of the bird types.
+     */
+    public static int rankOf(BirdType birdType){
+        return TYPE_RANKS[birdType.ordinal()];
+    }
+
+    /**
+     * Adds every bird of the aviary into the index and subscribes to the changes of the aviary.
+     */
+    public void register(Aviary aviary){
+        _aviarySequences.put(aviary, _aviaries.size());
+        _aviaries.add(aviary);
+        aviary.addListener(this);
+        for (var bird : aviary.getCurrentBirds())
+            onBirdAdded(aviary, bird);
+    }
+
+    /**
+     * Streams every bird with its aviary in sorted order.
+     */
+    public void forEach(BiConsumer<Bird, Aviary> action){
+        for (var birds : _birdsByType){
+            for (var entry : birds.descendingMap().entrySet()){
+                var aviary = _aviaries.get(entry.getKey());
+                for (var bird : entry.getValue())
+                    action.accept(bird, aviary);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the birds grouped by aviary in sorted order. Every group holds birds of a single type
+     * housed in a single aviary. The groups are produced lazily while iterating.
+     * @return iterable of aviaries with their birds
+     */
+    public Iterable<Map.Entry<Aviary, Collection<Bird>>> byAviary(){
+        return () -> new Iterator<>() {
+            private int _rank = -1;
+            private Iterator<Map.Entry<Integer, LinkedHashSet<Bird>>> _groups = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!_groups.hasNext() && _rank + 1 < _birdsByType.size())
+                    _groups = _birdsByType.get(++_rank).descendingMap().entrySet().iterator();
+                return _groups.hasNext();
+            }
+
+            @Override
+            public Map.Entry<Aviary, Collection<Bird>> next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                var group = _groups.next();
+                return Map.entry(_aviaries.get(group.getKey()), group.getValue());
+            }
+        };
+    }
+
+    /**
+     * Retrieves every bird with its aviary id in sorted order.
+     * @return sorted list of BirdWithAviaryId objects
+     */
+    public ArrayList<BirdWithAviaryId> toList(){
+        var result = new ArrayList<BirdWithAviaryId>(_size);
+        forEach((bird, aviary) -> result.add(new BirdWithAviaryId(bird, aviary.getId())));
+        return result;
+    }
+
+    /**
+     * Getter: Retrieves the number of birds in the index.
+     */
+    public int size(){
+        return _size;
+    }
+
+    @Override
+    public void onBirdAdded(Aviary aviary, Bird bird) {
+        var birds = _birdsByType.get(rankOf(bird.getBirdType()));
+        if(birds.computeIfAbsent(_aviarySequences.get(aviary), k -> new LinkedHashSet<>()).add(bird))
+            _size++;
+    }
+
+    @Override
+    public void onBirdRemoved(Aviary aviary, Bird bird) {
+        var birds = _birdsByType.get(rankOf(bird.getBirdType()));
+        var sequence = _aviarySequences.get(aviary);
+        var aviaryBirds = birds.get(sequence);
+        if(aviaryBirds == null || !aviaryBirds.remove(bird))
+            return;
+        _size--;
+        if(aviaryBirds.isEmpty())
+            birds.remove(sequence);
+    }
+
+    @Override
+    public void onAviaryRemoved(Aviary aviary) {
+        var sequence = _aviarySequences.remove(aviary);
+        if(sequence == null)
+            return;
+        _aviaries.set(sequence, null);
+        if(++_removedCount > _aviaries.size() / 2)
+            compact();
+    }
+
+    /**
+     * Renumbers the registered aviaries without the removed ones. Sequences keep the registration order,
+     * therefore the birds keep their order. Removed aviaries are empty, so no birds are dropped.
+     */
+    private void compact(){
+        var sequences = new int[_aviaries.size()];
+        var live = 0;
+        for(int i = 0; i < sequences.length; ++i){
+            var aviary = _aviaries.get(i);
+            if(aviary == null)
+                continue;
+            sequences[i] = live;
+            _aviaries.set(live, aviary);
+            _aviarySequences.put(aviary, live++);
+        }
+        _aviaries.subList(live, _aviaries.size()).clear();
+        _removedCount = 0;
+        for(int i = 0; i < _birdsByType.size(); ++i){
+            var compacted = new TreeMap<Integer, LinkedHashSet<Bird>>();
+            for (var entry : _birdsByType.get(i).entrySet())
+                compacted.put(sequences[entry.getKey()], entry.getValue());
+            _birdsByType.set(i, compacted);
+        }
+    }
+
+    /**
+     * Computes the alphabetical rank of every bird type by its lowercase name.
+     */
+    private static int[] computeTypeRanks(){
+        var ranks = new int[BirdType.values().length];
+        var sorted = computeTypesByRank();
+        for(int i = 0; i < sorted.length; ++i)
+            ranks[sorted[i].ordinal()] = i;
+        return ranks;
+    }
+
+    /**
+     * Sorts bird types alphabetically by their lowercase name.
+     */
+    private static BirdType[] computeTypesByRank(){
+        var sorted = BirdType.values();
+        Arrays.sort(sorted, Comparator.comparing(o -> o.toString().toLowerCase()));
+        return sorted;
+    }
+}
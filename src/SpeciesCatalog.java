@@ -0,0 +1,57 @@
+import java.util.ArrayList;
+
+/**
+ * Catalog of the traits of every species. A species is identified by the bird class and the bird type.
+ * Traits are generated from the first bird of the species and shared by every bird created afterwards,
+ * therefore creating a bird does not allocate its beak or food preferences.
+ */
+public final class SpeciesCatalog {
+    /**
+     * Stores the traits of every bird class, indexed by bird type ordinal. Entries are filled on the first bird of
+     * the species. Concurrent fills store equal traits, therefore no synchronization is needed
+     */
+    private static final ClassValue<SpeciesTraits[]> TRAITS = new ClassValue<>() {
+        @Override
+        protected SpeciesTraits[] computeValue(Class<?> type) {
+            return new SpeciesTraits[BirdType.values().length];
+        }
+    };
+
+    private SpeciesCatalog(){
+    }
+
+    /**
+     * Retrieves the traits of the species of the bird. Generates the traits from the bird if the species
+     * is not in the catalog yet.
+     */
+    static SpeciesTraits traitsOf(Bird bird){
+        var traitsByType = TRAITS.get(bird.getClass());
+        var ordinal = bird.getBirdType().ordinal();
+        var traits = traitsByType[ordinal];
+        if(traits == null){
+            traits = generateTraits(bird);
+            traitsByType[ordinal] = traits;
+        }
+        return traits;
+    }
+
+    /**
+     * Retrieves the traits of the species.
+     * @return traits of the species, null if no bird of the species has been created yet
+     */
+    public static SpeciesTraits find(Class<? extends Bird> birdClass, BirdType birdType){
+        return TRAITS.get(birdClass)[birdType.ordinal()];
+    }
+
+    /**
+     * Generates the traits of the species of the bird with the generation methods of the bird class.
+     */
+    private static SpeciesTraits generateTraits(Bird bird){
+        var foodPreferences = new ArrayList<FoodType>();
+        bird.generateFoodPreferences(foodPreferences);
+        var livingHabitats = new ArrayList<LivingHabitat>();
+        bird.generateLivingHabitats(livingHabitats);
+        return new SpeciesTraits(bird.generateBeak(), foodPreferences, bird.generateNumberOfWings(),
+                bird.generateExtinctionData(), livingHabitats);
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.List;
+
+/**
+ * Immutable traits shared by every bird of the same species: beak, food preferences, number of wings,
+ * extinction state and living habitats. Birds reference the traits of their species instead of storing own copies.
+ */
+public final class SpeciesTraits {
+    /**
+     * Beak characteristic of the species
+     */
+    private final Beak _beak;
+
+    /**
+     * Food preferences of the species in the order they were generated
+     */
+    private final List<FoodType> _foodPreferences;
+
+    /**
+     * Number of wings of the species
+     */
+    private final int _numberOfWings;
+
+    /**
+     * Highlights if the species is extinct
+     */
+    private final boolean _isExtinct;
+
+    /**
+     * Preferable living habitats of the species. Empty for species that do not define habitats
+     */
+    private final List<LivingHabitat> _livingHabitats;
+
+    /**
+     * Constructor: Creates the traits. The lists are copied into immutable lists.
+     */
+    SpeciesTraits(Beak beak, List<FoodType> foodPreferences, int numberOfWings, boolean isExtinct,
+                  List<LivingHabitat> livingHabitats){
+        _beak = beak;
+        _foodPreferences = List.copyOf(foodPreferences);
+        _numberOfWings = numberOfWings;
+        _isExtinct = isExtinct;
+        _livingHabitats = List.copyOf(livingHabitats);
+    }
+
+    /**
+     * Getter: Retrieves the beak of the species.
+     */
+    public Beak getBeak(){
+        return _beak;
+    }
+
+    /**
+     * Getter: Retrieves the immutable food preferences of the species.
+     */
+    public List<FoodType> getFoodPreferences(){
+        return _foodPreferences;
+    }
+
+    /**
+     * Getter: Retrieves the number of wings of the species.
+     */
+    public int getNumberOfWings(){
+        return _numberOfWings;
+    }
+
+    /**
+     * Getter: Retrieves the extinction state of the species.
+     */
+    public boolean isExtinct(){
+        return _isExtinct;
+    }
+
+    /**
+     * Getter: Retrieves the immutable living habitats of the species.
+     */
+    public List<LivingHabitat> getLivingHabitats(){
+        return _livingHabitats;
+    }
+}
@@ -0,0 +1,15 @@
+import java.util.UUID;
+
+/**
+ * Generates random UUIDs converted into Strings. Unique across processes, but every identifier is drawn from
+ * a secure random generator and takes 36 characters.
+ */
+public final class UuidIdProvider implements IIdProvider {
+    /**
+     * Generates a random UUID.
+     */
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
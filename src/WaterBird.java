@@ -1,23 +1,23 @@
 import java.util.ArrayList;
+import java.util.List;
 /**
  * Represents the base class for ShoreBird and Waterfowl.
  * Inherits from Bird, implements and overrides some functionality and adds living habitat feature.
  */
 public class WaterBird extends Bird {
-    /**
-     * Stores the preferable living habitats for Shorebirds and Waterfowls.
-     */
-    protected ArrayList<LivingHabitat> _livingHabitats;
-
     /**
      * Constructor: Calls constructor of the Bird class, and performs validation
      * @param birdType creates WaterBird object based on bird type provided. sets living habitats for Shorebirds and Waterfowls.
      */
     public WaterBird(BirdType birdType) {
-        super(birdType);
-        _livingHabitats = new ArrayList<>();
-        _livingHabitats.add(LivingHabitat.SALTWATER_SHORELANDS);
-        _livingHabitats.add(LivingHabitat.FRESHWATER_SHORELANDS);
+        this(birdType, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor: Creates WaterBird object with the specified unique identifier. Used to restore persisted birds.
+     */
+    protected WaterBird(BirdType birdType, String id) {
+        super(birdType, id);
     }
 
     @Override
@@ -31,8 +31,18 @@ public class WaterBird extends Bird {
     /**
      * Getter: Retrieves the living habitat preferences for Shorebirds and Waterfowls.
      */
-    public ArrayList<LivingHabitat> getLivingHabitats(){
-        return _livingHabitats;
+    public List<LivingHabitat> getLivingHabitats(){
+        return _traits.getLivingHabitats();
+    }
+
+    /**
+     * Override: Implements generation of living habitats
+     * adds living habitats shared among Shorebirds and Waterfowls
+     */
+    @Override
+    protected void generateLivingHabitats(ArrayList<LivingHabitat> livingHabitats) {
+        livingHabitats.add(LivingHabitat.SALTWATER_SHORELANDS);
+        livingHabitats.add(LivingHabitat.FRESHWATER_SHORELANDS);
     }
 
     /**
@@ -40,8 +50,8 @@ public class WaterBird extends Bird {
      * Creates beak according to Shorebird and Waterfowl specification
      */
     @Override
-    protected void generateAndSetBeak() {
-        _beak =  new Beak(BeakSize.LONG, BeakType.CURVED, false,false);
+    protected Beak generateBeak() {
+        return new Beak(BeakSize.LONG, BeakType.CURVED, false,false);
     }
 
     /**
@@ -49,22 +59,23 @@ public class WaterBird extends Bird {
      * adds food types shared among Shorebirds and Waterfowls to the food preferences parameter of Bird
      */
     @Override
-    protected void generateAndSetFoodPreferences() {
-        _foodPreferences.add(FoodType.INSECTS);
+    protected void generateFoodPreferences(ArrayList<FoodType> foodPreferences) {
+        foodPreferences.add(FoodType.INSECTS);
     }
 
     /**
-     * Overrides Bird toString implementation. adds features that are shared among Shorebirds and Waterfowls
-     * to base representation returns string representation of the Parrot object
+     * Overrides Bird appendTo implementation. adds features that are shared among Shorebirds and Waterfowls
+     * to base representation
      */
     @Override
-    public String toString() {
-        StringBuilder livingHabitat = new StringBuilder();
-        for(int i = 0; i < _livingHabitats.size(); ++i){
-            livingHabitat.append(_livingHabitats.get(i));
-            if(i < _livingHabitats.size()  - 1)
-                livingHabitat.append(", ");
+    public void appendTo(StringBuilder sb) {
+        super.appendTo(sb);
+        sb.append("\n").append("Living Habitat:");
+        var livingHabitats = _traits.getLivingHabitats();
+        for(int i = 0; i < livingHabitats.size(); ++i){
+            sb.append(livingHabitats.get(i));
+            if(i < livingHabitats.size()  - 1)
+                sb.append(", ");
         }
-        return super.toString() + "\n"+String.format("Living Habitat:%s", livingHabitat);
     }
 }
@@ -1,3 +1,5 @@
+import java.util.ArrayList;
+
 /**
  * Class Representation of Waterfowls. Inherits from WaterBird class, implements and overrides some functionality.
  */
@@ -7,7 +9,14 @@ public final class Waterfowl extends WaterBird {
      * Constructor: Creates Waterfowls object. Calls WaterBird constructor, performs type validation and initializes fields.
      */
     public Waterfowl(BirdType birdType) {
-        super(birdType);
+        this(birdType, IdGenerator.nextId());
+    }
+
+    /**
+     * Constructor: Creates Waterfowl object with the specified unique identifier. Used to restore persisted birds.
+     */
+    Waterfowl(BirdType birdType, String id) {
+        super(birdType, id);
         _classification = BirdClassification.WATERFOWL;
     }
 
@@ -26,9 +35,9 @@ public final class Waterfowl extends WaterBird {
      * adds food types specific to the Waterfowls to the food preferences parameter of Bird
      */
     @Override
-    protected void generateAndSetFoodPreferences() {
-        super.generateAndSetFoodPreferences();
-        _foodPreferences.add(FoodType.SEEDS);
-        _foodPreferences.add(FoodType.LEAVES);
+    protected void generateFoodPreferences(ArrayList<FoodType> foodPreferences) {
+        super.generateFoodPreferences(foodPreferences);
+        foodPreferences.add(FoodType.SEEDS);
+        foodPreferences.add(FoodType.LEAVES);
     }
 }
@@ -0,0 +1,130 @@
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every distinct word a dense integer identifier, so that vocabularies can store identifiers instead of
+ * strings and a word known by many parrots is stored once. Identifiers are assigned in the order the words are
+ * first seen and are never reused; words are never removed from the dictionary, therefore a dictionary lives as long
+ * as the parrots that use it and holds at most the maximum number of words it was created with.
+ * Lookups are lock-free, assigning an identifier to a new word is synchronized.
+ */
+public final class WordDictionary {
+    /**
+     * Represents the default maximum number of words of a dictionary
+     */
+    public static final int DEFAULT_MAXIMUM_WORDS = 1 << 20;
+
+    /**
+     * Dictionary shared by the parrots that are not created with their own dictionary. Lives as long as the process,
+     * so it is bounded by the default maximum number of words
+     */
+    public static final WordDictionary SHARED = new WordDictionary();
+
+    /**
+     * Represents the initial number of words the dictionary holds without growing
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Represents the maximum number of words the dictionary can hold
+     */
+    private final int _maximumWords;
+
+    /**
+     * Stores the identifier of every word
+     */
+    private final ConcurrentHashMap<String, Integer> _ids;
+
+    /**
+     * Stores every word, indexed by its identifier. Replaced by a larger copy when full
+     */
+    private volatile String[] _words;
+
+    /**
+     * Represents the number of words in the dictionary
+     */
+    private volatile int _size;
+
+    /**
+     * Constructor: Creates empty dictionary that holds up to the default maximum number of words.
+     */
+    public WordDictionary(){
+        this(DEFAULT_MAXIMUM_WORDS);
+    }
+
+    /**
+     * Constructor: Creates empty dictionary that holds up to the specified number of words.
+     * @throws IllegalArgumentException if the maximum number of words is not positive
+     */
+    public WordDictionary(int maximumWords){
+        if(maximumWords <= 0)
+            throw new IllegalArgumentException("Maximum number of words must be positive");
+        _maximumWords = maximumWords;
+        var capacity = Math.min(maximumWords, INITIAL_CAPACITY);
+        _ids = new ConcurrentHashMap<>(capacity);
+        _words = new String[capacity];
+    }
+
+    /**
+     * Retrieves the identifier of the word. Assigns the next identifier if the word is new.
+     * @throws IllegalArgumentException if the word is null
+     * @throws IllegalStateException if the word is new and the dictionary holds the maximum number of words
+     */
+    public int intern(String word){
+        if(word == null)
+            throw new IllegalArgumentException("Word must not be null");
+        var id = _ids.get(word);
+        if(id != null)
+            return id;
+        synchronized (this){
+            id = _ids.get(word);
+            if(id != null)
+                return id;
+            var size = _size;
+            if(size == _maximumWords)
+                throw new IllegalStateException(String.format("Word dictionary cannot hold more than %s words", _maximumWords));
+            if(size == _words.length)
+                _words = Arrays.copyOf(_words, (int) Math.min(size * 2L, _maximumWords));
+            _words[size] = word;
+            _size = size + 1;
+            // Published last: a reader that finds the identifier also finds the word
+            _ids.put(word, size);
+            return size;
+        }
+    }
+
+    /**
+     * Retrieves the identifier of the word without adding it.
+     * @return identifier of the word, -1 if the word is not in the dictionary
+     */
+    public int find(String word){
+        if(word == null)
+            return -1;
+        var id = _ids.get(word);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Retrieves the word with the specified identifier.
+     * @throws IndexOutOfBoundsException if no word has the identifier
+     */
+    public String wordOf(int id){
+        if(id < 0 || id >= _size)
+            throw new IndexOutOfBoundsException(String.format("Word %s is out of bounds for %s words", id, _size));
+        return _words[id];
+    }
+
+    /**
+     * Getter: Retrieves the number of words in the dictionary.
+     */
+    public int size(){
+        return _size;
+    }
+
+    /**
+     * Getter: Retrieves the maximum number of words the dictionary can hold.
+     */
+    public int getMaximumWords(){
+        return _maximumWords;
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Conservatory-wide inverted index that maps every word to the housed parrots that know it. Words are kept sorted,
+ * so the parrots that know any word with a given prefix are found by visiting only the matching words.
+ * Listens to aviary and parrot changes, therefore the index is kept up to date whenever a parrot is rescued,
+ * removed, taught a word or given a favorite word.
+ */
+public final class WordIndex implements IAviaryListener, IParrotListener {
+    /**
+     * Maps every word to the housed parrots that know it, in the order they learned it
+     */
+    private final TreeMap<String, LinkedHashSet<Parrot>> _parrotsByWord;
+
+    /**
+     * Constructor: Creates empty index.
+     */
+    public WordIndex(){
+        _parrotsByWord = new TreeMap<>();
+    }
+
+    /**
+     * Adds every parrot of the aviary into the index and subscribes to the changes of the aviary.
+     */
+    public void register(Aviary aviary){
+        aviary.addListener(this);
+        for (var bird : aviary.getCurrentBirds())
+            onBirdAdded(aviary, bird);
+    }
+
+    /**
+     * Retrieves the housed parrots that know the word.
+     * @return parrots in the order they learned the word, empty if no parrot knows it
+     */
+    public List<Parrot> findByWord(String word){
+        var parrots = _parrotsByWord.get(word);
+        return parrots != null ? new ArrayList<>(parrots) : new ArrayList<>();
+    }
+
+    /**
+     * Retrieves the housed parrots that know at least one word that starts with the prefix.
+     * Only the words that start with the prefix are visited.
+     * @return parrots ordered by the first matching word they know, every parrot once
+     */
+    public List<Parrot> findByPrefix(String prefix){
+        var parrots = new LinkedHashSet<Parrot>();
+        for (var entry : _parrotsByWord.tailMap(prefix, true).entrySet()){
+            if(!entry.getKey().startsWith(prefix))
+                break;
+            parrots.addAll(entry.getValue());
+        }
+        return new ArrayList<>(parrots);
+    }
+
+    /**
+     * Getter: Retrieves the number of distinct words known by the housed parrots.
+     */
+    public int getWordCount(){
+        return _parrotsByWord.size();
+    }
+
+    @Override
+    public void onBirdAdded(Aviary aviary, Bird bird) {
+        if(!(bird instanceof Parrot parrot))
+            return;
+        parrot.addListener(this);
+        for (var word : parrot.getVocabulary())
+            _parrotsByWord.computeIfAbsent(word, k -> new LinkedHashSet<>()).add(parrot);
+    }
+
+    @Override
+    public void onBirdRemoved(Aviary aviary, Bird bird) {
+        if(!(bird instanceof Parrot parrot))
+            return;
+        parrot.removeListener(this);
+        for (var word : parrot.getVocabulary()){
+            var parrots = _parrotsByWord.get(word);
+            if(parrots != null && parrots.remove(parrot) && parrots.isEmpty())
+                _parrotsByWord.remove(word);
+        }
+    }
+
+    @Override
+    public void onWordTaught(Parrot parrot, String word) {
+        _parrotsByWord.computeIfAbsent(word, k -> new LinkedHashSet<>()).add(parrot);
+    }
+
+    @Override
+    public void onFavoriteWordSet(Parrot parrot, String word) {
+        if(word != null)
+            onWordTaught(parrot, word);
+    }
+}
@@ -0,0 +1,356 @@
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class is used to test the conservatory under concurrent rescues, removals and lookups
+ */
+public class ConcurrencyTest {
+    /**
+     * Represents the number of threads that rescue birds concurrently
+     */
+    private static final int WriterCount = 8;
+
+    /**
+     * Represents the number of birds rescued by every thread
+     */
+    private static final int BirdsPerWriter = 20_000;
+
+    /**
+     * Represents the number of birds a single aviary can house
+     */
+    private static final int AviaryCapacity = 5;
+
+    /**
+     * Represents the conservatory shared between the threads
+     */
+    private ConcurrentConservatory _conservatory;
+
+    /**
+     * Initializes the conservatory with enough aviaries to house every bird.
+     */
+    @Before
+    public void setUp(){
+        var maximumAviaries = WriterCount * BirdsPerWriter / AviaryCapacity + WriterCount * CompatibilityGroup.values().length;
+        _conservatory = new ConcurrentConservatory(new CapacityPolicy(AviaryCapacity, maximumAviaries));
+    }
+
+    /**
+     * Tests if concurrent rescues, removals and lookups keep every aviary valid and every bird housed exactly once
+     */
+    @Test(timeout = 60000)
+    public void test_Concurrent_Rescue_And_Remove() throws Exception {
+        var start = new CountDownLatch(1);
+        var failures = new ConcurrentLinkedQueue<Throwable>();
+        var housed = new ConcurrentLinkedQueue<Bird>();
+        var writersDone = new AtomicBoolean(false);
+        var writers = new ArrayList<Thread>();
+
+        for(int w = 0; w < WriterCount; ++w){
+            var birds = TestingHelper.CreateMixedBirds(BirdsPerWriter);
+            writers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for(int i = 0; i < birds.size(); ++i){
+                        var bird = birds.get(i);
+                        _conservatory.rescueBird(bird);
+                        if(i % 3 == 0)
+                            assertTrue(_conservatory.removeBird(bird));
+                        else
+                            housed.add(bird);
+                    }
+                }
+                catch (Throwable e){
+                    failures.add(e);
+                }
+            }));
+        }
+
+        var reader = new Thread(() -> {
+            try {
+                start.await();
+                while (!writersDone.get()){
+                    for (var aviary : _conservatory.getAviaries())
+                        assertTrue(_conservatory.getCurrentBirds(aviary).size() <= AviaryCapacity);
+                    _conservatory.getFoodStorage();
+                }
+            }
+            catch (Throwable e){
+                failures.add(e);
+            }
+        });
+
+        for (var writer : writers)
+            writer.start();
+        reader.start();
+        start.countDown();
+        for (var writer : writers)
+            writer.join();
+        writersDone.set(true);
+        reader.join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+
+        var seen = new HashSet<String>();
+        for (var aviary : _conservatory.getAviaries()){
+            assertTrue(aviary.validateAviary());
+            assertTrue(aviary.getCurrentBirds().size() <= AviaryCapacity);
+            assertEquals(aviary.getCurrentBirds(), _conservatory.getCurrentBirds(aviary));
+            for (var bird : aviary.getCurrentBirds()){
+                assertTrue(seen.add(bird.getId()));
+                assertEquals(aviary.getId(), _conservatory.searchAviaryByBird(bird));
+            }
+        }
+        assertEquals(housed.size(), seen.size());
+        for (var bird : housed)
+            assertTrue(seen.contains(bird.getId()));
+
+        var foodUnits = 0;
+        for (var units : _conservatory.getFoodStorage().values())
+            foodUnits += units;
+        assertEquals(WriterCount * BirdsPerWriter * 5, foodUnits);
+    }
+
+    /**
+     * Tests if the same bird rescued from several threads is housed only once
+     */
+    @Test(timeout = 60000)
+    public void test_Concurrent_Duplicate_Rescue() throws Exception {
+        var owl = TestingHelper.CreateOwl(BirdType.OWL);
+        var start = new CountDownLatch(1);
+        var rescued = new ConcurrentLinkedQueue<Bird>();
+        var threads = new ArrayList<Thread>();
+        for(int t = 0; t < WriterCount; ++t){
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    _conservatory.rescueBird(owl);
+                    rescued.add(owl);
+                }
+                catch (Exception ignored){
+                }
+            }));
+        }
+        for (var thread : threads)
+            thread.start();
+        start.countDown();
+        for (var thread : threads)
+            thread.join();
+
+        assertEquals(1, rescued.size());
+        assertEquals(1, _conservatory.getAviaries().size());
+    }
+
+    /**
+     * Tests if many threads adding conflicting birds into the same lock-free aviary never exceed its capacity
+     * and never house conflicting types of birds together
+     */
+    @Test(timeout = 60000)
+    public void test_Concurrent_Atomic_Aviary() throws Exception {
+        var aviary = new AtomicAviary(64);
+        var start = new CountDownLatch(1);
+        var failures = new ConcurrentLinkedQueue<Throwable>();
+        var threads = new ArrayList<Thread>();
+        for(int t = 0; t < WriterCount; ++t){
+            var birds = TestingHelper.CreateMixedBirds(BirdsPerWriter / 10);
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (var bird : birds){
+                        if(aviary.tryAddBird(bird)){
+                            assertTrue(aviary.validateAviary());
+                            aviary.removeBird(bird);
+                        }
+                    }
+                }
+                catch (Throwable e){
+                    failures.add(e);
+                }
+            }));
+        }
+        for (var thread : threads)
+            thread.start();
+        start.countDown();
+        for (var thread : threads)
+            thread.join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(0, aviary.getCurrentBirds().size());
+        assertNull(aviary.getCompatibilityGroup());
+
+        for(int i = 0; i < 64; ++i)
+            assertTrue(aviary.tryAddBird(TestingHelper.CreateOwl(BirdType.OWL)));
+        assertTrue(aviary.isFull());
+        assertFalse(aviary.tryAddBird(TestingHelper.CreateOwl(BirdType.OWL)));
+        assertEquals(64, aviary.getCurrentBirds().size());
+        assertEquals(Integer.valueOf(64), aviary.getHousedBirdDetails().get(BirdClassification.OWL));
+    }
+
+    /**
+     * Tests if the rescue intake places birds submitted by many producers through its single writer
+     * and reports rejected birds separately
+     */
+    @Test(timeout = 60000)
+    public void test_Rescue_Intake() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(AviaryCapacity, WriterCount * BirdsPerWriter));
+        var start = new CountDownLatch(1);
+        var failures = new ConcurrentLinkedQueue<Throwable>();
+        var producers = new ArrayList<Thread>();
+        var birdsPerProducer = BirdsPerWriter / 10;
+        var intake = new RescueIntake(conservatory, 64);
+        try {
+            for(int p = 0; p < WriterCount; ++p){
+                var birds = TestingHelper.CreateMixedBirds(birdsPerProducer);
+                producers.add(new Thread(() -> {
+                    try {
+                        start.await();
+                        for (var bird : birds)
+                            intake.submit(bird);
+                    }
+                    catch (Throwable e){
+                        failures.add(e);
+                    }
+                }));
+            }
+            for (var producer : producers)
+                producer.start();
+            start.countDown();
+            for (var producer : producers)
+                producer.join();
+
+            var moa = intake.submit(TestingHelper.CreateFlightless(BirdType.MOA));
+            var owl = TestingHelper.CreateOwl(BirdType.OWL);
+            var placed = intake.submit(owl).get();
+            var duplicate = intake.submit(owl);
+
+            assertEquals(conservatory.searchAviaryByBird(owl), placed);
+            for (var rejected : List.of(moa, duplicate)){
+                try {
+                    rejected.get();
+                    fail("Bird that cannot be rescued was placed");
+                }
+                catch (ExecutionException e){
+                    assertTrue(e.getCause() instanceof RescueRejectedException);
+                }
+            }
+        }
+        finally {
+            intake.close();
+        }
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(WriterCount * birdsPerProducer + 3, intake.getSubmittedCount());
+        assertEquals(WriterCount * birdsPerProducer + 1, intake.getPlacedCount());
+        assertEquals(2, intake.getRejectedCount());
+        assertEquals(0, intake.getQueueDepth());
+        assertEquals(0, intake.getInFlightCount());
+
+        var housed = 0;
+        for (var aviary : conservatory.getAviaries()){
+            assertTrue(aviary.validateAviary());
+            housed += aviary.getCurrentBirds().size();
+        }
+        assertEquals(WriterCount * birdsPerProducer + 1, housed);
+    }
+
+    /**
+     * Tests if a producer that waits for a permit while the intake is closed is refused instead of being queued
+     * after the writer has stopped
+     */
+    @Test(timeout = 60000)
+    public void test_Rescue_Intake_Close_With_Waiting_Producer() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(AviaryCapacity, 10));
+        var validators = Executors.newSingleThreadExecutor();
+        var validating = new CountDownLatch(1);
+        try {
+            var intake = new RescueIntake(conservatory, 1, validators);
+            validators.execute(() -> {
+                try {
+                    validating.await();
+                }
+                catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+            });
+            var placed = intake.submit(TestingHelper.CreateOwl(BirdType.OWL));
+            var refused = new ConcurrentLinkedQueue<Throwable>();
+            var producer = new Thread(() -> {
+                try {
+                    intake.submit(TestingHelper.CreateOwl(BirdType.OWL));
+                }
+                catch (Throwable e){
+                    refused.add(e);
+                }
+            });
+            producer.start();
+            while (producer.getState() != Thread.State.WAITING)
+                Thread.yield();
+            var closer = new Thread(intake::close);
+            closer.start();
+            while (closer.getState() != Thread.State.WAITING)
+                Thread.yield();
+
+            validating.countDown();
+            producer.join();
+            closer.join();
+            assertNotNull(placed.get());
+            assertEquals(1, refused.size());
+            assertTrue(refused.peek() instanceof IllegalStateException);
+            assertEquals(0, intake.getInFlightCount());
+            assertEquals(1, intake.getPlacedCount());
+        }
+        finally {
+            validators.shutdown();
+        }
+    }
+
+    /**
+     * Tests if a missing bird is refused before it takes a permit and a bird whose validation fails unexpectedly
+     * is rejected, so that the intake can still be closed
+     */
+    @Test(timeout = 60000)
+    public void test_Rescue_Intake_Invalid_Requests() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(AviaryCapacity, 10));
+        var intake = new RescueIntake(conservatory, 1);
+        try {
+            try {
+                intake.submit(null);
+                fail("Missing bird was submitted");
+            }
+            catch (IllegalArgumentException e){
+                assertEquals(0, intake.getInFlightCount());
+            }
+            var broken = intake.submit(new WaterBird(BirdType.GOOSE){
+                @Override
+                public boolean checkIfExtinct() {
+                    throw new IllegalStateException("Broken validation");
+                }
+            });
+            try {
+                broken.get();
+                fail("Bird with broken validation was placed");
+            }
+            catch (ExecutionException e){
+                assertTrue(e.getCause() instanceof RescueRejectedException);
+            }
+            var owl = TestingHelper.CreateOwl(BirdType.OWL);
+            var placed = intake.submit(owl).get();
+            assertEquals(conservatory.searchAviaryByBird(owl), placed);
+        }
+        finally {
+            intake.close();
+        }
+        assertEquals(1, intake.getRejectedCount());
+        assertEquals(1, intake.getPlacedCount());
+        assertEquals(0, intake.getInFlightCount());
+    }
+}
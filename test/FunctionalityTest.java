@@ -1,7 +1,22 @@
 import org.junit.Before;
 import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
 
 import static org.junit.Assert.*;
 
@@ -276,4 +291,782 @@ public class FunctionalityTest {
         assertFalse(aviary.exists(owl));
 
     }
+
+    /**
+     * Tests if the conservatory places rescued birds into aviaries that house compatible birds
+     */
+    @Test
+    public void test_Rescue_Birds_Grouped_By_Compatibility() throws Exception {
+        var owl = TestingHelper.CreateOwl(BirdType.OWL);
+        var eagle = TestingHelper.CreateBirdOfPrey(BirdType.EAGLE);
+        var parrot = TestingHelper.CreateParrot(CorrectParrotData.GrayParrot, CorrectParrotData.FavoriteWord, null);
+        var hawk = TestingHelper.CreateBirdOfPrey(BirdType.HAWK);
+
+        _emptyConservatory.rescueBird(owl);
+        _emptyConservatory.rescueBird(eagle);
+        _emptyConservatory.rescueBird(parrot);
+        _emptyConservatory.rescueBird(hawk);
+
+        assertEquals(2, _emptyConservatory.getAviaries().size());
+        assertEquals(_emptyConservatory.searchAviaryByBird(owl), _emptyConservatory.searchAviaryByBird(parrot));
+        assertEquals(_emptyConservatory.searchAviaryByBird(eagle), _emptyConservatory.searchAviaryByBird(hawk));
+    }
+
+    /**
+     * Tests if the conservatory stops finding a bird after it has been removed from its aviary
+     */
+    @Test
+    public void test_Search_Removed_Bird() throws Exception {
+        var owl = TestingHelper.CreateOwl(BirdType.OWL);
+        _emptyConservatory.rescueBird(owl);
+        var aviary = _emptyConservatory.getAviaries().get(0);
+        assertEquals(aviary.getId(), _emptyConservatory.searchAviaryByBird(owl));
+
+        aviary.removeBird(owl);
+        assertNull(_emptyConservatory.searchAviaryByBird(owl));
+
+        _emptyConservatory.rescueBird(owl);
+        assertEquals(aviary.getId(), _emptyConservatory.searchAviaryByBird(owl));
+    }
+
+    /**
+     * Tests if the conservatory functionality of rescuing a batch of birds reports the result of every bird
+     */
+    @Test
+    public void test_Rescue_Batch_Of_Birds(){
+        var owl = TestingHelper.CreateOwl(BirdType.OWL);
+        var moa = TestingHelper.CreateFlightless(BirdType.MOA);
+        var eagle = TestingHelper.CreateBirdOfPrey(BirdType.EAGLE);
+        var batch = new ArrayList<Bird>();
+        batch.add(owl);
+        batch.add(moa);
+        batch.add(eagle);
+        batch.add(owl);
+
+        var results = _emptyConservatory.rescueBirds(batch);
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isPlaced());
+        assertEquals(_emptyConservatory.searchAviaryByBird(owl), results.get(0).getAviaryId());
+        assertFalse(results.get(1).isPlaced());
+        assertNotNull(results.get(1).getRejectionReason());
+        assertTrue(results.get(2).isPlaced());
+        assertEquals(_emptyConservatory.searchAviaryByBird(eagle), results.get(2).getAviaryId());
+        assertFalse(results.get(3).isPlaced());
+
+        assertEquals(2, _emptyConservatory.getAviaries().size());
+        assertEquals(Integer.valueOf(5), _emptyConservatory.getFoodStorage().get(FoodType.INSECTS));
+        assertEquals(Integer.valueOf(5), _emptyConservatory.getFoodStorage().get(FoodType.FISH));
+    }
+
+    /**
+     * Tests if the batch rescue rejects birds without throwing once the conservatory is full
+     */
+    @Test
+    public void test_Rescue_Batch_Into_Full_Conservatory(){
+        var batch = new ArrayList<Bird>();
+        batch.add(TestingHelper.CreateOwl(BirdType.OWL));
+        batch.add(TestingHelper.CreateWaterFowl(BirdType.GOOSE));
+
+        var results = _fullConservatory.rescueBirds(batch);
+        for (var result : results){
+            assertFalse(result.isPlaced());
+            assertNotNull(result.getRejectionReason());
+        }
+    }
+
+    /**
+     * Tests if the sorted birds maintained by the conservatory match the one-shot sort after rescues and removals
+     */
+    @Test
+    public void test_Sorted_Birds_Index() throws Exception {
+        for (var bird : TestingHelper.CreateMixedBirds(70))
+            _emptyConservatory.rescueBird(bird);
+        var aviary = _emptyConservatory.getAviaries().get(0);
+        aviary.removeBird(aviary.getCurrentBirds().get(2));
+        _emptyConservatory.rescueBird(TestingHelper.CreateOwl(BirdType.OWL));
+
+        var expected = AviaryHelper.getSortedBirds(_emptyConservatory);
+        var sorted = _emptyConservatory.getSortedBirds();
+        assertEquals(expected.size(), sorted.size());
+        for(int i = 0; i < sorted.size(); ++i){
+            assertSame(expected.get(i).getBird(), sorted.get(i).getBird());
+            assertEquals(expected.get(i).getAviaryId(), sorted.get(i).getAviaryId());
+        }
+    }
+
+    /**
+     * Tests if the sorted birds keep their order after most aviaries are removed by compactions and new aviaries
+     * are created again
+     */
+    @Test
+    public void test_Sorted_Birds_After_Compaction() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(5, 100));
+        for(int round = 0; round < 3; ++round){
+            conservatory.rescueBirds(TestingHelper.CreateMixedBirds(140));
+            for (var aviary : conservatory.getAviaries()){
+                var birds = new ArrayList<>(aviary.getCurrentBirds());
+                for(int i = 1; i < birds.size(); ++i)
+                    aviary.removeBird(birds.get(i));
+            }
+            var report = conservatory.compactAviaries();
+            assertTrue(report.getFreedAviaryCount() * 2 > report.getAviaryCount());
+            conservatory.rescueBird(TestingHelper.CreateOwl(BirdType.OWL));
+
+            var expected = AviaryHelper.getSortedBirds(conservatory);
+            var sorted = conservatory.getSortedBirds();
+            assertEquals(expected.size(), sorted.size());
+            for(int i = 0; i < sorted.size(); ++i){
+                assertSame(expected.get(i).getBird(), sorted.get(i).getBird());
+                assertEquals(expected.get(i).getAviaryId(), sorted.get(i).getAviaryId());
+            }
+        }
+    }
+
+    /**
+     * Tests if the parallel sort engine produces the same sequence as the one-shot sort. The conservatory has enough
+     * aviaries to split the sort into several fork-join tasks
+     */
+    @Test
+    public void test_Parallel_Sorting_Birds() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(5, 300));
+        conservatory.rescueBirds(TestingHelper.CreateMixedBirds(1_000));
+        assertTrue(conservatory.getAviaries().size() > 128);
+
+        var expected = AviaryHelper.getSortedBirds(conservatory);
+        var sorted = new ParallelBirdSorter().getSortedBirds(conservatory);
+        assertEquals(expected.size(), sorted.size());
+        for(int i = 0; i < sorted.size(); ++i){
+            assertSame(expected.get(i).getBird(), sorted.get(i).getBird());
+            assertEquals(expected.get(i).getAviaryId(), sorted.get(i).getAviaryId());
+        }
+    }
+
+    /**
+     * Tests if the reports streamed into a buffer and into a byte channel match the aviary representations
+     */
+    @Test
+    public void test_Streaming_Reports() throws Exception {
+        var expected = new StringBuilder();
+        for (var aviary : _fullConservatory.getAviaries())
+            expected.append(aviary.toString()).append(System.lineSeparator());
+
+        var report = new StringBuilder();
+        _fullConservatory.listAllAviaries(report);
+        assertEquals(expected.toString(), report.toString());
+
+        var bytes = new ByteArrayOutputStream();
+        var channel = new ChannelAppendable(Channels.newChannel(bytes), 128);
+        _fullConservatory.listAllAviaries(channel);
+        assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+
+        bytes.reset();
+        var small = new ChannelAppendable(Channels.newChannel(bytes), 4);
+        small.append("abc\ud83e\udd9c").append("ok\ud800x").append("more text");
+        small.flush();
+        small.append('\ud800');
+        small.flush();
+        small.append("end");
+        small.flush();
+        assertEquals("abc\ud83e\udd9cok?xmore text?end", bytes.toString(StandardCharsets.UTF_8));
+
+        bytes.reset();
+        var smallest = new ChannelAppendable(Channels.newChannel(bytes), 2);
+        smallest.append("a\ud83e\udd9c\ud83e\udd9cb");
+        smallest.flush();
+        assertEquals("a\ud83e\udd9c\ud83e\udd9cb", bytes.toString(StandardCharsets.UTF_8));
+
+        var sorted = new StringBuilder();
+        _fullConservatory.printSortedBirds(sorted);
+        var lines = sorted.toString().split(System.lineSeparator());
+        var expectedSorted = _fullConservatory.getSortedBirds();
+        assertEquals(expectedSorted.size(), lines.length);
+        for(int i = 0; i < lines.length; ++i){
+            var bird = expectedSorted.get(i);
+            assertEquals(bird.getBird().getBirdType() + ", aviary id: " + bird.getAviaryId(), lines[i]);
+        }
+    }
+
+    /**
+     * Tests if a buffer that cannot hold a surrogate pair is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_Channel_Appendable_Buffer_Too_Small(){
+        new ChannelAppendable(Channels.newChannel(new ByteArrayOutputStream()), 1);
+    }
+
+    /**
+     * Tests if the food storage handed out by the conservatory is an immutable snapshot of the food ledger
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_Food_Storage_Snapshot_Is_Immutable() throws Exception {
+        var storage = _emptyConservatory.getFoodStorage();
+        _emptyConservatory.rescueBird(TestingHelper.CreateOwl(BirdType.OWL));
+        assertEquals(5, _emptyConservatory.getFoodLedger().get(FoodType.INSECTS));
+        assertTrue(storage.isEmpty());
+        storage.put(FoodType.INSECTS, 0);
+    }
+
+    /**
+     * Tests if a food quantity that does not fit into the food storage map is saturated instead of truncated
+     */
+    @Test
+    public void test_Food_Storage_Quantity_Overflow() {
+        var ledger = _emptyConservatory.getFoodLedger();
+        ledger.add(FoodType.SEEDS, Integer.MAX_VALUE + 1L);
+        ledger.add(FoodType.NUTS, 7);
+        assertEquals(Integer.MAX_VALUE + 1L, ledger.snapshot().get(FoodType.SEEDS));
+        var storage = _emptyConservatory.getFoodStorage();
+        assertEquals(Integer.MAX_VALUE, (int) storage.get(FoodType.SEEDS));
+        assertEquals(7, (int) storage.get(FoodType.NUTS));
+    }
+
+    /**
+     * Tests if the food forecast follows the population of the conservatory as birds are rescued and removed
+     */
+    @Test
+    public void test_Food_Forecast() throws Exception {
+        var start = LocalDate.of(2024, 1, 1);
+        var owl = TestingHelper.CreateOwl(BirdType.OWL);
+        _emptyConservatory.rescueBird(owl);
+        _emptyConservatory.rescueBird(TestingHelper.CreateOwl(BirdType.OWL));
+
+        var forecast = _emptyConservatory.forecastFood(start, 52, 2);
+        assertEquals(10, forecast.getStock(FoodType.INSECTS));
+        assertEquals(2.0, forecast.getWeeklyDemand(FoodType.INSECTS), 1e-9);
+        assertEquals(0.0, forecast.getWeeklyDemand(FoodType.LEAVES), 1e-9);
+        assertEquals(5, forecast.getDepletionWeek(FoodType.INSECTS));
+        assertEquals(start.plusWeeks(5), forecast.getDepletionDate(FoodType.INSECTS));
+        assertEquals(4, forecast.getReorderPoint(FoodType.INSECTS));
+        assertEquals(start.plusWeeks(3), forecast.getReorderDate(FoodType.INSECTS));
+        assertNull(forecast.getDepletionDate(FoodType.LEAVES));
+
+        _emptyConservatory.getAviaries().get(0).removeBird(owl);
+        assertEquals(10, _emptyConservatory.forecastFood(start, 52, 2).getDepletionWeek(FoodType.INSECTS));
+
+        _emptyConservatory.feedBirdsForWeek();
+        assertEquals(9, _emptyConservatory.getFoodLedger().get(FoodType.INSECTS));
+    }
+
+    /**
+     * Tests if a bird whose diet spans several stocked food types eats exactly one unit per week,
+     * alternating between its food types as forecast
+     */
+    @Test
+    public void test_Feeding_Diet_Of_Several_Foods() throws Exception {
+        var parrot = TestingHelper.CreateParrot(BirdType.GRAYPARROT, "hello", null);
+        _emptyConservatory.rescueBird(parrot);
+        var ledger = _emptyConservatory.getFoodLedger();
+        for (var food : parrot.getFoodPreferences())
+            ledger.add(food, 20 - ledger.get(food));
+        assertEquals(2, parrot.getFoodPreferences().size());
+        var forecast = _emptyConservatory.forecastFood(LocalDate.of(2024, 1, 1), 52, 2);
+
+        for(int week = 1; week <= 6; ++week){
+            _emptyConservatory.feedBirdsForWeek();
+            var eaten = 0L;
+            for (var food : parrot.getFoodPreferences())
+                eaten += 20 - ledger.get(food);
+            assertEquals(week, eaten);
+        }
+        for (var food : parrot.getFoodPreferences()){
+            assertEquals(0.5, forecast.getWeeklyDemand(food), 1e-9);
+            assertEquals(17, ledger.get(food));
+        }
+    }
+
+    /**
+     * Tests if the deterministic diet selector selects the same food as a generator seeded with 2
+     * and if the random diet selector only selects preferred food
+     */
+    @Test
+    public void test_Diet_Selectors() {
+        var random = new RandomDietSelector();
+        for (var bird : TestingHelper.CreateMixedBirds(14)){
+            var foodPreferences = bird.getFoodPreferences();
+            var expected = foodPreferences.get(new Random(2).nextInt(foodPreferences.size()));
+            assertEquals(expected, DeterministicDietSelector.INSTANCE.selectFood(bird));
+            assertTrue(foodPreferences.contains(random.selectFood(bird)));
+        }
+
+        var waterfowl = new Waterfowl(BirdType.GOOSE);
+        var waterBird = new WaterBird(BirdType.GOOSE);
+        assertTrue(waterfowl.getFoodPreferences().contains(DeterministicDietSelector.INSTANCE.selectFood(waterfowl)));
+        assertTrue(waterBird.getFoodPreferences().contains(DeterministicDietSelector.INSTANCE.selectFood(waterBird)));
+    }
+
+    /**
+     * Tests if a restored snapshot lists the same aviaries, birds and food storage as the persisted conservatory
+     */
+    @Test
+    public void test_Snapshot_Round_Trip() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(5, 100));
+        conservatory.rescueBirds(TestingHelper.CreateMixedBirds(140));
+        var vocabulary = new HashSet<String>(List.of("hello", "\u043f\u0440\u0438\u0432\u0435\u0442", "gamarjoba"));
+        conservatory.rescueBird(TestingHelper.CreateParrot(BirdType.GRAYPARROT, "hello", vocabulary));
+        var removed = conservatory.getAviaries().get(0).getCurrentBirds().get(0);
+        conservatory.getAviaries().get(0).removeBird(removed);
+
+        var file = Files.createTempFile("conservatory", ".snapshot");
+        try {
+            ConservatorySnapshot.write(conservatory, file);
+            var snapshot = ConservatorySnapshot.open(file);
+            assertEquals(conservatory.getAviaries().size(), snapshot.getAviaryCount());
+            assertEquals(140, snapshot.getBirdCount());
+            assertEquals(conservatory.getAviaries().get(3).toString(), snapshot.readAviary(3).toString());
+
+            var restored = snapshot.restore();
+            var expected = new StringBuilder();
+            var actual = new StringBuilder();
+            conservatory.listAllAviaries(expected);
+            restored.listAllAviaries(actual);
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(conservatory.getFoodStorage(), restored.getFoodStorage());
+            assertNull(restored.searchAviaryByBird(removed));
+            assertEquals(conservatory.getCapacityPolicy().getMaximumAviaries(), restored.getCapacityPolicy().getMaximumAviaries());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests if a file that is not a snapshot cannot be opened
+     */
+    @Test(expected = IOException.class)
+    public void test_Snapshot_Invalid_File() throws Exception {
+        var file = Files.createTempFile("conservatory", ".snapshot");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+            ConservatorySnapshot.open(file);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests if an aviary of a snapshot truncated within the aviary offsets is reported as corrupted
+     */
+    @Test(expected = IOException.class)
+    public void test_Snapshot_Truncated_File() throws Exception {
+        var file = Files.createTempFile("conservatory", ".snapshot");
+        try {
+            ConservatorySnapshot.write(_fullConservatory, file);
+            var headerSize = 40 + FoodType.values().length * Long.BYTES;
+            try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)){
+                channel.truncate(headerSize + Integer.BYTES);
+            }
+            ConservatorySnapshot.open(file).readAviary(0);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests if rescues, removals, taught words and food changes are logged and replayed into an equal conservatory
+     */
+    @Test
+    public void test_Event_Log_Replay() throws Exception {
+        var policy = new CapacityPolicy(5, 100);
+        var conservatory = new Conservatory(policy);
+        var file = Files.createTempFile("conservatory", ".log");
+        try {
+            try (var log = new EventLog(file)){
+                log.attach(conservatory);
+                conservatory.rescueBirds(TestingHelper.CreateMixedBirds(60));
+                var parrot = TestingHelper.CreateParrot(BirdType.GRAYPARROT, "hello", new HashSet<>(List.of("hello")));
+                conservatory.rescueBird(parrot);
+                parrot.teachParrotAWord("gamarjoba");
+                parrot.setFavoriteWord("\u0433\u0430\u043c\u0430\u0440\u0434\u0436\u043e\u0431\u0430");
+                var aviary = conservatory.getAviaries().get(1);
+                aviary.removeBird(aviary.getCurrentBirds().get(0));
+                conservatory.feedBirdsForWeek();
+                log.sync();
+                assertEquals(log.getSequence(), log.getDurableSequence());
+                assertTrue(log.getCommitCount() > 0 && log.getCommitCount() <= log.getSequence());
+            }
+
+            var replayed = new Conservatory(policy);
+            assertTrue(EventLog.replay(file, replayed, 0) > 60);
+            var expected = new StringBuilder();
+            var actual = new StringBuilder();
+            conservatory.listAllAviaries(expected);
+            replayed.listAllAviaries(actual);
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(conservatory.getFoodStorage(), replayed.getFoodStorage());
+            assertEquals(conservatory.getAviaries().get(3).getId(), replayed.getAviaries().get(3).getId());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests if a checkpoint empties the log and a conservatory is recovered from the snapshot and the records
+     * after it, ignoring a torn record at the end of the log
+     */
+    @Test
+    public void test_Event_Log_Checkpoint_Recovery() throws Exception {
+        var policy = new CapacityPolicy(5, 100);
+        var conservatory = new Conservatory(policy);
+        var file = Files.createTempFile("conservatory", ".log");
+        var snapshotFile = Files.createTempFile("conservatory", ".snapshot");
+        try {
+            long sequence;
+            try (var log = new EventLog(file, 4)){
+                log.attach(conservatory);
+                conservatory.rescueBirds(TestingHelper.CreateMixedBirds(40));
+                log.checkpoint(conservatory, snapshotFile);
+                assertEquals(16, Files.size(file));
+                conservatory.rescueBirds(TestingHelper.CreateMixedBirds(30));
+                conservatory.feedBirdsForWeek();
+                sequence = log.getSequence();
+            }
+            var length = Files.size(file);
+            Files.write(file, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+            var snapshot = ConservatorySnapshot.open(snapshotFile);
+            assertTrue(snapshot.getLogSequence() > 0);
+            var recovered = snapshot.restore();
+            assertEquals(sequence, EventLog.replay(file, recovered, snapshot.getLogSequence()));
+            var expected = new StringBuilder();
+            var actual = new StringBuilder();
+            conservatory.listAllAviaries(expected);
+            recovered.listAllAviaries(actual);
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(conservatory.getFoodStorage(), recovered.getFoodStorage());
+
+            try (var log = new EventLog(file)){
+                assertEquals(sequence, log.getSequence());
+                assertEquals(length, Files.size(file));
+            }
+        }
+        finally {
+            Files.delete(file);
+            Files.delete(snapshotFile);
+        }
+    }
+
+    /**
+     * Tests if a closed log is detached from the conservatory, an interrupted caller still appends to the log,
+     * and a failed log does not interrupt rescues, but reports the failure when synced
+     */
+    @Test
+    public void test_Event_Log_Detach_And_Failure() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(5, 100));
+        var file = Files.createTempFile("conservatory", ".log");
+        try {
+            var log = new EventLog(file);
+            log.attach(conservatory);
+            conservatory.rescueBird(TestingHelper.CreateOwl(CorrectOwlData.Owl));
+            var sequence = log.getSequence();
+            log.close();
+            var owl = TestingHelper.CreateOwl(CorrectOwlData.Owl);
+            conservatory.rescueBird(owl);
+            assertNotNull(conservatory.searchAviaryByBird(owl));
+            assertEquals(2, conservatory.getOccupancy().getBirdCount());
+            assertEquals(sequence, log.getSequence());
+
+            var writers = new HashSet<Thread>();
+            for (var thread : Thread.getAllStackTraces().keySet()){
+                if(thread.getName().equals("event-log-writer"))
+                    writers.add(thread);
+            }
+            var failing = new EventLog(file);
+            failing.attach(conservatory);
+            var parrot = TestingHelper.CreateParrot(BirdType.GRAYPARROT, "hello", null);
+            Thread.currentThread().interrupt();
+            boolean interrupted;
+            try {
+                conservatory.rescueBird(parrot);
+            }
+            finally {
+                interrupted = Thread.interrupted();
+            }
+            assertTrue(interrupted);
+            assertNotNull(conservatory.searchAviaryByBird(parrot));
+            assertTrue(failing.getSequence() > sequence);
+            failing.sync();
+
+            Thread writer = null;
+            for (var thread : Thread.getAllStackTraces().keySet()){
+                if(thread.getName().equals("event-log-writer") && !writers.contains(thread))
+                    writer = thread;
+            }
+            assertNotNull(writer);
+            writer.interrupt();
+            writer.join(10000);
+            sequence = failing.getSequence();
+            var food = conservatory.getFoodStorage();
+            var pigeon = TestingHelper.CreatePigeon(CorrectPigeonData.Pigeon);
+            conservatory.rescueBird(pigeon);
+            assertNotNull(conservatory.searchAviaryByBird(pigeon));
+            assertFalse(food.equals(conservatory.getFoodStorage()));
+            parrot.teachParrotAWord("gamarjoba");
+            assertEquals(sequence, failing.getSequence());
+            try {
+                failing.sync();
+                fail("Failed event log was synced");
+            }
+            catch (UncheckedIOException e){
+                assertTrue(e.getCause() instanceof InterruptedIOException);
+            }
+            try {
+                failing.close();
+                fail("Failed event log was closed without an error");
+            }
+            catch (IOException e){
+                assertTrue(e.getCause() instanceof InterruptedIOException);
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests if a CSV manifest is imported in batches and failed rows are reported with their line numbers
+     */
+    @Test
+    public void test_Import_Csv_Manifest() throws Exception {
+        var manifest = new StringBuilder("Type,Classification,FavoriteWord,Vocabulary\n");
+        for(int i = 0; i < 20; ++i)
+            manifest.append("owl,OWL,,\n");
+        manifest.append("GRAYPARROT,PARROT,hello,\"hi|gamarjoba\"\n")
+                .append("\n")
+                .append("DUCK,SHOREBIRD,,\n")
+                .append("DODO,,,\n")
+                .append("MOA,,,\n")
+                .append("HAWK,,hello,\n");
+        var importer = new RescueManifestImporter(_emptyConservatory, 8, 10);
+        var report = importer.importCsv(new StringReader(manifest.toString()));
+
+        assertEquals(25, report.getRowCount());
+        assertEquals(21, report.getPlacedCount());
+        assertEquals(4, report.getFailureCount());
+        var lines = new ArrayList<Long>();
+        for (var failure : report.getFailures())
+            lines.add(failure.getLineNumber());
+        assertEquals(List.of(24L, 25L, 26L, 27L), lines);
+        assertTrue(report.getRowsPerSecond() > 0);
+        var parrot = (Parrot) _emptyConservatory.getAviaries().get(_emptyConservatory.getAviaries().size() - 1)
+                .getCurrentBirds().get(0);
+        assertTrue(parrot.getVocabulary().containsAll(List.of("hello", "hi", "gamarjoba")));
+    }
+
+    /**
+     * Tests if a JSON lines manifest is imported and malformed rows are reported without stopping the import
+     */
+    @Test
+    public void test_Import_Json_Lines_Manifest() throws Exception {
+        var manifest = "{\"type\": \"SWAN\", \"classification\": \"WATERFOWL\", \"count\": 3}\n"
+                + "{\"type\": \"SULFURCRESTEDCOCKATOO\", \"favoriteWord\": \"gamarjoba\", \"vocabulary\": [\"\\u0433\u0430\", \"hi\"]}\n"
+                + "{\"type\": \"OWL\"\n"
+                + "{\"classification\": null}\n"
+                + "{\"type\": \"KIWI\", \"vocabulary\": []}\n";
+        var report = new RescueManifestImporter(_emptyConservatory).importJsonLines(new StringReader(manifest));
+
+        assertEquals(5, report.getRowCount());
+        assertEquals(3, report.getPlacedCount());
+        assertEquals(2, report.getFailures().size());
+        assertEquals(3, report.getFailures().get(0).getLineNumber());
+        assertEquals(4, report.getFailures().get(1).getLineNumber());
+        var parrot = (Parrot) _emptyConservatory.getAviaries().get(1).getCurrentBirds().get(0);
+        assertEquals("gamarjoba", parrot.getFavoriteWord());
+        assertTrue(parrot.getVocabulary().contains("\u0433\u0430"));
+    }
+
+    /**
+     * Tests if the word index finds parrots by word and prefix and follows taught words and removed parrots
+     */
+    @Test
+    public void test_Find_Parrots_By_Word() throws Exception {
+        var first = TestingHelper.CreateParrot(BirdType.GRAYPARROT, "hello", new HashSet<>(List.of("help", "sky")));
+        var second = TestingHelper.CreateParrot(BirdType.SULFURCRESTEDCOCKATOO, "seed", null);
+        _emptyConservatory.rescueBirds(List.of(first, second, TestingHelper.CreateOwl(BirdType.OWL)));
+
+        assertEquals(List.of(first), _emptyConservatory.findParrotsByWord("hello"));
+        assertTrue(_emptyConservatory.findParrotsByWord("tree").isEmpty());
+        assertEquals(List.of(first), _emptyConservatory.findParrotsByPrefix("hel"));
+
+        second.teachParrotAWord("helicopter");
+        first.setFavoriteWord("seed");
+        assertEquals(List.of(second, first), _emptyConservatory.findParrotsByWord("seed"));
+        assertEquals(2, _emptyConservatory.findParrotsByPrefix("hel").size());
+        assertEquals(2, _emptyConservatory.findParrotsByPrefix("").size());
+
+        var aviary = _emptyConservatory.getAviaries().get(0);
+        aviary.removeBird(first);
+        assertEquals(List.of(second), _emptyConservatory.findParrotsByPrefix("hel"));
+        assertTrue(_emptyConservatory.findParrotsByWord("sky").isEmpty());
+        first.teachParrotAWord("tree");
+        assertTrue(_emptyConservatory.findParrotsByWord("tree").isEmpty());
+    }
+
+    /**
+     * Tests if attribute queries match the birds found by scanning every aviary, before and after birds are removed
+     */
+    @Test
+    public void test_Find_Birds_By_Attributes() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(5, 100));
+        conservatory.rescueBirds(TestingHelper.CreateMixedBirds(140));
+        var query = BirdQuery.prefers(FoodType.SEEDS).and(BirdQuery.classification(BirdClassification.PARROT).not())
+                .or(BirdQuery.sharpBeak().and(BirdQuery.beakType(BeakType.HOOKED)));
+        Predicate<Bird> scan = bird -> (bird.getFoodPreferences().contains(FoodType.SEEDS)
+                && bird.getBirdClassification() != BirdClassification.PARROT)
+                || (bird.getBeak().IsSharp() && bird.getBeak().getBeakType() == BeakType.HOOKED);
+
+        for (var removed = 0; removed < 2; ++removed){
+            var expected = new HashSet<Bird>();
+            for (var aviary : conservatory.getAviaries()){
+                for (var bird : aviary.getCurrentBirds()){
+                    if(scan.test(bird))
+                        expected.add(bird);
+                }
+            }
+            assertEquals(expected, new HashSet<>(conservatory.findBirds(query)));
+            assertEquals(expected.size(), conservatory.countBirds(query));
+
+            for (var aviary : conservatory.getAviaries())
+                aviary.removeBird(aviary.getCurrentBirds().get(0));
+        }
+        var oceanBirds = 0;
+        for (var aviary : conservatory.getAviaries()){
+            for (var bird : aviary.getCurrentBirds()){
+                if(bird instanceof WaterBird waterBird && waterBird.getLivingHabitats().contains(LivingHabitat.OCEAN))
+                    oceanBirds++;
+            }
+        }
+        assertTrue(oceanBirds > 0);
+        assertEquals(oceanBirds, conservatory.countBirds(BirdQuery.livesIn(LivingHabitat.OCEAN)));
+        assertEquals(0, conservatory.countBirds(BirdQuery.numberOfWings(3)));
+        assertEquals(conservatory.countBirds(BirdQuery.all()),
+                conservatory.countBirds(BirdQuery.extinct().or(BirdQuery.extinct().not())));
+        conservatory.rescueBirds(TestingHelper.CreateMixedBirds(7));
+        assertEquals(140 - 2 * conservatory.getAviaries().size() + 7, conservatory.countBirds(BirdQuery.all()));
+    }
+
+    /**
+     * Tests if the occupancy totals follow rescued and removed birds and published snapshots do not change
+     */
+    @Test
+    public void test_Occupancy_Statistics() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(5, 100));
+        conservatory.rescueBirds(TestingHelper.CreateMixedBirds(140));
+        var occupancy = conservatory.getOccupancy();
+        var aviaries = conservatory.getAviaries();
+        var birdCount = 0;
+        for (var aviary : aviaries)
+            birdCount += aviary.getCurrentBirds().size();
+        assertEquals(birdCount, occupancy.getBirdCount());
+        assertEquals(aviaries.size(), occupancy.getAviaryCount());
+        assertEquals(aviaries.size() * 5L - birdCount, occupancy.getFreeCapacity());
+        assertEquals(0, occupancy.getEmptyAviaryCount());
+        assertEquals(20, occupancy.getBirdCount(BirdClassification.OWL));
+        assertEquals(20, occupancy.getBirdCount(BirdType.DOVE));
+        assertEquals(4, occupancy.getAviaryCount(CompatibilityGroup.WATERFOWL));
+
+        var aviary = aviaries.get(aviaries.size() - 1);
+        var group = aviary.getCompatibilityGroup();
+        var removed = aviary.getCurrentBirds().size();
+        for (var bird : new ArrayList<>(aviary.getCurrentBirds()))
+            aviary.removeBird(bird);
+        var updated = conservatory.getOccupancy();
+        assertSame(updated, conservatory.getOccupancy());
+        assertEquals(birdCount - removed, updated.getBirdCount());
+        assertEquals(1, updated.getEmptyAviaryCount());
+        assertEquals(occupancy.getAviaryCount(group) - 1, updated.getAviaryCount(group));
+        assertEquals(occupancy.getFreeCapacity() + removed, updated.getFreeCapacity());
+        assertEquals(birdCount, occupancy.getBirdCount());
+
+        var observed = new ArrayList<OccupancySnapshot>();
+        conservatory.addAviaryListener(new IAviaryListener() {
+            @Override
+            public void onBirdAdded(Aviary aviary, Bird bird) {
+                observed.add(conservatory.getOccupancy());
+            }
+
+            @Override
+            public void onBirdRemoved(Aviary aviary, Bird bird) {
+            }
+        });
+        conservatory.rescueBirds(TestingHelper.CreateMixedBirds(7));
+        assertEquals(7, observed.size());
+        for (var snapshot : observed)
+            assertSame(updated, snapshot);
+        assertEquals(birdCount - removed + 7, conservatory.getOccupancy().getBirdCount());
+    }
+
+    /**
+     * Tests if compaction packs every compatibility group into the fewest aviaries, frees the emptied aviaries
+     * for new rescues and is replayed from the event log
+     */
+    @Test
+    public void test_Compact_Aviaries() throws Exception {
+        var policy = new CapacityPolicy(5, 28);
+        var conservatory = new Conservatory(policy);
+        var file = Files.createTempFile("conservatory", ".log");
+        try {
+            try (var log = new EventLog(file)){
+                log.attach(conservatory);
+                conservatory.rescueBirds(TestingHelper.CreateMixedBirds(140));
+                assertTrue(conservatory.isFull());
+                var aviaries = conservatory.getAviaries();
+                for(int i = 0; i < aviaries.size(); ++i){
+                    var birds = new ArrayList<>(aviaries.get(i).getCurrentBirds());
+                    for(int j = 0; j < birds.size(); ++j){
+                        if(i % 3 == 0 || j % 2 == 1)
+                            aviaries.get(i).removeBird(birds.get(j));
+                    }
+                }
+
+                var birdCount = conservatory.getOccupancy().getBirdCount();
+                var report = conservatory.compactAviaries();
+                assertEquals(28, report.getAviaryCount());
+                assertEquals(28 - conservatory.getAviaries().size(), report.getFreedAviaryCount());
+                assertTrue(report.getMovedBirdCount() > 0);
+                assertTrue(report.getPlanningNanos() > 0);
+
+                var housed = 0;
+                for (var aviary : conservatory.getAviaries()){
+                    assertTrue(aviary.validateAviary());
+                    assertFalse(aviary.getCurrentBirds().isEmpty());
+                    housed += aviary.getCurrentBirds().size();
+                }
+                assertEquals(birdCount, housed);
+                var occupancy = conservatory.getOccupancy();
+                assertEquals(conservatory.getAviaries().size(), occupancy.getAviaryCount());
+                assertEquals(0, occupancy.getEmptyAviaryCount());
+                var groupAviaries = 0;
+                for (var group : CompatibilityGroup.values()){
+                    var groupBirds = 0;
+                    for (var classification : BirdClassification.values()){
+                        if(CompatibilityGroup.of(classification) == group)
+                            groupBirds += occupancy.getBirdCount(classification);
+                    }
+                    assertEquals((groupBirds + 4) / 5, occupancy.getAviaryCount(group));
+                    groupAviaries += occupancy.getAviaryCount(group);
+                }
+                assertEquals(groupAviaries, conservatory.getAviaries().size());
+                for (var bird : conservatory.getSortedBirds())
+                    assertEquals(bird.getAviaryId(), conservatory.searchAviaryByBird(bird.getBird()));
+
+                assertFalse(conservatory.isFull());
+                conservatory.rescueBird(TestingHelper.CreateFlightless(CorrectFlightLessData.Kiwi));
+                log.sync();
+            }
+
+            var replayed = new Conservatory(policy);
+            EventLog.replay(file, replayed, 0);
+            var expected = new StringBuilder();
+            var actual = new StringBuilder();
+            conservatory.listAllAviaries(expected);
+            replayed.listAllAviaries(actual);
+            assertEquals(expected.toString(), actual.toString());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
 }
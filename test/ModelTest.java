@@ -1,6 +1,7 @@
 import org.junit.Before;
 import org.junit.Test;
 import java.util.HashSet;
+import java.util.List;
 import static org.junit.Assert.*;
 /**
  * Represents the testing class for Bird objects.
@@ -355,4 +356,160 @@ public class ModelTest {
             assertTrue(CorrectShoreBirdData.LivingHabitats.contains(habitat));
         }
     }
+
+    /**
+     * Tests if birds and aviaries get identifiers from the configured identifier provider
+     */
+    @Test
+    public void test_Sequential_Id_Provider() {
+        var previous = IdGenerator.setProvider(new SequentialIdProvider(35));
+        try {
+            assertEquals("z", new Owl(BirdType.OWL).getId());
+            assertEquals("10", new Aviary().getId());
+        }
+        finally {
+            IdGenerator.setProvider(previous);
+        }
+    }
+
+    /**
+     * Tests if snowflake identifiers are unique and increasing
+     */
+    @Test
+    public void test_Snowflake_Id_Provider() {
+        var provider = new SnowflakeIdProvider(7);
+        var last = -1L;
+        var ids = new HashSet<String>();
+        for(int i = 0; i < 10000; ++i){
+            var id = provider.nextId();
+            var value = Long.parseLong(id, Character.MAX_RADIX);
+            assertTrue(value > last);
+            assertEquals(7, (value >>> 12) & 1023);
+            assertTrue(ids.add(id));
+            last = value;
+        }
+    }
+
+    /**
+     * Tests if snowflake provider cannot be created for an invalid worker number
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_Snowflake_Invalid_Worker() {
+        new SnowflakeIdProvider(SnowflakeIdProvider.MAXIMUM_WORKER + 1);
+    }
+
+    /**
+     * Tests if birds of the same species share their traits
+     */
+    @Test
+    public void test_Species_Traits_Are_Shared() {
+        var anotherOwl = new Owl(BirdType.OWL);
+        assertSame(_owl.getTraits(), anotherOwl.getTraits());
+        assertSame(_owl.getBeak(), anotherOwl.getBeak());
+        assertSame(_owl.getTraits(), SpeciesCatalog.find(Owl.class, BirdType.OWL));
+        assertNotSame(_kiwi.getTraits(), _emu.getTraits());
+        assertTrue(_emu.checkIfExtinct());
+        assertFalse(_kiwi.checkIfExtinct());
+    }
+
+    /**
+     * Tests if the shared food preferences cannot be modified through a single bird
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_Species_Traits_Are_Immutable() {
+        _owl.getFoodPreferences().add(FoodType.FISH);
+    }
+
+    /**
+     * Tests if the bird factory creates birds of the class that corresponds to their bird type
+     */
+    @Test
+    public void test_Bird_Factory() {
+        for (var birdType : BirdType.values()){
+            if(!BirdFactory.INSTANCE.supports(birdType))
+                continue;
+            var bird = BirdFactory.INSTANCE.create(birdType);
+            assertEquals(birdType, bird.getBirdType());
+            assertEquals(BirdFactory.INSTANCE.getClassification(birdType), bird.getBirdClassification());
+        }
+        assertFalse(BirdFactory.INSTANCE.supports(BirdType.OTHER));
+        assertTrue(BirdFactory.INSTANCE.create(BirdType.GREATAUK) instanceof Shorebird);
+        assertTrue(BirdFactory.INSTANCE.create(BirdType.SWAN) instanceof Waterfowl);
+        var parrot = (Parrot) BirdFactory.INSTANCE.create(BirdType.GRAYPARROT, BirdClassification.PARROT, "hello", null);
+        assertEquals("hello", parrot.getFavoriteWord());
+    }
+
+    /**
+     * Tests if the bird factory rejects a bird type that does not belong to the provided classification
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_Bird_Factory_Classification_Mismatch() {
+        BirdFactory.INSTANCE.create(BirdType.DUCK, BirdClassification.SHOREBIRD, null, null);
+    }
+
+    /**
+     * Tests if vocabularies are stored as dictionary identifiers and compared without looking up words
+     */
+    @Test
+    public void test_Parrot_Vocabulary_Dictionary() {
+        var first = new Parrot(BirdType.GRAYPARROT, "hello", new HashSet<>(List.of("sky", "seed", "tree")));
+        var second = new Parrot(BirdType.ROSERINGPARAKEET, null, null);
+        second.teachParrotAWord("tree");
+        second.teachParrotAWord("seed");
+        second.teachParrotAWord("seed");
+        assertEquals(4, first.getVocabularySize());
+        assertEquals(2, second.getVocabularySize());
+        assertTrue(first.knowsWord("sky"));
+        assertFalse(second.knowsWord("sky"));
+        assertFalse(second.knowsWord("never taught to any parrot"));
+        assertEquals(2, first.countCommonWords(second));
+        assertFalse(first.hasSameVocabulary(second));
+
+        second.setFavoriteWord("sky");
+        second.teachParrotAWord("hello");
+        assertTrue(first.hasSameVocabulary(second));
+        assertSame(first.getFavoriteWord(), WordDictionary.SHARED.wordOf(WordDictionary.SHARED.find("hello")));
+        assertEquals(WordDictionary.SHARED.intern("sky"), WordDictionary.SHARED.find("sky"));
+    }
+
+    /**
+     * Tests if parrots with their own dictionary do not add words to the shared dictionary, are compared with
+     * parrots of other dictionaries by their words, and a full dictionary rejects new words
+     */
+    @Test
+    public void test_Parrot_Own_Dictionary() {
+        var dictionary = new WordDictionary(3);
+        var word = "word of an owned dictionary";
+        var own = new Parrot(BirdType.GRAYPARROT, word, new HashSet<>(List.of("sky")), dictionary);
+        var shared = new Parrot(BirdType.GRAYPARROT, "sky", null);
+        assertEquals(-1, WordDictionary.SHARED.find(word));
+        assertEquals(2, dictionary.size());
+        assertEquals(1, own.countCommonWords(shared));
+        assertFalse(own.hasSameVocabulary(shared));
+        shared.teachParrotAWord(word);
+        assertTrue(own.hasSameVocabulary(shared));
+        assertTrue(shared.hasSameVocabulary(own));
+
+        own.teachParrotAWord("tree");
+        try {
+            own.teachParrotAWord("seed");
+            fail("Word was added into a full dictionary");
+        }
+        catch (IllegalStateException e){
+            assertEquals(3, own.getVocabularySize());
+            assertEquals(3, dictionary.size());
+        }
+    }
+
+    /**
+     * Tests if a parrot that knows 100 words cannot be taught another word
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_Parrot_Vocabulary_Limit() {
+        var parrot = new Parrot(BirdType.GRAYPARROT, null, null);
+        for(int i = 0; i < Parrot.MAXIMUM_VOCABULARY; ++i)
+            parrot.teachParrotAWord("word" + i);
+        assertEquals(Parrot.MAXIMUM_VOCABULARY, parrot.getVocabularySize());
+        parrot.teachParrotAWord("one more word");
+    }
 }
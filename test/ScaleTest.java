@@ -0,0 +1,290 @@
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+
+/**
+ * This class is used to test conservatories with custom capacity policies and large populations of birds
+ */
+public class ScaleTest {
+    /**
+     * Represents the number of birds rescued into the large conservatory
+     */
+    private static final int BirdCount = 1_000_000;
+
+    /**
+     * Represents the number of birds a single aviary can house in the large conservatory
+     */
+    private static final int AviaryCapacity = 5;
+
+    /**
+     * Represents the conservatory that can house all birds
+     */
+    private Conservatory _largeConservatory;
+
+    /**
+     * Initializes the birds and the conservatory with enough aviaries to house every bird.
+     * Every compatibility group may leave one aviary partially filled, therefore one extra aviary per group is allowed.
+     */
+    @Before
+    public void setUp(){
+        var maximumAviaries = BirdCount / AviaryCapacity + CompatibilityGroup.values().length;
+        _largeConservatory = new Conservatory(new CapacityPolicy(AviaryCapacity, maximumAviaries));
+    }
+
+    /**
+     * Tests if a million birds are rescued into the minimum number of aviaries without conflicting types
+     */
+    @Test(timeout = 60000)
+    public void test_Rescue_Million_Birds() throws Exception {
+        var birds = TestingHelper.CreateMixedBirds(BirdCount);
+        for (var bird : birds)
+            _largeConservatory.rescueBird(bird);
+
+        var flyingMix = BirdCount / 7 * 4 + Math.min(BirdCount % 7, 4);
+        var perGroup = BirdCount / 7;
+        var expectedAviaries = ceil(flyingMix) + 3 * ceil(perGroup);
+        assertEquals(expectedAviaries, _largeConservatory.getAviaries().size());
+
+        var housed = 0;
+        for (var aviary : _largeConservatory.getAviaries()){
+            assertTrue(aviary.validateAviary());
+            housed += aviary.getCurrentBirds().size();
+        }
+        assertEquals(BirdCount, housed);
+
+        for (int i = 0; i < BirdCount; i += 9973){
+            var bird = birds.get(i);
+            var aviaryId = _largeConservatory.searchAviaryByBird(bird);
+            assertNotNull(aviaryId);
+        }
+    }
+
+    /**
+     * Tests if the conservatory rejects birds once the aviaries defined by the capacity policy are exhausted
+     */
+    @Test(expected = Exception.class)
+    public void test_Rescue_Bird_Beyond_Policy() throws Exception {
+        var conservatory = new Conservatory(new CapacityPolicy(2, 1));
+        conservatory.rescueBird(TestingHelper.CreateOwl(BirdType.OWL));
+        conservatory.rescueBird(TestingHelper.CreateOwl(BirdType.OWL));
+        conservatory.rescueBird(TestingHelper.CreateOwl(BirdType.OWL));
+    }
+
+    /**
+     * Tests if an aviary with a custom capacity houses more than five birds
+     */
+    @Test
+    public void test_Aviary_With_Custom_Capacity(){
+        var aviary = new Aviary(10);
+        for(int i = 0; i < 10; ++i)
+            assertTrue(aviary.tryAddBird(TestingHelper.CreateOwl(BirdType.OWL)));
+
+        assertTrue(aviary.isFull());
+        assertFalse(aviary.tryAddBird(TestingHelper.CreateOwl(BirdType.OWL)));
+    }
+
+    /**
+     * Tests if conservatory can be created with more aviaries than the capacity policy allows
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_Incorrect_Conservatory_For_Policy(){
+        new Conservatory(TestingHelper.CreateCappedAviaries(), new CapacityPolicy(5, 10));
+    }
+
+    /**
+     * Tests if the columnar store counts birds like the rescued population and keeps rows dense after removals
+     */
+    @Test
+    public void test_Columnar_Bird_Store(){
+        var birds = TestingHelper.CreateMixedBirds(7_000);
+        var store = new ColumnarBirdStore();
+        for (var bird : birds)
+            store.add(bird, 0);
+
+        assertEquals(7_000, store.size());
+        var byClassification = store.countByClassification();
+        for (var classification : BirdClassification.values())
+            assertEquals(1_000, byClassification[classification.ordinal()]);
+
+        var extinct = 0;
+        var larvae = 0.0;
+        for (var bird : birds){
+            if(bird.checkIfExtinct())
+                extinct++;
+            if(bird.getFoodPreferences().contains(FoodType.LARVAE))
+                larvae += 1.0 / bird.getFoodPreferences().size();
+        }
+        assertEquals(extinct, store.countExtinct());
+        assertEquals(larvae, store.sumDietDemand()[FoodType.LARVAE.ordinal()], 1e-6);
+
+        var first = birds.get(0);
+        var last = birds.get(birds.size() - 1);
+        assertTrue(store.remove(first.getId()));
+        assertFalse(store.remove(first.getId()));
+        assertEquals(6_999, store.size());
+        assertEquals(-1, store.indexOf(first.getId()));
+
+        var view = store.get(store.indexOf(last.getId()));
+        assertEquals(0, view.getRow());
+        assertEquals(last.getId(), view.getId());
+        assertEquals(last.getBirdType(), view.getBirdType());
+        assertEquals(last.getBirdClassification(), view.getBirdClassification());
+        assertSame(last.getBeak(), view.getBeak());
+        assertEquals(last.getFoodPreferences(), view.getFoodPreferences());
+    }
+
+    /**
+     * Tests if the off-heap conservatory places birds and stores food like the conservatory
+     */
+    @Test
+    public void test_Off_Heap_Conservatory() throws Exception {
+        var policy = new CapacityPolicy(AviaryCapacity, 10_000);
+        var birds = TestingHelper.CreateMixedBirds(35_000);
+        var offHeap = new OffHeapConservatory(policy);
+        var conservatory = new Conservatory(policy);
+        for (var result : offHeap.rescueBirds(birds))
+            assertTrue(result.isPlaced());
+        conservatory.rescueBirds(birds);
+
+        assertEquals(35_000, offHeap.getBirdCount());
+        assertEquals(conservatory.getAviaries().size(), offHeap.getAviaryCount());
+        assertEquals(conservatory.getFoodStorage(), offHeap.getFoodStorage());
+        var expected = new StringBuilder();
+        var actual = new StringBuilder();
+        conservatory.printSortedBirds(expected);
+        offHeap.printSortedBirds(actual);
+        assertEquals(birdTypes(expected), birdTypes(actual));
+
+        var aviary = offHeap.getAviary(0);
+        assertEquals(offHeap.searchAviaryByBird(birds.get(0)), aviary.getId());
+        assertTrue(aviary.isFull());
+        assertTrue(aviary.validateAviary());
+        assertEquals(AviaryCapacity, aviary.getOccupancy(BirdClassification.OWL)
+                + aviary.getOccupancy(BirdClassification.PARROT) + aviary.getOccupancy(BirdClassification.PIGEON)
+                + aviary.getOccupancy(BirdClassification.SHOREBIRD));
+    }
+
+    /**
+     * Tests if the off-heap conservatory finds the remaining birds and reuses freed space after removals
+     */
+    @Test
+    public void test_Off_Heap_Remove_Birds() throws Exception {
+        var birds = TestingHelper.CreateMixedBirds(20_000);
+        var offHeap = new OffHeapConservatory(new CapacityPolicy(AviaryCapacity, 4_004));
+        offHeap.rescueBirds(birds);
+        for(int i = 0; i < birds.size(); i += 2)
+            assertTrue(offHeap.removeBird(birds.get(i)));
+
+        assertEquals(10_000, offHeap.getBirdCount());
+        for(int i = 0; i < birds.size(); ++i)
+            assertEquals(i % 2 == 1, offHeap.searchAviaryByBird(birds.get(i)) != null);
+
+        var aviaries = offHeap.getAviaryCount();
+        for(int i = 0; i < birds.size(); i += 2)
+            offHeap.rescueBird(birds.get(i));
+        assertEquals(20_000, offHeap.getBirdCount());
+        assertEquals(aviaries, offHeap.getAviaryCount());
+        assertTrue(offHeap.rescueBirds(List.of(birds.get(0))).get(0).getRejectionReason().contains("already exists"));
+
+        var output = new StringBuilder();
+        offHeap.listAllAviaries(output);
+        var listed = 0;
+        for(int idx = output.indexOf(".Name:"); idx >= 0; idx = output.indexOf(".Name:", idx + 1))
+            listed++;
+        assertEquals(20_000, listed);
+    }
+
+    /**
+     * Tests if the off-heap conservatory rejects birds and aviaries whose identifiers do not fit off-heap
+     * without interrupting the batch
+     */
+    @Test
+    public void test_Off_Heap_Rejects_Long_Ids() {
+        var offHeap = new OffHeapConservatory(new CapacityPolicy(AviaryCapacity, 10));
+        var previous = IdGenerator.setProvider(() -> "x".repeat(40));
+        Bird longId;
+        try {
+            longId = TestingHelper.CreateOwl(BirdType.OWL);
+        }
+        finally {
+            IdGenerator.setProvider(previous);
+        }
+        var results = offHeap.rescueBirds(List.of(TestingHelper.CreateOwl(BirdType.OWL), longId,
+                TestingHelper.CreateOwl(BirdType.OWL)));
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isPlaced());
+        assertTrue(results.get(1).getRejectionReason().contains("cannot be stored off-heap"));
+        assertTrue(results.get(2).isPlaced());
+        assertEquals(2, offHeap.getBirdCount());
+
+        var empty = new OffHeapConservatory(new CapacityPolicy(AviaryCapacity, 10));
+        var owl = TestingHelper.CreateOwl(BirdType.OWL);
+        IdGenerator.setProvider(() -> "\u00e9");
+        try {
+            assertFalse(empty.rescueBirds(List.of(owl)).get(0).isPlaced());
+        }
+        finally {
+            IdGenerator.setProvider(previous);
+        }
+        assertEquals(0, empty.getAviaryCount());
+        assertTrue(empty.rescueBirds(List.of(owl)).get(0).isPlaced());
+        assertEquals(1, empty.getAviaryCount());
+        assertEquals(1, empty.getBirdCount());
+    }
+
+    /**
+     * Tests if the partially filled aviaries of 200,000 birds are compacted into the fewest aviaries of every
+     * compatibility group and the freed aviaries can be created again
+     */
+    @Test(timeout = 60000)
+    public void test_Compact_Aviaries() throws Exception {
+        var birdCount = 200_000;
+        var conservatory = new Conservatory(new CapacityPolicy(AviaryCapacity, birdCount / AviaryCapacity + CompatibilityGroup.values().length));
+        conservatory.rescueBirds(TestingHelper.CreateMixedBirds(birdCount));
+        var aviaries = conservatory.getAviaries();
+        for(int i = 0; i < aviaries.size(); ++i){
+            var birds = new ArrayList<>(aviaries.get(i).getCurrentBirds());
+            for(int j = 0; j < Math.min(i % AviaryCapacity, birds.size()); ++j)
+                aviaries.get(i).removeBird(birds.get(j));
+        }
+        var occupancy = conservatory.getOccupancy();
+
+        var report = conservatory.compactAviaries();
+        assertEquals(occupancy.getAviaryCount(), report.getAviaryCount());
+        assertEquals(report.getAviaryCount() - report.getFreedAviaryCount(), conservatory.getAviaries().size());
+        var expectedAviaries = 0;
+        for (var group : CompatibilityGroup.values()){
+            var groupBirds = 0;
+            for (var classification : BirdClassification.values()){
+                if(CompatibilityGroup.of(classification) == group)
+                    groupBirds += occupancy.getBirdCount(classification);
+            }
+            expectedAviaries += ceil(groupBirds);
+        }
+        assertEquals(expectedAviaries, conservatory.getAviaries().size());
+        assertEquals(occupancy.getBirdCount(), conservatory.getOccupancy().getBirdCount());
+        for (var aviary : conservatory.getAviaries())
+            assertTrue(aviary.validateAviary());
+        assertTrue(report.getPlanningNanos() > 0);
+        assertFalse(conservatory.isFull());
+    }
+
+    /**
+     * Extracts the bird type of every line of the sorted birds report
+     */
+    private static List<String> birdTypes(CharSequence report){
+        var types = new ArrayList<String>();
+        for (var line : report.toString().split(System.lineSeparator()))
+            types.add(line.substring(0, line.indexOf(',')));
+        return types;
+    }
+
+    /**
+     * Computes the number of aviaries required to house the specified number of birds
+     */
+    private static int ceil(int birds){
+        return (birds + AviaryCapacity - 1) / AviaryCapacity;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Benchmark of the sorted bird report. Compares the pairwise merge of AviaryHelper.getSortedBirds with the parallel
+ * k-way merge of ParallelBirdSorter and the incrementally maintained sorted index of the conservatory.
+ * Run with: java SortBenchmark [maximum number of birds]
+ */
+public class SortBenchmark {
+    /**
+     * Represents the number of birds a single aviary can house
+     */
+    private static final int AviaryCapacity = 5;
+
+    /**
+     * Represents the largest population the pairwise merge is measured for. Its cost grows with birds times aviaries
+     */
+    private static final int PairwiseMergeLimit = 100_000;
+
+    /**
+     * Represents the number of measured runs of every engine
+     */
+    private static final int Runs = 5;
+
+    /**
+     * Runs the benchmark for 10^3 up to the specified number of birds, 10^6 by default.
+     */
+    public static void main(String[] args) throws Exception {
+        var maximumBirds = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        var sorter = new ParallelBirdSorter();
+        System.out.printf("%10s %18s %18s %18s%n", "birds", "pairwise merge ms", "k-way merge ms", "sorted index ms");
+        for(int birds = 1_000; birds <= maximumBirds; birds *= 10){
+            var conservatory = new Conservatory(new CapacityPolicy(AviaryCapacity,
+                    birds / AviaryCapacity + CompatibilityGroup.values().length));
+            for (var bird : TestingHelper.CreateMixedBirds(birds))
+                conservatory.rescueBird(bird);
+
+            var pairwise = birds <= PairwiseMergeLimit ? measure(() -> AviaryHelper.getSortedBirds(conservatory)) : -1;
+            var kWay = measure(() -> sorter.getSortedBirds(conservatory));
+            var index = measure(conservatory::getSortedBirds);
+            System.out.printf("%10d %18s %18.2f %18.2f%n", birds,
+                    pairwise < 0 ? "skipped" : String.format("%.2f", pairwise), kWay, index);
+        }
+    }
+
+    /**
+     * Measures the best time of the engine after a warm-up run.
+     * @return best time in milliseconds
+     */
+    private static double measure(Runnable engine){
+        engine.run();
+        var best = Long.MAX_VALUE;
+        for(int i = 0; i < Runs; ++i){
+            var start = System.nanoTime();
+            engine.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
@@ -278,4 +278,24 @@ public class TestingHelper {
         result.add("sing");
         return result;
     }
+
+    /**
+     * Creates the requested number of birds of every classification that can be rescued, in round-robin order.
+     * Used as a large-scale fixture for testing the conservatory at scale.
+     */
+    public static ArrayList<Bird> CreateMixedBirds(int count){
+        var result = new ArrayList<Bird>(count);
+        for(int i = 0; i < count; ++i){
+            switch (i % 7){
+                case 0 -> result.add(CreateOwl(CorrectOwlData.Owl));
+                case 1 -> result.add(CreateParrot(CorrectParrotData.GrayParrot, CorrectParrotData.FavoriteWord, null));
+                case 2 -> result.add(CreatePigeon(CorrectPigeonData.Dove));
+                case 3 -> result.add(CreateShoreBird(CorrectShoreBirdData.GreatAuk));
+                case 4 -> result.add(CreateWaterFowl(CorrectWaterFowlData.Goose));
+                case 5 -> result.add(CreateFlightless(CorrectFlightLessData.Kiwi));
+                default -> result.add(CreateBirdOfPrey(CorrectBirdOfPreyData.Hawk));
+            }
+        }
+        return result;
+    }
 }